@@ -12,11 +12,16 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.plugin.EcorePlugin;
@@ -165,6 +170,103 @@ public class StandaloneBuilderTest {
 				uri.toString().endsWith("test-data/model.in.eclipse.project.jar!/"));
 	}
 
+	@Test
+	public void testIndexSnapshotForJar() {
+		initBuilder(new TestLanguageConfiguration(false));
+		testBuilder.setSourceDirs(ImmutableList.of("test-data/standalone.with.reference/model"));
+		testBuilder.setClassPathEntries(ImmutableList.of("test-data/standalone.with.reference/target/classes/",
+				"test-data/model.in.eclipse.project.jar"));
+		testBuilder.setIndexSnapshotDir(new File(TMP_DIR, "index").getPath());
+
+		assertTrue("Builder launch returned false", testBuilder.launch());
+		File[] snapshots = new File(TMP_DIR, "index").listFiles();
+		assertNotNull(snapshots);
+		assertEquals(1, snapshots.length);
+		long lastModified = snapshots[0].lastModified();
+
+		assertTrue("Builder launch with existing snapshot returned false", testBuilder.launch());
+		assertEquals(lastModified, snapshots[0].lastModified());
+	}
+
+	@Test
+	public void testOutdatedIndexSnapshotIsDeleted() throws IOException {
+		File jar = new File(TMP_DIR, "model.jar");
+		TMP_DIR.mkdirs();
+		java.nio.file.Files.copy(new File("test-data/model.in.eclipse.project.jar").toPath(), jar.toPath());
+		initBuilder(new TestLanguageConfiguration(false));
+		testBuilder.setSourceDirs(ImmutableList.of("test-data/standalone.with.reference/model"));
+		testBuilder.setClassPathEntries(ImmutableList.of("test-data/standalone.with.reference/target/classes/",
+				jar.getPath()));
+		File indexDir = new File(TMP_DIR, "index");
+		testBuilder.setIndexSnapshotDir(indexDir.getPath());
+
+		assertTrue("Builder launch returned false", testBuilder.launch());
+		String[] snapshots = indexDir.list();
+		assertNotNull(snapshots);
+		assertEquals(1, snapshots.length);
+
+		assertTrue(jar.setLastModified(jar.lastModified() - 60_000));
+		assertTrue("Builder launch with modified jar returned false", testBuilder.launch());
+		String[] newSnapshots = indexDir.list();
+		assertNotNull(newSnapshots);
+		assertEquals(1, newSnapshots.length);
+		assertNotEquals(snapshots[0], newSnapshots[0]);
+	}
+
+	@Test
+	public void testIndexSnapshotDependsOnLanguages() {
+		initBuilder(new TestLanguageConfiguration(false));
+		String fingerprint = testBuilder.getIndexConfigurationFingerprint();
+		assertEquals(fingerprint, testBuilder.getIndexConfigurationFingerprint());
+		Map<String, LanguageAccess> languages = new HashMap<>(testBuilder.getLanguages());
+		languages.put("other", languages.values().iterator().next());
+		testBuilder.setLanguages(languages);
+		assertNotEquals(fingerprint, testBuilder.getIndexConfigurationFingerprint());
+	}
+
+	@Test
+	public void testLibraryIndex() throws IOException {
+		initBuilder(new TestLanguageConfiguration(false));
+		testBuilder.setSourceDirs(ImmutableList.of("test-data/model.in.eclipse.project"));
+		testBuilder.setLibraryIndexDir(new File(TMP_DIR, "classes").getPath());
+		assertTrue("Library build returned false", testBuilder.launch());
+		File libraryIndex = new File(new File(TMP_DIR, "classes"), StandaloneBuilder.LIBRARY_INDEX_PATH);
+		assertTrue(libraryIndex.exists());
+
+		File jar = new File(TMP_DIR, "library.jar");
+		writeJar(jar, java.nio.file.Files.readAllBytes(libraryIndex.toPath()), "object ModelInJar");
+		assertNotNull(testBuilder.getLibraryIndex(jar));
+
+		testBuilder.setLibraryIndexDir(null);
+		testBuilder.setSourceDirs(ImmutableList.of("test-data/standalone.with.reference/model"));
+		testBuilder.setClassPathEntries(ImmutableList.of(jar.getPath()));
+		assertTrue("Builder launch with library index returned false", testBuilder.launch());
+	}
+
+	@Test
+	public void testOutdatedLibraryIndex() throws IOException {
+		initBuilder(new TestLanguageConfiguration(false));
+		testBuilder.setSourceDirs(ImmutableList.of("test-data/model.in.eclipse.project"));
+		testBuilder.setLibraryIndexDir(new File(TMP_DIR, "classes").getPath());
+		assertTrue("Library build returned false", testBuilder.launch());
+		File libraryIndex = new File(new File(TMP_DIR, "classes"), StandaloneBuilder.LIBRARY_INDEX_PATH);
+
+		File jar = new File(TMP_DIR, "library.jar");
+		writeJar(jar, java.nio.file.Files.readAllBytes(libraryIndex.toPath()), "object ModelInJar object Other");
+		assertNull(testBuilder.getLibraryIndex(jar));
+	}
+
+	private void writeJar(File jar, byte[] libraryIndex, String model) throws IOException {
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+			out.putNextEntry(new JarEntry(StandaloneBuilder.LIBRARY_INDEX_PATH));
+			out.write(libraryIndex);
+			out.closeEntry();
+			out.putNextEntry(new JarEntry("model/ModelInJar.buildertestlanguage"));
+			out.write(model.getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+		}
+	}
+
 	@Test
 	public void testDuplicateSourceEntries() {
 		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
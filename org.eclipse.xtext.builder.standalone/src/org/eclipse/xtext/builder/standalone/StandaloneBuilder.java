@@ -2,19 +2,32 @@ package org.eclipse.xtext.builder.standalone;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 import java.util.zip.ZipException;
 
 import org.apache.log4j.Logger;
@@ -24,6 +37,8 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler;
+import org.eclipse.xtext.builder.standalone.index.IndexSnapshot;
+import org.eclipse.xtext.builder.standalone.index.SnapshotResourceDescriptionsData;
 import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
 import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
 import org.eclipse.xtext.generator.AbstractFileSystemAccess;
@@ -33,8 +48,11 @@ import org.eclipse.xtext.generator.JavaIoFileSystemAccess;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.mwe.NameBasedFilter;
 import org.eclipse.xtext.mwe.PathTraverser;
+import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.parser.IEncodingProvider;
+import org.eclipse.xtext.resource.IDefaultResourceDescriptionStrategy;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy;
 import org.eclipse.xtext.resource.clustering.DynamicResourceClusteringPolicy;
@@ -56,17 +74,26 @@ import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
 public class StandaloneBuilder {
 	private static final Logger LOG = Logger.getLogger(StandaloneBuilder.class);
 
+	/**
+	 * The location of the prebuilt library index within a jar.
+	 */
+	public static final String LIBRARY_INDEX_PATH = "META-INF/xtext/library.index";
+
 	/**
 	 * Map key is a file extension provided by Language FileExtensionProvider
 	 */
 	private Map<String, LanguageAccess> languages;
 
+	private String indexConfigurationFingerprint;
+
 	private String baseDir;
 
 	private Iterable<String> sourceDirs;
@@ -97,6 +124,21 @@ public class StandaloneBuilder {
 
 	private ClusteringConfig clusteringConfig = null;
 
+	/**
+	 * If set, the index of each jar on the class path is stored as an {@link IndexSnapshot} in this directory and
+	 * reused by later builds as long as the jar is unchanged. The snapshots are memory-mapped instead of being loaded
+	 * into the heap.
+	 */
+	private String indexSnapshotDir = null;
+
+	/**
+	 * If set, the exported objects of the source resources are written as an {@link IndexSnapshot} to
+	 * {@link #LIBRARY_INDEX_PATH} in this directory, e.g. the class output folder of a library. Builds that have the
+	 * packaged library on their class path load that index instead of parsing the DSL resources of the jar, as long as
+	 * the resources in the jar still match the index.
+	 */
+	private String libraryIndexDir = null;
+
 	@Inject
 	private IndexedJvmTypeAccess jvmTypeAccess;
 
@@ -158,6 +200,23 @@ public class StandaloneBuilder {
 					+ " class path entries.");
 		}
 		List<URI> sourceResourceURIs = collectResources(sourceDirs, resourceSet);
+		List<IndexSnapshot> indexSnapshots = new ArrayList<>();
+		Set<String> indexedJars = new HashSet<>();
+		for (String root : rootsToTravers) {
+			if (isJar(root)) {
+				IndexSnapshot snapshot = getLibraryIndex(new File(root));
+				if (snapshot == null && indexSnapshotDir != null) {
+					snapshot = getIndexSnapshot(new File(root), resourceSet);
+				}
+				if (snapshot != null) {
+					indexSnapshots.add(snapshot);
+					indexedJars.add(root);
+				}
+			}
+		}
+		if (!indexedJars.isEmpty()) {
+			rootsToTravers = Iterables.filter(rootsToTravers, root -> !indexedJars.contains(root));
+		}
 		Iterable<URI> allResourcesURIs = Iterables.concat(sourceResourceURIs,
 				collectResources(rootsToTravers, resourceSet));
 		forceDebugLog("Finished collecting source models. Took: " + (System.currentTimeMillis() - startedAt) + " ms.");
@@ -179,7 +238,9 @@ public class StandaloneBuilder {
 			strategy = new DisabledClusteringPolicy();
 		}
 		// Fill index
-		ResourceDescriptionsData index = new ResourceDescriptionsData(new ArrayList<>());
+		ResourceDescriptionsData index = indexSnapshots.isEmpty()
+				? new ResourceDescriptionsData(new ArrayList<>())
+				: new SnapshotResourceDescriptionsData(new ArrayList<>(), indexSnapshots);
 		Iterator<URI> allResourceIterator = allResourcesURIs.iterator();
 		while (allResourceIterator.hasNext()) {
 			List<Resource> resources = new ArrayList<>();
@@ -200,6 +261,9 @@ public class StandaloneBuilder {
 			}
 		}
 		installIndex(resourceSet, index);
+		if (libraryIndexDir != null) {
+			writeLibraryIndex(index, sourceResourceURIs);
+		}
 		// Generate Stubs
 		if (needsJava) {
 			String stubsClasses = compileStubs(generateStubs(index, sourceResourceURIs));
@@ -244,6 +308,210 @@ public class StandaloneBuilder {
 		index.addDescription(uri, description);
 	}
 
+	protected boolean isJar(String classPathEntry) {
+		File file = new File(classPathEntry);
+		return file.isFile() && file.getName().endsWith(".jar");
+	}
+
+	/**
+	 * Returns the index snapshot of the given jar. The snapshot is created if it doesn't exist yet or if the jar was
+	 * modified since it was created. Outdated snapshots of the jar are deleted.
+	 * 
+	 * The snapshots of a jar are specific to the {@link #getIndexConfigurationFingerprint() configuration of the
+	 * languages}, so builds with other languages can share the {@link #indexSnapshotDir}.
+	 */
+	protected IndexSnapshot getIndexSnapshot(File jar, XtextResourceSet resourceSet) {
+		try {
+			File canonicalJar = jar.getCanonicalFile();
+			String prefix = canonicalJar.getName() + "-" + Hashing.murmur3_128()
+					.hashString(canonicalJar.getPath() + "|" + getIndexConfigurationFingerprint(), StandardCharsets.UTF_8)
+					+ "-";
+			String state = canonicalJar.length() + "|" + canonicalJar.lastModified();
+			String fileName = prefix + Hashing.murmur3_128().hashString(state, StandardCharsets.UTF_8) + ".index";
+			Path snapshotFile = Paths.get(indexSnapshotDir).resolve(fileName);
+			if (!Files.exists(snapshotFile)) {
+				forceDebugLog("Creating index snapshot for " + canonicalJar);
+				List<URI> uris = collectResources(Collections.singletonList(jar.getPath()), resourceSet);
+				List<IResourceDescription> descriptions = new ArrayList<>(uris.size());
+				List<Resource> resources = new ArrayList<>(uris.size());
+				for (URI uri : uris) {
+					Resource resource = resourceSet.getResource(uri, true);
+					resources.add(resource);
+					descriptions.add(languageAccess(uri).getResourceDescriptionManager().getResourceDescription(resource));
+				}
+				Files.createDirectories(snapshotFile.getParent());
+				Path tempFile = Files.createTempFile(snapshotFile.getParent(), fileName, ".tmp");
+				try {
+					IndexSnapshot.write(descriptions, tempFile);
+					moveSnapshot(tempFile, snapshotFile);
+				} finally {
+					Files.deleteIfExists(tempFile);
+				}
+				resourceSet.getResources().removeAll(resources);
+				deleteOutdatedSnapshots(snapshotFile, prefix);
+			} else {
+				forceDebugLog("Using index snapshot " + snapshotFile + " for " + canonicalJar);
+				registerBundle(canonicalJar);
+			}
+			return IndexSnapshot.open(snapshotFile);
+		} catch (IOException e) {
+			throw Exceptions.sneakyThrow(e);
+		}
+	}
+
+	/**
+	 * Computes a fingerprint of everything besides the jar that determines the exported objects of an index snapshot:
+	 * the file extensions of the languages, the resource description managers, strategies and qualified name
+	 * providers that they use, the versions of the libraries these come from and the snapshot format.
+	 */
+	protected String getIndexConfigurationFingerprint() {
+		if (indexConfigurationFingerprint == null) {
+			Hasher hasher = Hashing.murmur3_128().newHasher();
+			hasher.putInt(IndexSnapshot.getFormatVersion());
+			new TreeMap<>(languages).forEach((extension, language) -> {
+				hasher.putString(extension, StandardCharsets.UTF_8);
+				IResourceServiceProvider provider = language.getResourceServiceProvider();
+				putImplementation(hasher, language.getResourceDescriptionManager());
+				putImplementation(hasher, provider.get(IDefaultResourceDescriptionStrategy.class));
+				putImplementation(hasher, provider.get(IQualifiedNameProvider.class));
+			});
+			indexConfigurationFingerprint = hasher.hash().toString();
+		}
+		return indexConfigurationFingerprint;
+	}
+
+	private void putImplementation(Hasher hasher, Object implementation) {
+		if (implementation == null) {
+			hasher.putString("null", StandardCharsets.UTF_8);
+			return;
+		}
+		Class<?> type = implementation.getClass();
+		hasher.putString(type.getName(), StandardCharsets.UTF_8);
+		String version = type.getPackage() != null ? type.getPackage().getImplementationVersion() : null;
+		if (version != null) {
+			hasher.putString(version, StandardCharsets.UTF_8);
+		} else if (type.getProtectionDomain().getCodeSource() != null
+				&& type.getProtectionDomain().getCodeSource().getLocation() != null) {
+			// unversioned class folders or jars, e.g. of the current build
+			File location = new File(type.getProtectionDomain().getCodeSource().getLocation().getPath());
+			hasher.putString(location.getPath(), StandardCharsets.UTF_8);
+			hasher.putLong(location.length());
+			hasher.putLong(location.lastModified());
+		}
+	}
+
+	/**
+	 * Moves the written snapshot to its final location atomically, so concurrent builds never map a partially
+	 * written snapshot. Falls back to a plain move if the file system does not support atomic moves.
+	 */
+	private void moveSnapshot(Path tempFile, Path snapshotFile) throws IOException {
+		try {
+			Files.move(tempFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+		} catch (FileAlreadyExistsException e) {
+			// written by a concurrent build in the meantime
+		}
+	}
+
+	/**
+	 * Deletes the snapshots of former states of the same jar.
+	 */
+	private void deleteOutdatedSnapshots(Path snapshotFile, String prefix) throws IOException {
+		try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(snapshotFile.getParent(),
+				file -> file.getFileName().toString().startsWith(prefix) && file.toString().endsWith(".index"))) {
+			for (Path snapshot : snapshots) {
+				if (!snapshot.equals(snapshotFile)) {
+					try {
+						Files.deleteIfExists(snapshot);
+					} catch (IOException e) {
+						// may still be mapped by another build, it will be deleted next time
+						forceDebugLog("Could not delete outdated index snapshot " + snapshot);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the prebuilt index of the given jar or <code>null</code> if the jar doesn't contain one or if its DSL
+	 * resources changed since the index was written.
+	 */
+	protected IndexSnapshot getLibraryIndex(File jar) {
+		try (JarFile jarFile = new JarFile(jar)) {
+			JarEntry indexEntry = jarFile.getJarEntry(LIBRARY_INDEX_PATH);
+			if (indexEntry == null) {
+				return null;
+			}
+			IndexSnapshot snapshot;
+			try (InputStream stream = jarFile.getInputStream(indexEntry)) {
+				snapshot = IndexSnapshot.read(stream, URI.createURI("archive:" + jar.toURI() + "!/"));
+			}
+			NameBasedFilter filter = createResourceFilter();
+			Map<String, Long> checksums = new TreeMap<>();
+			for (JarEntry entry : Collections.list(jarFile.entries())) {
+				if (!entry.isDirectory() && filter.matches(URI.createURI(entry.getName()))) {
+					checksums.put(entry.getName(), entry.getCrc());
+				}
+			}
+			if (!computeFingerprint(checksums).equals(snapshot.getFingerprint())) {
+				forceDebugLog("Ignoring outdated library index of " + jar);
+				return null;
+			}
+			forceDebugLog("Using library index of " + jar);
+			registerBundle(jar);
+			return snapshot;
+		} catch (IOException e) {
+			forceDebugLog("Could not read library index of " + jar + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the exported objects of the given source resources to {@link #LIBRARY_INDEX_PATH} in the
+	 * {@link #libraryIndexDir}. The URIs are stored relative to their source folder.
+	 */
+	protected void writeLibraryIndex(ResourceDescriptionsData index, List<URI> sourceResourceURIs) {
+		List<URI> folders = IterableExtensions
+				.toList(Iterables.transform(sourceDirs, (String it) -> UriUtil.createFolderURI(new File(it))));
+		Map<URI, URI> relativeURIs = new HashMap<>();
+		Map<String, Long> checksums = new TreeMap<>();
+		List<IResourceDescription> descriptions = new ArrayList<>(sourceResourceURIs.size());
+		try {
+			for (URI uri : sourceResourceURIs) {
+				URI folder = IterableExtensions.findFirst(folders, (URI it) -> UriUtil.isPrefixOf(it, uri));
+				if (folder == null) {
+					continue;
+				}
+				URI relativeURI = uri.deresolve(folder);
+				relativeURIs.put(uri, relativeURI);
+				CRC32 crc = new CRC32();
+				crc.update(Files.readAllBytes(Paths.get(uri.toFileString())));
+				checksums.put(URI.decode(relativeURI.toString()), crc.getValue());
+				descriptions.add(index.getResourceDescription(uri));
+			}
+			Path indexFile = Paths.get(libraryIndexDir).resolve(LIBRARY_INDEX_PATH);
+			Files.createDirectories(indexFile.getParent());
+			IndexSnapshot.write(descriptions, uri -> relativeURIs.getOrDefault(uri, uri), computeFingerprint(checksums),
+					indexFile);
+			LOG.info("Wrote library index with " + descriptions.size() + " resources to " + indexFile);
+		} catch (IOException e) {
+			throw Exceptions.sneakyThrow(e);
+		}
+	}
+
+	/**
+	 * Computes a fingerprint of the DSL resources of a library from their paths and CRC-32 checksums.
+	 */
+	protected String computeFingerprint(Map<String, Long> checksumsByPath) {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		new TreeMap<>(checksumsByPath).forEach((path, checksum) -> {
+			hasher.putString(path, StandardCharsets.UTF_8);
+			hasher.putLong(checksum);
+		});
+		return hasher.hash().toString();
+	}
+
 	public void fileEncodingSetup(Collection<LanguageAccess> langs, String encoding) {
 		for (LanguageAccess lang : langs) {
 			IEncodingProvider provider = lang.getEncodingProvider();
@@ -406,10 +674,7 @@ public class StandaloneBuilder {
 	}
 
 	protected List<URI> collectResources(Iterable<String> roots, ResourceSet resourceSet) {
-		String extensions = Joiner.on("|").join(languages.keySet());
-		NameBasedFilter nameBasedFilter = new NameBasedFilter();
-		// TODO test with whitespaced file extensions
-		nameBasedFilter.setRegularExpression(".*\\.(?:(" + extensions + "))$");
+		NameBasedFilter nameBasedFilter = createResourceFilter();
 		List<URI> resources = new ArrayList<>();
 		Multimap<String, URI> modelsFound = new PathTraverser().resolvePathes(IterableExtensions.toList(roots),
 				(URI input) -> {
@@ -429,6 +694,14 @@ public class StandaloneBuilder {
 		return resources;
 	}
 
+	private NameBasedFilter createResourceFilter() {
+		String extensions = Joiner.on("|").join(languages.keySet());
+		NameBasedFilter nameBasedFilter = new NameBasedFilter();
+		// TODO test with whitespaced file extensions
+		nameBasedFilter.setRegularExpression(".*\\.(?:(" + extensions + "))$");
+		return nameBasedFilter;
+	}
+
 	protected void registerBundle(File file) {
 		// copied from
 		// org.eclipse.emf.mwe.utils.StandaloneSetup.registerBundle(File)
@@ -501,6 +774,7 @@ public class StandaloneBuilder {
 
 	public void setLanguages(Map<String, LanguageAccess> languages) {
 		this.languages = languages;
+		this.indexConfigurationFingerprint = null;
 	}
 
 	public String getBaseDir() {
@@ -590,4 +864,20 @@ public class StandaloneBuilder {
 	public void setClusteringConfig(ClusteringConfig clusteringConfig) {
 		this.clusteringConfig = clusteringConfig;
 	}
+
+	public String getIndexSnapshotDir() {
+		return indexSnapshotDir;
+	}
+
+	public void setIndexSnapshotDir(String indexSnapshotDir) {
+		this.indexSnapshotDir = indexSnapshotDir;
+	}
+
+	public String getLibraryIndexDir() {
+		return libraryIndexDir;
+	}
+
+	public void setLibraryIndexDir(String libraryIndexDir) {
+		this.libraryIndexDir = libraryIndexDir;
+	}
 }
@@ -0,0 +1,553 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+import com.google.common.collect.Iterables;
+import com.google.common.io.ByteStreams;
+
+/**
+ * A compact, read-only snapshot of the exported objects of many resources, e.g. of all DSL resources of a library jar.
+ * The snapshot is stored in a file that is memory-mapped when it is read, so the descriptions don't occupy the heap
+ * until they are actually looked up.
+ * 
+ * All strings are stored once. Exported objects are found by their qualified name through a hash table. The imported
+ * names and the reference descriptions of the resources are not part of the snapshot.
+ * 
+ * The URIs in a snapshot may be relative, e.g. to the source folder of a library. They are resolved against the base
+ * URI that is passed when the snapshot is read, e.g. the archive URI of the library jar. A snapshot can carry a
+ * fingerprint of the content it was computed from, so readers can detect a stale snapshot.
+ * 
+ * @since 2.25
+ */
+public class IndexSnapshot {
+
+	private static final int MAGIC = 0x58494458;
+
+	private static final int VERSION = 3;
+
+	private static final int RESOURCE_SIZE = 3;
+
+	private static final int OBJECT_SIZE = 8;
+
+	/**
+	 * Writes the exported objects of the given resource descriptions to the given file.
+	 */
+	public static void write(Iterable<? extends IResourceDescription> descriptions, Path file) throws IOException {
+		write(descriptions, Function.identity(), "", file);
+	}
+
+	/**
+	 * Writes the exported objects of the given resource descriptions to the given file. The resource URIs are
+	 * converted by the given function before they are stored, e.g. to make them relative to their source folder.
+	 */
+	public static void write(Iterable<? extends IResourceDescription> descriptions, Function<URI, URI> uriConverter,
+			String fingerprint, Path file) throws IOException {
+		new Writer(uriConverter).write(descriptions, fingerprint, file);
+	}
+
+	/**
+	 * Maps the given snapshot file into memory.
+	 */
+	public static IndexSnapshot open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new IndexSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), null);
+		}
+	}
+
+	/**
+	 * Reads a snapshot from the given stream, e.g. from an entry of a jar. Relative URIs are resolved against the
+	 * given base URI.
+	 */
+	public static IndexSnapshot read(InputStream stream, URI baseURI) throws IOException {
+		return new IndexSnapshot(ByteBuffer.wrap(ByteStreams.toByteArray(stream)), baseURI);
+	}
+
+	private final ByteBuffer buffer;
+
+	private final URI baseURI;
+
+	private final int fingerprint;
+
+	private final int stringOffsetsStart;
+
+	private final int stringDataStart;
+
+	private final int resourceCount;
+
+	private final int resourcesStart;
+
+	private final int objectCount;
+
+	private final int objectsStart;
+
+	private final int segmentsStart;
+
+	private final int userDataStart;
+
+	private final int bucketCount;
+
+	private final int bucketsStart;
+
+	private final int nextStart;
+
+	private final String[] strings;
+
+	private volatile Map<String, Integer> resourceIndex;
+
+	protected IndexSnapshot(ByteBuffer buffer, URI baseURI) throws IOException {
+		this.buffer = buffer;
+		this.baseURI = baseURI;
+		int position = 0;
+		if (buffer.getInt(position) != MAGIC || buffer.getInt(position + 4) != VERSION) {
+			throw new IOException("Not an index snapshot or unsupported version");
+		}
+		position += 8;
+		int stringCount = buffer.getInt(position);
+		int stringDataLength = buffer.getInt(position + 4);
+		position += 8;
+		stringOffsetsStart = position;
+		position += stringCount * 4;
+		stringDataStart = position;
+		position += stringDataLength;
+		fingerprint = buffer.getInt(position);
+		position += 4;
+		resourceCount = buffer.getInt(position);
+		position += 4;
+		resourcesStart = position;
+		position += resourceCount * RESOURCE_SIZE * 4;
+		objectCount = buffer.getInt(position);
+		position += 4;
+		objectsStart = position;
+		position += objectCount * OBJECT_SIZE * 4;
+		int segmentCount = buffer.getInt(position);
+		position += 4;
+		segmentsStart = position;
+		position += segmentCount * 4;
+		int userDataCount = buffer.getInt(position);
+		position += 4;
+		userDataStart = position;
+		position += userDataCount * 2 * 4;
+		bucketCount = buffer.getInt(position);
+		position += 4;
+		bucketsStart = position;
+		position += bucketCount * 4;
+		nextStart = position;
+		strings = new String[stringCount];
+	}
+
+	/**
+	 * The fingerprint of the content that the snapshot was computed from. Empty if none was given.
+	 */
+	public String getFingerprint() {
+		return getString(fingerprint);
+	}
+
+	public int getResourceCount() {
+		return resourceCount;
+	}
+
+	public int getObjectCount() {
+		return objectCount;
+	}
+
+	public boolean isEmpty() {
+		return objectCount == 0;
+	}
+
+	public List<IResourceDescription> getResourceDescriptions() {
+		return new AbstractList<IResourceDescription>() {
+			@Override
+			public IResourceDescription get(int index) {
+				return new SnapshotResourceDescription(index);
+			}
+
+			@Override
+			public int size() {
+				return resourceCount;
+			}
+		};
+	}
+
+	/* @Nullable */
+	public IResourceDescription getResourceDescription(URI uri) {
+		Map<String, Integer> index = resourceIndex;
+		if (index == null) {
+			index = new HashMap<>(resourceCount * 2);
+			for (int i = 0; i < resourceCount; i++) {
+				index.put(resolve(getString(resourceInt(i, 0))).toString(), i);
+			}
+			resourceIndex = index;
+		}
+		Integer result = index.get(uri.toString());
+		return result != null ? new SnapshotResourceDescription(result) : null;
+	}
+
+	public Iterable<IEObjectDescription> getExportedObjects() {
+		return getObjects(0, objectCount);
+	}
+
+	public Iterable<IEObjectDescription> getExportedObjectsByType(EClass type) {
+		return Iterables.filter(getExportedObjects(), it -> EcoreUtil2.isAssignableFrom(type, it.getEClass()));
+	}
+
+	public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
+		URI uri = EcoreUtil.getURI(object);
+		return Iterables.filter(getExportedObjects(), it -> uri.equals(it.getEObjectURI()));
+	}
+
+	public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
+		if (bucketCount == 0) {
+			return Collections.emptyList();
+		}
+		int bucket = bucketKey(name).hashCode() & (bucketCount - 1);
+		List<IEObjectDescription> result = null;
+		int object = buffer.getInt(bucketsStart + bucket * 4) - 1;
+		while (object >= 0) {
+			if (hasName(object, name, ignoreCase)) {
+				IEObjectDescription description = createDescription(object);
+				if (EcoreUtil2.isAssignableFrom(type, description.getEClass())) {
+					if (result == null) {
+						result = new ArrayList<>(2);
+					}
+					result.add(description);
+				}
+			}
+			object = buffer.getInt(nextStart + object * 4) - 1;
+		}
+		return result != null ? result : Collections.emptyList();
+	}
+
+	/**
+	 * The key of the hash table. It is independent of the default locale, since snapshots are shared, e.g. as the
+	 * library index in a jar.
+	 */
+	private static String bucketKey(QualifiedName name) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < name.getSegmentCount(); i++) {
+			if (i > 0) {
+				result.append('\u0000');
+			}
+			result.append(name.getSegment(i).toLowerCase(Locale.ROOT));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * The version of the snapshot format. Snapshots of other versions can't be read.
+	 */
+	public static int getFormatVersion() {
+		return VERSION;
+	}
+
+	private boolean hasName(int object, QualifiedName name, boolean ignoreCase) {
+		int segmentCount = objectInt(object, 2);
+		if (segmentCount != name.getSegmentCount()) {
+			return false;
+		}
+		int firstSegment = objectInt(object, 1);
+		for (int i = 0; i < segmentCount; i++) {
+			String segment = getString(buffer.getInt(segmentsStart + (firstSegment + i) * 4));
+			if (ignoreCase ? !segment.equalsIgnoreCase(name.getSegment(i)) : !segment.equals(name.getSegment(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private List<IEObjectDescription> getObjects(int first, int count) {
+		return new AbstractList<IEObjectDescription>() {
+			@Override
+			public IEObjectDescription get(int index) {
+				return createDescription(first + index);
+			}
+
+			@Override
+			public int size() {
+				return count;
+			}
+		};
+	}
+
+	protected IEObjectDescription createDescription(int object) {
+		int segmentCount = objectInt(object, 2);
+		int firstSegment = objectInt(object, 1);
+		String[] segments = new String[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = getString(buffer.getInt(segmentsStart + (firstSegment + i) * 4));
+		}
+		EClass eClass = getEClass(getString(objectInt(object, 3)), getString(objectInt(object, 4)));
+		EObject proxy = EcoreUtil.create(eClass);
+		((InternalEObject) proxy).eSetProxyURI(resolve(getString(objectInt(object, 5))));
+		int userDataCount = objectInt(object, 7);
+		Map<String, String> userData = null;
+		if (userDataCount > 0) {
+			int firstUserData = objectInt(object, 6);
+			userData = new LinkedHashMap<>(userDataCount * 2);
+			for (int i = 0; i < userDataCount; i++) {
+				int entry = userDataStart + (firstUserData + i) * 8;
+				userData.put(getString(buffer.getInt(entry)), getString(buffer.getInt(entry + 4)));
+			}
+		}
+		return EObjectDescription.create(QualifiedName.create(segments), proxy, userData);
+	}
+
+	protected EClass getEClass(String nsURI, String name) {
+		EPackage ePackage = EPackage.Registry.INSTANCE.getEPackage(nsURI);
+		EClassifier result = ePackage != null ? ePackage.getEClassifier(name) : null;
+		if (!(result instanceof EClass)) {
+			throw new IllegalStateException("Cannot find EClass " + nsURI + "#" + name);
+		}
+		return (EClass) result;
+	}
+
+	protected URI resolve(String uri) {
+		URI result = URI.createURI(uri);
+		if (baseURI != null && result.isRelative()) {
+			return result.resolve(baseURI);
+		}
+		return result;
+	}
+
+	protected String getString(int index) {
+		String result = strings[index];
+		if (result == null) {
+			int offset = stringDataStart + buffer.getInt(stringOffsetsStart + index * 4);
+			int length = buffer.getInt(offset);
+			byte[] bytes = new byte[length];
+			for (int i = 0; i < length; i++) {
+				bytes[i] = buffer.get(offset + 4 + i);
+			}
+			result = new String(bytes, StandardCharsets.UTF_8);
+			strings[index] = result;
+		}
+		return result;
+	}
+
+	private int resourceInt(int resource, int field) {
+		return buffer.getInt(resourcesStart + (resource * RESOURCE_SIZE + field) * 4);
+	}
+
+	private int objectInt(int object, int field) {
+		return buffer.getInt(objectsStart + (object * OBJECT_SIZE + field) * 4);
+	}
+
+	protected class SnapshotResourceDescription implements IResourceDescription {
+
+		private final int resource;
+
+		protected SnapshotResourceDescription(int resource) {
+			this.resource = resource;
+		}
+
+		@Override
+		public URI getURI() {
+			return resolve(getString(resourceInt(resource, 0)));
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return resourceInt(resource, 2) == 0;
+		}
+
+		@Override
+		public Iterable<IEObjectDescription> getExportedObjects() {
+			return getObjects(resourceInt(resource, 1), resourceInt(resource, 2));
+		}
+
+		@Override
+		public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
+			return Iterables.filter(getExportedObjects(),
+					it -> (ignoreCase ? name.equalsIgnoreCase(it.getName()) : name.equals(it.getName()))
+							&& EcoreUtil2.isAssignableFrom(type, it.getEClass()));
+		}
+
+		@Override
+		public Iterable<IEObjectDescription> getExportedObjectsByType(EClass type) {
+			return Iterables.filter(getExportedObjects(), it -> EcoreUtil2.isAssignableFrom(type, it.getEClass()));
+		}
+
+		@Override
+		public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
+			URI uri = EcoreUtil.getURI(object);
+			return Iterables.filter(getExportedObjects(), it -> uri.equals(it.getEObjectURI()));
+		}
+
+		@Override
+		public Iterable<QualifiedName> getImportedNames() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public Iterable<IReferenceDescription> getReferenceDescriptions() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + " " + getURI();
+		}
+	}
+
+	private static class Writer {
+		private final Function<URI, URI> uriConverter;
+
+		private final Map<String, Integer> stringIndex = new HashMap<>();
+		private final List<byte[]> stringData = new ArrayList<>();
+		private int stringDataLength = 0;
+
+		private final List<int[]> resources = new ArrayList<>();
+		private final List<int[]> objects = new ArrayList<>();
+		private final List<Integer> segments = new ArrayList<>();
+		private final List<int[]> userData = new ArrayList<>();
+		private final List<String> lowerCaseNames = new ArrayList<>();
+
+		private Writer(Function<URI, URI> uriConverter) {
+			this.uriConverter = uriConverter;
+		}
+
+		private String convert(URI uri) {
+			URI result = uriConverter.apply(uri.trimFragment());
+			if (uri.hasFragment()) {
+				result = result.appendFragment(uri.fragment());
+			}
+			return result.toString();
+		}
+
+		private int string(String value) {
+			Integer result = stringIndex.get(value);
+			if (result == null) {
+				result = stringData.size();
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				stringData.add(bytes);
+				stringDataLength += 4 + bytes.length;
+				stringIndex.put(value, result);
+			}
+			return result;
+		}
+
+		private void write(Iterable<? extends IResourceDescription> descriptions, String fingerprint, Path file)
+				throws IOException {
+			int fingerprintString = string(fingerprint);
+			for (IResourceDescription description : descriptions) {
+				int firstObject = objects.size();
+				for (IEObjectDescription object : description.getExportedObjects()) {
+					addObject(resources.size(), object);
+				}
+				resources.add(new int[] { string(convert(description.getURI())), firstObject,
+						objects.size() - firstObject });
+			}
+			int bucketCount = Integer.highestOneBit(Math.max(1, objects.size() * 2 - 1)) * 2;
+			if (objects.isEmpty()) {
+				bucketCount = 0;
+			}
+			int[] buckets = new int[bucketCount];
+			int[] next = new int[objects.size()];
+			for (int i = 0; i < objects.size(); i++) {
+				int bucket = lowerCaseNames.get(i).hashCode() & (bucketCount - 1);
+				next[i] = buckets[bucket];
+				buckets[bucket] = i + 1;
+			}
+			try (OutputStream stream = Files.newOutputStream(file);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(stringData.size());
+				out.writeInt(stringDataLength);
+				int offset = 0;
+				for (byte[] bytes : stringData) {
+					out.writeInt(offset);
+					offset += 4 + bytes.length;
+				}
+				for (byte[] bytes : stringData) {
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				}
+				out.writeInt(fingerprintString);
+				writeTable(out, resources);
+				writeTable(out, objects);
+				out.writeInt(segments.size());
+				for (int segment : segments) {
+					out.writeInt(segment);
+				}
+				writeTable(out, userData);
+				out.writeInt(bucketCount);
+				for (int bucket : buckets) {
+					out.writeInt(bucket);
+				}
+				for (int n : next) {
+					out.writeInt(n);
+				}
+			}
+		}
+
+		private void addObject(int resource, IEObjectDescription object) {
+			QualifiedName name = object.getName();
+			int firstSegment = segments.size();
+			for (String segment : name.getSegments()) {
+				segments.add(string(segment));
+			}
+			EClass eClass = object.getEClass();
+			int firstUserData = userData.size();
+			for (String key : object.getUserDataKeys()) {
+				String value = object.getUserData(key);
+				if (value != null) {
+					userData.add(new int[] { string(key), string(value) });
+				}
+			}
+			objects.add(new int[] { resource, firstSegment, name.getSegmentCount(),
+					string(eClass.getEPackage().getNsURI()), string(eClass.getName()),
+					string(convert(object.getEObjectURI())), firstUserData, userData.size() - firstUserData });
+			lowerCaseNames.add(bucketKey(name));
+		}
+
+		private void writeTable(DataOutputStream out, List<int[]> rows) throws IOException {
+			out.writeInt(rows.size());
+			for (int[] row : rows) {
+				for (int value : row) {
+					out.writeInt(value);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.index;
+
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+/**
+ * {@link ResourceDescriptionsData} that answer the lookups from the descriptions on the heap and from a list of
+ * memory-mapped {@link IndexSnapshot snapshots}. The descriptions on the heap take precedence over the snapshots when
+ * looking up a resource by its URI.
+ * 
+ * @since 2.25
+ */
+public class SnapshotResourceDescriptionsData extends ResourceDescriptionsData {
+
+	private final List<IndexSnapshot> snapshots;
+
+	public SnapshotResourceDescriptionsData(Iterable<IResourceDescription> descriptions, List<IndexSnapshot> snapshots) {
+		super(descriptions);
+		this.snapshots = ImmutableList.copyOf(snapshots);
+	}
+
+	public List<IndexSnapshot> getSnapshots() {
+		return snapshots;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return super.isEmpty() && Iterables.all(snapshots, IndexSnapshot::isEmpty);
+	}
+
+	@Override
+	public Iterable<IResourceDescription> getAllResourceDescriptions() {
+		return Iterables.concat(super.getAllResourceDescriptions(),
+				Iterables.concat(Lists.transform(snapshots, IndexSnapshot::getResourceDescriptions)));
+	}
+
+	@Override
+	public IResourceDescription getResourceDescription(URI uri) {
+		IResourceDescription result = super.getResourceDescription(uri);
+		if (result == null) {
+			for (IndexSnapshot snapshot : snapshots) {
+				result = snapshot.getResourceDescription(uri);
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects() {
+		return Iterables.concat(super.getExportedObjects(),
+				Iterables.concat(Lists.transform(snapshots, IndexSnapshot::getExportedObjects)));
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
+		return Iterables.concat(super.getExportedObjects(type, name, ignoreCase), Iterables.concat(
+				Lists.transform(snapshots, snapshot -> snapshot.getExportedObjects(type, name, ignoreCase))));
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByType(EClass type) {
+		return Iterables.concat(super.getExportedObjectsByType(type), Iterables.concat(
+				Lists.transform(snapshots, snapshot -> snapshot.getExportedObjectsByType(type))));
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
+		return Iterables.concat(super.getExportedObjectsByObject(object), Iterables.concat(
+				Lists.transform(snapshots, snapshot -> snapshot.getExportedObjectsByObject(object))));
+	}
+
+	@Override
+	public ResourceDescriptionsData copy() {
+		return new SnapshotResourceDescriptionsData(Lists.newArrayList(super.getAllResourceDescriptions()), snapshots);
+	}
+}
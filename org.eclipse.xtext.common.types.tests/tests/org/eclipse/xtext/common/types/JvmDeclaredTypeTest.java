@@ -10,7 +10,10 @@ package org.eclipse.xtext.common.types;
 
 import java.util.Iterator;
 
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.xtext.common.types.access.JvmTypeChangeDispatcher;
 import org.junit.Test;
 
 /**
@@ -203,6 +206,61 @@ public abstract class JvmDeclaredTypeTest extends JvmComponentTypeTest {
 		assertFalse(iterator.hasNext());
 	}
 	
+	@Test public void testFindFeaturesByName_05() {
+		JvmDeclaredType type = getObjectUnderTest();
+		JvmGenericType superType = TypesFactory.eINSTANCE.createJvmGenericType();
+		ResourceImpl resource = new ResourceImpl();
+		resource.getContents().add(type);
+		resource.getContents().add(superType);
+		JvmParameterizedTypeReference reference = TypesFactory.eINSTANCE.createJvmParameterizedTypeReference();
+		reference.setType(superType);
+		type.getSuperTypes().add(reference);
+		assertFalse(type.findAllFeaturesByName("foo").iterator().hasNext());
+		JvmOperation operation = TypesFactory.eINSTANCE.createJvmOperation();
+		operation.setSimpleName("foo");
+		superType.getMembers().add(operation);
+		Iterable<JvmFeature> iterable = type.findAllFeaturesByName("foo");
+		Iterator<JvmFeature> iterator = iterable.iterator();
+		assertTrue(iterator.hasNext());
+		assertSame(operation, iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+	
+	@Test public void testGetAllFeatures_05() {
+		JvmDeclaredType type = getObjectUnderTest();
+		JvmGenericType otherType = TypesFactory.eINSTANCE.createJvmGenericType();
+		ResourceImpl resource = new ResourceImpl();
+		resource.getContents().add(type);
+		resource.getContents().add(otherType);
+		type.getMembers().add(TypesFactory.eINSTANCE.createJvmOperation());
+		Iterable<JvmFeature> allFeatures = type.getAllFeatures();
+		otherType.getAllFeatures();
+		otherType.getMembers().add(TypesFactory.eINSTANCE.createJvmOperation());
+		assertSame(allFeatures, type.getAllFeatures());
+	}
+	
+	@Test public void testGetAllFeatures_06() {
+		JvmDeclaredType type = getObjectUnderTest();
+		JvmGenericType otherType = TypesFactory.eINSTANCE.createJvmGenericType();
+		ResourceSetImpl resourceSet = new ResourceSetImpl();
+		ResourceImpl resource = new ResourceImpl(URI.createURI("first"));
+		resourceSet.getResources().add(resource);
+		resource.getContents().add(type);
+		ResourceImpl otherResource = new ResourceImpl(URI.createURI("second"));
+		new ResourceSetImpl().getResources().add(otherResource);
+		otherResource.getContents().add(otherType);
+		Iterable<JvmFeature> allFeatures = type.getAllFeatures();
+		otherType.getAllFeatures();
+		JvmTypeChangeDispatcher dispatcher = JvmTypeChangeDispatcher.findResourceChangeDispatcher(resourceSet);
+		long modificationCount = dispatcher.getModificationCount();
+		otherType.getMembers().add(TypesFactory.eINSTANCE.createJvmOperation());
+		assertEquals(modificationCount, dispatcher.getModificationCount());
+		assertSame(allFeatures, type.getAllFeatures());
+		type.getMembers().add(TypesFactory.eINSTANCE.createJvmOperation());
+		assertTrue(modificationCount < dispatcher.getModificationCount());
+		assertNotSame(allFeatures, type.getAllFeatures());
+	}
+	
 	@Test public void testGetAllFeatures_01() {
 		JvmDeclaredType type = getObjectUnderTest();
 		JvmOperation operation = TypesFactory.eINSTANCE.createJvmOperation();
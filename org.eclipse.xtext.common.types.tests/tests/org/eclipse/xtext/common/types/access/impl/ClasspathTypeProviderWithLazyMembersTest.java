@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.impl;
+
+import java.util.Map;
+
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.access.binary.BinaryClass;
+import org.eclipse.xtext.common.types.access.binary.asm.ClassFileBytesAccess;
+import org.eclipse.xtext.common.types.impl.JvmDeclaredTypeImplCustom;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+
+/**
+ * Runs the tests of the {@link ClasspathTypeProvider} with types whose members are created on first access.
+ */
+public class ClasspathTypeProviderWithLazyMembersTest extends ClasspathTypeProviderTest {
+
+	@Override
+	protected ClasspathTypeProvider createTypeProvider() {
+		return new ClasspathTypeProvider(getClass().getClassLoader(), getResourceSet(), getIndexedJvmTypeAccess(), null) {
+			@Override
+			protected ITypeFactory<BinaryClass, JvmDeclaredType> createDeclaredTypeFactory(ClassFileBytesAccess readerAccess, ClassLoader classLoader) {
+				DeclaredTypeFactory result = new DeclaredTypeFactory(readerAccess, classLoader);
+				result.setLazyMembers(true);
+				return result;
+			}
+		};
+	}
+
+	@Test
+	public void testMembersAreCreatedOnFirstAccess() {
+		JvmDeclaredType type = (JvmDeclaredType) getTypeProvider().findTypeByName(Map.class.getName());
+		assertTrue(((JvmDeclaredTypeImplCustom) type).basicGetMembers().isEmpty());
+		assertFalse(type.getMembers().isEmpty());
+		JvmDeclaredType entry = (JvmDeclaredType) getTypeProvider().findTypeByName(Map.Entry.class.getName());
+		assertSame(type, entry.getDeclaringType());
+		JvmOperation getKey = Iterables.getOnlyElement(Iterables.filter(entry.findAllFeaturesByName("getKey"), JvmOperation.class));
+		assertSame(entry, getKey.getDeclaringType());
+	}
+}
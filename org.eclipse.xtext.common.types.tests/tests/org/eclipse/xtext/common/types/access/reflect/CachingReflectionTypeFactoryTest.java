@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.reflect;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.junit.After;
+import org.junit.Test;
+
+public class CachingReflectionTypeFactoryTest {
+
+	@After
+	public void tearDown() {
+		CachingReflectionTypeFactory.clearGlobalCache();
+	}
+
+	@Test
+	public void testGlobalCacheRequiresPlainDelegate() {
+		assertTrue(new CachingReflectionTypeFactory(new ReflectionTypeFactory(new ReflectURIHelper()), true)
+				.isUseGlobalCache());
+		assertFalse(new CachingReflectionTypeFactory(new ReflectionTypeFactory(new ReflectURIHelper()))
+				.isUseGlobalCache());
+		assertFalse(new CachingReflectionTypeFactory(new ReflectionTypeFactory(new ReflectURIHelper()) {
+		}, true).isUseGlobalCache());
+		assertFalse(new CachingReflectionTypeFactory(new ReflectionTypeFactory(new ReflectURIHelper() {
+		}), true).isUseGlobalCache());
+	}
+
+	@Test
+	public void testGlobalCacheDeliversCopies() {
+		CachingReflectionTypeFactory first = new CachingReflectionTypeFactory(
+				new ReflectionTypeFactory(new ReflectURIHelper()), true);
+		CachingReflectionTypeFactory second = new CachingReflectionTypeFactory(
+				new ReflectionTypeFactory(new ReflectURIHelper()), true);
+		JvmDeclaredType firstType = first.createType(ArrayList.class);
+		JvmDeclaredType secondType = second.createType(ArrayList.class);
+		assertNotSame(firstType, secondType);
+		assertNull(secondType.eResource());
+		assertEquals(ArrayList.class.getName(), secondType.getIdentifier());
+		assertEquals(firstType.getMembers().size(), secondType.getMembers().size());
+		assertNotSame(firstType, second.createType(ArrayList.class));
+	}
+}
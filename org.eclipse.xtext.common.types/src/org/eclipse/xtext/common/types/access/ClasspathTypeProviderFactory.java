@@ -10,30 +10,56 @@ package org.eclipse.xtext.common.types.access;
 
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
+import org.eclipse.xtext.common.types.access.impl.DeclaredTypeFactory;
 import org.eclipse.xtext.common.types.access.impl.TypeResourceServices;
 import org.eclipse.xtext.resource.XtextResourceSet;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
  */
 public class ClasspathTypeProviderFactory extends AbstractTypeProviderFactory {
 
+	/**
+	 * The name of the boolean constant that enables the lazy creation of the members of the binary types. Disabled by
+	 * default.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String LAZY_MEMBERS = "ClasspathTypeProviderFactory.lazyMembers";
+
 	private final ClassLoader classLoader;
 	protected final TypeResourceServices services;
+	private boolean lazyMembers;
 	
 	@Inject
 	public ClasspathTypeProviderFactory(ClassLoader classLoader, TypeResourceServices services) {
 		this.classLoader = classLoader;
 		this.services = services;
 	}
+
+	/**
+	 * Whether the type providers create the members of a type when they are accessed for the first time. Has no effect
+	 * on type factories that copy their types, since a copy contains all members.
+	 * 
+	 * @see DeclaredTypeFactory#setLazyMembers(boolean)
+	 * @since 2.25
+	 */
+	@Inject(optional = true)
+	public void setLazyMembers(@Named(LAZY_MEMBERS) boolean lazyMembers) {
+		this.lazyMembers = lazyMembers;
+	}
 	
 	@Override
 	public ClasspathTypeProvider createTypeProvider(ResourceSet resourceSet) {
 		if (resourceSet == null)
 			throw new IllegalArgumentException("resourceSet may not be null.");
 		ClasspathTypeProvider result = createClasspathTypeProvider(resourceSet);
+		if (lazyMembers && result.getDeclaredTypeFactory() instanceof DeclaredTypeFactory) {
+			((DeclaredTypeFactory) result.getDeclaredTypeFactory()).setLazyMembers(true);
+		}
 		return result;
 	}
 
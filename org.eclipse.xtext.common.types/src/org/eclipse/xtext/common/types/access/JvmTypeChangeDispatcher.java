@@ -10,11 +10,13 @@ package org.eclipse.xtext.common.types.access;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.util.NonRecursiveEContentAdapter;
 
@@ -56,11 +58,16 @@ public class JvmTypeChangeDispatcher extends AdapterImpl {
 			return NotificationDispatcher.class.equals(type);
 		}
 		
+		private JvmTypeChangeDispatcher getDispatcher() {
+			return JvmTypeChangeDispatcher.this;
+		}
+		
 		@Override
 		public void notifyChanged(Notification notification) {
 			super.notifyChanged(notification);
 			if (notification.isTouch() && !isRemoveThis(notification)) 
 				return;
+			recordChange(notification.getNotifier());
 			List<Runnable> localListeners = null;
 			synchronized (listenerLock) {
 				localListeners = listeners;
@@ -82,6 +89,29 @@ public class JvmTypeChangeDispatcher extends AdapterImpl {
 			}
 		}
 		
+		/**
+		 * Increments the {@link ModificationStamp modification stamps} of the changed object and its containers. Changes
+		 * of resources or the resource set start a new {@link JvmTypeChangeDispatcher#getEpoch() epoch}.
+		 * 
+		 * @since 2.25
+		 */
+		protected void recordChange(Object changed) {
+			if (changed instanceof EObject) {
+				EObject container = (EObject) changed;
+				while (container != null) {
+					ModificationStamp stamp = (ModificationStamp) EcoreUtil.getExistingAdapter(container,
+							ModificationStamp.class);
+					if (stamp != null) {
+						stamp.increment();
+					}
+					container = container.eContainer();
+				}
+			} else {
+				epoch.incrementAndGet();
+			}
+			modificationCount.incrementAndGet();
+		}
+		
 		@Override
 		protected void addAdapter(Notifier notifier) {
 			if (notifier instanceof TypeResource) {
@@ -107,6 +137,50 @@ public class JvmTypeChangeDispatcher extends AdapterImpl {
 		
 	}
 	
+	/**
+	 * Counts the changes of an object and its contents. The stamp is only maintained while a
+	 * {@link JvmTypeChangeDispatcher} observes the object, see {@link JvmTypeChangeDispatcher#getModificationStamp(EObject)}.
+	 * 
+	 * @noextend This class is not intended to be subclassed by clients.
+	 * @noinstantiate This class is not intended to be instantiated by clients.
+	 * @since 2.25
+	 */
+	public static class ModificationStamp extends AdapterImpl {
+		
+		private final AtomicLong value = new AtomicLong();
+		
+		private final JvmTypeChangeDispatcher dispatcher;
+		
+		protected ModificationStamp(JvmTypeChangeDispatcher dispatcher) {
+			this.dispatcher = dispatcher;
+		}
+		
+		public long get() {
+			return value.get();
+		}
+		
+		/**
+		 * Returns the dispatcher that observes the changes of the object. Its {@link JvmTypeChangeDispatcher#getModificationCount()
+		 * modification count} is incremented together with this stamp.
+		 */
+		public JvmTypeChangeDispatcher getDispatcher() {
+			return dispatcher;
+		}
+		
+		protected void increment() {
+			value.incrementAndGet();
+		}
+		
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return ModificationStamp.class.equals(type);
+		}
+	}
+	
+	private final AtomicLong modificationCount = new AtomicLong();
+	
+	private final AtomicLong epoch = new AtomicLong();
+	
 	private List<Runnable> listeners;
 	
 	private final Object listenerLock = new Object();
@@ -116,15 +190,54 @@ public class JvmTypeChangeDispatcher extends AdapterImpl {
 	}
 	
 	public void requestNotificationOnChange(Notifier notifier, Runnable runnable) {
+		getNotificationDispatcher(notifier);
+		synchronized (listeners) {
+			listeners.add(runnable);
+		}
+	}
+	
+	private NotificationDispatcher getNotificationDispatcher(Notifier notifier) {
 		NotificationDispatcher result = (NotificationDispatcher) EcoreUtil.getAdapter(
 				notifier.eAdapters(), NotificationDispatcher.class);
 		if (result == null) {
 			result = new NotificationDispatcher(notifier);
 			notifier.eAdapters().add(result);
 		}
-		synchronized (listeners) {
-			listeners.add(runnable);
+		return result;
+	}
+	
+	/**
+	 * Returns the modification stamp of the given object and starts to observe its changes if necessary.
+	 * 
+	 * @since 2.25
+	 */
+	public ModificationStamp getModificationStamp(EObject object) {
+		ModificationStamp result = (ModificationStamp) EcoreUtil.getExistingAdapter(object, ModificationStamp.class);
+		if (result == null) {
+			NotificationDispatcher notificationDispatcher = getNotificationDispatcher(object);
+			result = new ModificationStamp(notificationDispatcher.getDispatcher());
+			object.eAdapters().add(result);
 		}
+		return result;
+	}
+	
+	/**
+	 * Counts all changes that were observed by this dispatcher. Nothing changed if the count is unchanged.
+	 * 
+	 * @since 2.25
+	 */
+	public long getModificationCount() {
+		return modificationCount.get();
+	}
+	
+	/**
+	 * Counts the observed changes of resources and resource sets, e.g. removed or unloaded resources, that may affect
+	 * any object.
+	 * 
+	 * @since 2.25
+	 */
+	public long getEpoch() {
+		return epoch.get();
 	}
 	
 	@Override
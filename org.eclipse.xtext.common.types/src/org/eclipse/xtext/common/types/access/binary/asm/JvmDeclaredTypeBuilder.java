@@ -22,6 +22,7 @@ import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.common.types.TypesFactory;
 import org.eclipse.xtext.common.types.TypesPackage;
 import org.eclipse.xtext.common.types.access.binary.BinaryClass;
+import org.eclipse.xtext.common.types.impl.JvmDeclaredTypeImplCustom;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.Attribute;
 import org.objectweb.asm.ClassReader;
@@ -49,6 +50,10 @@ public class JvmDeclaredTypeBuilder extends ClassVisitor implements Opcodes {
 
 	private final ClassFileBytesAccess bytesAccess;
 
+	private boolean lazyMembers;
+
+	private boolean skipMembers;
+
     public JvmDeclaredTypeBuilder(BinaryClass binaryClass, ClassFileBytesAccess bytesAccess, ClassLoader classLoader) {
 		this(binaryClass, bytesAccess, classLoader, null, new Proxies());
 	}
@@ -68,13 +73,62 @@ public class JvmDeclaredTypeBuilder extends ClassVisitor implements Opcodes {
     		return null;
     	}
 		ClassReader reader = new ClassReader(bytes);
+		skipMembers = lazyMembers;
 		reader.accept(this, 
 			  ClassReader.SKIP_DEBUG 
 			| ClassReader.SKIP_FRAMES 
 			| ClassReader.SKIP_CODE
 		);
+		if (skipMembers && result instanceof JvmDeclaredTypeImplCustom) {
+			((JvmDeclaredTypeImplCustom) result).setPendingMembers(() -> buildMembers(reader));
+		}
 		return result;
 	}
+
+	/**
+	 * Defers the creation of the fields, operations, constructors and nested types until the members of the built type
+	 * are accessed for the first time. The members are created by the same means as without this option, so their
+	 * URI fragments don't change.
+	 * 
+	 * @since 2.25
+	 */
+	public void setLazyMembers(boolean lazyMembers) {
+		this.lazyMembers = lazyMembers;
+	}
+
+	private void buildMembers(ClassReader reader) {
+		skipMembers = false;
+		reader.accept(new MembersVisitor(), 
+			  ClassReader.SKIP_DEBUG 
+			| ClassReader.SKIP_FRAMES 
+			| ClassReader.SKIP_CODE
+		);
+	}
+
+	/**
+	 * Creates the members of an already built type.
+	 */
+	private class MembersVisitor extends ClassVisitor {
+
+		MembersVisitor() {
+			super(Opcodes.ASM9);
+		}
+
+		@Override
+		public void visitInnerClass(String name, String outerName, String innerName, int access) {
+			JvmDeclaredTypeBuilder.this.visitInnerClass(name, outerName, innerName, access);
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+			return JvmDeclaredTypeBuilder.this.visitField(access, name, desc, signature, value);
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+			return JvmDeclaredTypeBuilder.this.visitMethod(access, name, desc, signature, exceptions);
+		}
+	}
     
     // ------------------------------------------------------------------------
     // Implementation of the ClassVisitor interface
@@ -218,6 +272,9 @@ public class JvmDeclaredTypeBuilder extends ClassVisitor implements Opcodes {
         final String innerName,
         final int access)
     {
+    	if (skipMembers) {
+    		return;
+    	}
     	if (outerName != null && innerName != null && outerName.replace('/', '.').equals(result.getIdentifier())) {
     		BinaryClass binaryClass = new BinaryClass(name, classLoader);
     		boolean isStatic = (access & ACC_STATIC) != 0;
@@ -229,6 +286,7 @@ public class JvmDeclaredTypeBuilder extends ClassVisitor implements Opcodes {
     				classLoader,
     				typeParameters,
     				proxies);
+    		builder.setLazyMembers(lazyMembers);
     		JvmDeclaredType nestedType = builder.buildType();
     		if (nestedType != null) {
 	    		if (isStatic) {
@@ -289,7 +347,7 @@ public class JvmDeclaredTypeBuilder extends ClassVisitor implements Opcodes {
         final String signature,
         final Object value)
     {
-    	if ((access & ACC_SYNTHETIC) == 0) {
+    	if ((access & ACC_SYNTHETIC) == 0 && !skipMembers) {
 	        JvmFieldBuilder fieldBuilder = new JvmFieldBuilder(
 	        		result,
 	        		(access & ACC_STATIC) == 0 ? typeParameters : null,
@@ -312,7 +370,7 @@ public class JvmDeclaredTypeBuilder extends ClassVisitor implements Opcodes {
         final String signature,
         final String[] exceptions)
     {
-    	if ((access & (ACC_SYNTHETIC | ACC_BRIDGE)) == 0 && !isClinit(name)) {
+    	if ((access & (ACC_SYNTHETIC | ACC_BRIDGE)) == 0 && !isClinit(name) && !skipMembers) {
     		JvmExecutableBuilder builder = new JvmExecutableBuilder(
     				result,
     				offset,
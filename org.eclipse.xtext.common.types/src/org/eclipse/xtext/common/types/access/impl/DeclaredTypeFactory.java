@@ -55,6 +55,8 @@ public class DeclaredTypeFactory implements ITypeFactory<BinaryClass, JvmDeclare
 	
 	private final boolean useASM;
 
+	private boolean lazyMembers;
+
 	@Inject
 	public DeclaredTypeFactory(ClassFileBytesAccess bytesAccess, ClassLoader loader) {
 		this(bytesAccess, loader, ASM_AVAILABLE);
@@ -114,7 +116,25 @@ public class DeclaredTypeFactory implements ITypeFactory<BinaryClass, JvmDeclare
 
 	protected JvmDeclaredType doCreateType(BinaryClass binaryClass) {
 		JvmDeclaredTypeBuilder builder = new JvmDeclaredTypeBuilder(binaryClass, bytesAccess, classLoader);
+		builder.setLazyMembers(lazyMembers);
 		return builder.buildType();
 	}
 
+	/**
+	 * Whether the members of the created types are only created when they are accessed for the first time. Only
+	 * supported by the ASM based implementation.
+	 * 
+	 * @since 2.25
+	 */
+	public void setLazyMembers(boolean lazyMembers) {
+		this.lazyMembers = lazyMembers;
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public boolean isLazyMembers() {
+		return lazyMembers;
+	}
+
 }
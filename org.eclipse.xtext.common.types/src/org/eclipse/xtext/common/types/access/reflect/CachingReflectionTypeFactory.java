@@ -9,13 +9,17 @@
 package org.eclipse.xtext.common.types.access.reflect;
 
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.log4j.Logger;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmType;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ExecutionError;
 
 /**
  * It caches the {@link JvmDeclaredType} per {@link Class}.
@@ -33,6 +37,10 @@ import com.google.common.collect.Maps;
  * {@link JvmType types} since only one resource set is involved which maintains an index of resolved
  * types.  
  * 
+ * Factories that {@link #CachingReflectionTypeFactory(ReflectionTypeFactory, boolean) use the global cache} share
+ * their types with each other, e.g. the factories of different injectors that load types from the same class loader.
+ * The global cache references the classes weakly, so it does not prevent class loaders from being garbage collected.
+ * 
  * @author Sebastian Zarnekow - Initial contribution and API
  */
 public class CachingReflectionTypeFactory extends ReflectionTypeFactory {
@@ -41,11 +49,44 @@ public class CachingReflectionTypeFactory extends ReflectionTypeFactory {
 
 	private final ReflectionTypeFactory delegate;
 
-	private final Map<Class<?>, JvmDeclaredType> typeCache = Maps.newHashMap();
+	private static final Cache<Class<?>, JvmDeclaredType> globalTypeCache = CacheBuilder.newBuilder().weakKeys().build();
+
+	private final Map<Class<?>, JvmDeclaredType> typeCache = Maps.newConcurrentMap();
+
+	private final boolean useGlobalCache;
 
 	public CachingReflectionTypeFactory(ReflectionTypeFactory delegate) {
+		this(delegate, false);
+	}
+
+	/**
+	 * @param useGlobalCache
+	 *            whether the types are shared with the other factories that use the global cache. This is only
+	 *            honored if the delegate is a plain {@link ReflectionTypeFactory} with a plain {@link ReflectURIHelper},
+	 *            since the global cache does not know how a type was created.
+	 * @since 2.25
+	 */
+	public CachingReflectionTypeFactory(ReflectionTypeFactory delegate, boolean useGlobalCache) {
 		super(delegate.getUriHelper());
 		this.delegate = delegate;
+		this.useGlobalCache = useGlobalCache && delegate.getClass() == ReflectionTypeFactory.class
+				&& delegate.getUriHelper().getClass() == ReflectURIHelper.class;
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public boolean isUseGlobalCache() {
+		return useGlobalCache;
+	}
+
+	/**
+	 * Discards the types of the global cache.
+	 * 
+	 * @since 2.25
+	 */
+	public static void clearGlobalCache() {
+		globalTypeCache.invalidateAll();
 	}
 
 	@Override
@@ -57,7 +98,11 @@ public class CachingReflectionTypeFactory extends ReflectionTypeFactory {
 			// client of #createClass will usually put the result
 			// into a resource and perform proxy resolution afterwards
 			// in the context of a single resource set.
-			return EcoreUtil2.cloneWithProxies(cachedResult);
+			// The cached instance may be shared by concurrent clients, and
+			// copying it initializes its lazily created lists.
+			synchronized (cachedResult) {
+				return EcoreUtil2.cloneWithProxies(cachedResult);
+			}
 		} catch (Exception e) {
 			if (log.isDebugEnabled()) {
 				log.debug(e.getMessage(), e);
@@ -66,10 +111,18 @@ public class CachingReflectionTypeFactory extends ReflectionTypeFactory {
 		}
 	}
 
-	private JvmDeclaredType get(Class<?> key) {
+	private JvmDeclaredType get(Class<?> key) throws ExecutionException {
 		JvmDeclaredType cachedResult = typeCache.get(key);
 		if (cachedResult == null) {
-			cachedResult = load(key);
+			if (useGlobalCache) {
+				try {
+					cachedResult = globalTypeCache.get(key, () -> load(key));
+				} catch (ExecutionError e) {
+					throw (Error) e.getCause();
+				}
+			} else {
+				cachedResult = load(key);
+			}
 			typeCache.put(key, cachedResult);
 		}
 		return cachedResult;
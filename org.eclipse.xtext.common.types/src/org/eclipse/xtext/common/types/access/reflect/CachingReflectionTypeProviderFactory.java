@@ -13,6 +13,7 @@ import org.eclipse.xtext.common.types.access.impl.TypeResourceServices;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
@@ -20,13 +21,35 @@ import com.google.inject.Singleton;
 @Singleton
 public class CachingReflectionTypeProviderFactory extends ReflectionTypeProviderFactory {
 
+	/**
+	 * The name of the boolean constant that decides whether the types are shared with the type providers of other
+	 * injectors. Disabled by default, since the shared types are kept as long as their classes are loaded.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String GLOBAL_TYPE_CACHE = "CachingReflectionTypeProviderFactory.globalTypeCache";
+
 	private CachingReflectionTypeFactory reusedFactory;
 
 	@Inject
 	public CachingReflectionTypeProviderFactory(ClassLoader classLoader, TypeResourceServices services) {
 		super(classLoader, services);
+		reusedFactory = createReusedFactory(false);
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	@Inject(optional = true)
+	public void setUseGlobalTypeCache(@Named(GLOBAL_TYPE_CACHE) boolean useGlobalTypeCache) {
+		if (useGlobalTypeCache != reusedFactory.isUseGlobalCache()) {
+			reusedFactory = createReusedFactory(useGlobalTypeCache);
+		}
+	}
+
+	private CachingReflectionTypeFactory createReusedFactory(boolean useGlobalTypeCache) {
 		ReflectionTypeFactory factoryDelegate = new ReflectionTypeFactory(new ReflectURIHelper());
-		reusedFactory = new CachingReflectionTypeFactory(factoryDelegate);
+		return new CachingReflectionTypeFactory(factoryDelegate, useGlobalTypeCache);
 	}
 	
 	@Override
@@ -112,6 +112,8 @@ public class ClasspathScanner {
 
 	private final Cache<ClassLoaderPackageConfig, Iterable<ITypeDescriptor>> classLoaderDescriptors = createClassLoaderCache();
 
+	private final Cache<ClassLoaderPackageConfig, TypeDescriptorIndex> classLoaderIndexes = createClassLoaderIndexCache();
+
 	protected Cache<ClassLoaderPackageConfig, Iterable<ITypeDescriptor>> createClassLoaderCache() {
 		return CacheBuilder.newBuilder()
 			.initialCapacity(8)
@@ -121,6 +123,18 @@ public class ClasspathScanner {
 			.build();
 	}
 
+	/**
+	 * @since 2.25
+	 */
+	protected Cache<ClassLoaderPackageConfig, TypeDescriptorIndex> createClassLoaderIndexCache() {
+		return CacheBuilder.newBuilder()
+			.initialCapacity(8)
+			.concurrencyLevel(2)
+			.maximumSize(32)
+			.expireAfterAccess(5, TimeUnit.MINUTES)
+			.build();
+	}
+
 	public Iterable<ITypeDescriptor> getDescriptors(ClassLoader classLoader, Collection<String> packagePrefixes) {
 		return getDescriptors(classLoader, false, packagePrefixes);
 	}
@@ -142,6 +156,43 @@ public class ClasspathScanner {
 		return getDescriptors(ClassLoader.getSystemClassLoader(), true, packagePrefixes);
 	}
 
+	/**
+	 * Returns a search index over the {@link #getDescriptors(ClassLoader, Collection) descriptors} of the given class
+	 * loader.
+	 * 
+	 * @since 2.25
+	 */
+	public TypeDescriptorIndex getDescriptorIndex(ClassLoader classLoader, Collection<String> packagePrefixes) {
+		return getDescriptorIndex(classLoader, false, packagePrefixes);
+	}
+
+	/**
+	 * Returns a search index over the {@link #getBootClasspathDescriptors(Collection) boot class path descriptors}.
+	 * 
+	 * @since 2.25
+	 */
+	public TypeDescriptorIndex getBootClasspathDescriptorIndex(Collection<String> packagePrefixes) {
+		return getDescriptorIndex(ClassLoader.getSystemClassLoader(), true, packagePrefixes);
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	protected TypeDescriptorIndex getDescriptorIndex(ClassLoader classLoader, boolean bootstrap,
+			Collection<String> packagePrefixes) {
+		ClassLoaderPackageConfig clPckCfg = new ClassLoaderPackageConfig(classLoader, bootstrap, packagePrefixes);
+		try {
+			return classLoaderIndexes.get(clPckCfg,
+					() -> new TypeDescriptorIndex(getDescriptors(classLoader, bootstrap, packagePrefixes)));
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else {
+				throw new RuntimeException(e.getCause());
+			}
+		}
+	}
+
 	private String[] systemClasspath = null;
 
 	public String[] getSystemClasspath() {
@@ -161,9 +212,16 @@ public class ClasspathScanner {
 		}
 	}
 
+	/**
+	 * @since 2.25
+	 */
+	protected ClassGraph newClassGraph() {
+		return classGraphProvider.get();
+	}
+
 	protected Iterable<ITypeDescriptor> loadDescriptors(ClassLoader classLoader, boolean bootstrap,
 			Collection<String> packagePrefixes) {
-		ClassGraph classGraph = classGraphProvider.get()
+		ClassGraph classGraph = newClassGraph()
 			.ignoreClassVisibility()
 			.enableClassInfo()
 			.whitelistPackages(packagePrefixes.toArray(new String[packagePrefixes.size()]))
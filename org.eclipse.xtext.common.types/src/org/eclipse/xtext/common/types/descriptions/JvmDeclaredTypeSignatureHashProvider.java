@@ -14,6 +14,10 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.xtext.common.types.JvmAnnotationReference;
@@ -36,6 +40,8 @@ import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.util.IResourceScopeCache;
 import org.eclipse.xtext.util.Tuples;
 
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -61,6 +67,23 @@ public class JvmDeclaredTypeSignatureHashProvider {
 
 	private static final String HASH_CACHE_KEY = "SignatureHash";
 
+	private static final String MEMBER_HASHES_CACHE_KEY = "MemberSignatureHashes";
+
+	/**
+	 * The key of the hash of the type's own signature, i.e. its modifiers, type parameters and super types, in the
+	 * result of {@link #getMemberHashes(JvmDeclaredType)}.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String TYPE_SIGNATURE_KEY = "";
+
+	/**
+	 * The prefix of the keys of nested types in the result of {@link #getMemberHashes(JvmDeclaredType)}.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String NESTED_TYPE_PREFIX = "$";
+
 	public String getHash(final JvmDeclaredType type) {
 		if(type.eResource() instanceof TypeResource) {
 			IMirror mirror = ((TypeResource)type.eResource()).getMirror();
@@ -74,6 +97,50 @@ public class JvmDeclaredTypeSignatureHashProvider {
 			}
 		});
 	}
+
+	/**
+	 * Calculates the hashes of the signatures of the members of the given type, grouped by their simple name. Overloaded
+	 * operations share one hash. The signature of the type itself is stored with the key {@link #TYPE_SIGNATURE_KEY},
+	 * the nested types with their simple name prefixed by {@link #NESTED_TYPE_PREFIX}. Clients can compare the member
+	 * hashes of two versions of a type to find out which members changed.
+	 * 
+	 * Returns an empty map for private types and for types that cannot change, e.g. types from jars.
+	 * 
+	 * @since 2.25
+	 */
+	public Map<String, String> getMemberHashes(final JvmDeclaredType type) {
+		if (type.getVisibility() == JvmVisibility.PRIVATE) {
+			return Collections.emptyMap();
+		}
+		if(type.eResource() instanceof TypeResource) {
+			IMirror mirror = ((TypeResource)type.eResource()).getMirror();
+			if(mirror instanceof IMirrorExtension && ((IMirrorExtension) mirror).isSealed())
+				return Collections.emptyMap();
+		}
+		return cache.get(Tuples.create(MEMBER_HASHES_CACHE_KEY, type), type.eResource(), new Provider<Map<String, String>>() {
+			@Override
+			public Map<String, String> get() {
+				ListMultimap<String, JvmMember> membersByName = LinkedListMultimap.create();
+				for (JvmMember member : type.getMembers()) {
+					if (member.getSimpleName() != null) {
+						String key = member instanceof JvmDeclaredType ? NESTED_TYPE_PREFIX + member.getSimpleName() : member.getSimpleName();
+						membersByName.put(key, member);
+					}
+				}
+				Map<String, String> result = new LinkedHashMap<>();
+				result.put(TYPE_SIGNATURE_KEY, signatureBuilderProvider.get().appendTypeSignature(type).hash());
+				for (String name : membersByName.keySet()) {
+					List<JvmMember> members = membersByName.get(name);
+					SignatureHashBuilder builder = signatureBuilderProvider.get();
+					for (JvmMember member : members) {
+						builder.appendMemberSignature(member);
+					}
+					result.put(name, builder.hash());
+				}
+				return Collections.unmodifiableMap(result);
+			}
+		});
+	}
 	
 	public static class SignatureHashBuilder {
 
@@ -116,45 +183,61 @@ public class JvmDeclaredTypeSignatureHashProvider {
 
 		public SignatureHashBuilder appendSignature(JvmDeclaredType type) {
 			if (type.getVisibility() != JvmVisibility.PRIVATE) {
-				appendAnnotationReferences(type);
-				appendVisibility(type.getVisibility()).append(" ");
-				if (type.isAbstract())
-					append("abstract ");
-				if (type.isStatic())
-					append("static ");
-				if (type.isFinal())
-					append("final ");
-				append("class ").append(type.getIdentifier());
-				if (type instanceof JvmTypeParameterDeclarator)
-					appendTypeParameters((JvmTypeParameterDeclarator) type);
-				append("\n").appendSuperTypeSignatures(type).appendMemberSignatures(type, false);
+				appendTypeSignature(type).appendMemberSignatures(type, false);
 			}
 			return this;
 		}
 
+		/**
+		 * Appends the signature of the given type without its members.
+		 * 
+		 * @since 2.25
+		 */
+		protected SignatureHashBuilder appendTypeSignature(JvmDeclaredType type) {
+			appendAnnotationReferences(type);
+			appendVisibility(type.getVisibility()).append(" ");
+			if (type.isAbstract())
+				append("abstract ");
+			if (type.isStatic())
+				append("static ");
+			if (type.isFinal())
+				append("final ");
+			append("class ").append(type.getIdentifier());
+			if (type instanceof JvmTypeParameterDeclarator)
+				appendTypeParameters((JvmTypeParameterDeclarator) type);
+			return append("\n").appendSuperTypeSignatures(type);
+		}
+
 		protected SignatureHashBuilder appendMemberSignatures(JvmDeclaredType type, boolean innerTypesOnly) {
 			Iterable<? extends JvmMember> members = type.getMembers();
 			if(innerTypesOnly)
 				members = filter(members, JvmDeclaredType.class);
 			for (JvmMember member : members) {
 				if (member.getSimpleName() != null) {
-					appendAnnotationReferences(member);
-					if (member instanceof JvmOperation) 
-						appendSignature((JvmOperation) member);
-					else if (member instanceof JvmConstructor) 
-						appendSignature((JvmConstructor) member);
-					else if (member instanceof JvmField) 
-						appendSignature((JvmField) member);
-					else if (member instanceof JvmDeclaredType) {
-						append(member.getQualifiedName());
-						appendMemberSignatures((JvmDeclaredType) member, true);
-					}
-					append("\n");
+					appendMemberSignature(member);
 				}
 			}
 			return this;
 		}
 
+		/**
+		 * @since 2.25
+		 */
+		protected SignatureHashBuilder appendMemberSignature(JvmMember member) {
+			appendAnnotationReferences(member);
+			if (member instanceof JvmOperation) 
+				appendSignature((JvmOperation) member);
+			else if (member instanceof JvmConstructor) 
+				appendSignature((JvmConstructor) member);
+			else if (member instanceof JvmField) 
+				appendSignature((JvmField) member);
+			else if (member instanceof JvmDeclaredType) {
+				append(member.getQualifiedName());
+				appendMemberSignatures((JvmDeclaredType) member, true);
+			}
+			return append("\n");
+		}
+
 		protected void appendAnnotationReferences(JvmAnnotationTarget target) {
 			for(JvmAnnotationReference annotationReference: target.getAnnotations()) {
 				if(annotationRelevance.isRelevant(annotationReference)) 
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.descriptions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.xtext.common.types.TypesPackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+import com.google.inject.Singleton;
+
+/**
+ * Narrows down the effect of a changed JVM type to the members whose signature changed. It compares the
+ * {@link JvmTypesResourceDescriptionStrategy#MEMBER_SIGNATURE_HASHES_KEY member signature hashes} of the old and the
+ * new version of the exported types, and matches the changed members against the reference descriptions of a
+ * candidate resource.
+ *
+ * A change can only be narrowed down if the type's own signature is unchanged, no type or member was added, and the
+ * types use identifier based URI fragments like the types of Java resources. Otherwise, the candidate has to be
+ * checked by other means.
+ *
+ * @since 2.25
+ */
+@Singleton
+public class JvmMemberChangeAnalyzer {
+
+	private static final int HASH_LENGTH = 8;
+
+	/**
+	 * Encodes the given member hashes as a compact string. The hashes are shortened.
+	 */
+	public static String encode(Map<String, String> memberHashes) {
+		StringBuilder result = new StringBuilder();
+		for (Map.Entry<String, String> entry : memberHashes.entrySet()) {
+			if (result.length() > 0) {
+				result.append(';');
+			}
+			String hash = entry.getValue();
+			result.append(entry.getKey()).append('=').append(hash, 0, Math.min(HASH_LENGTH, hash.length()));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Decodes the member hashes that were encoded by {@link #encode(Map)}. Returns <code>null</code> for
+	 * <code>null</code>.
+	 */
+	public static Map<String, String> decode(String encoded) {
+		if (encoded == null) {
+			return null;
+		}
+		Map<String, String> result = new LinkedHashMap<>();
+		for (String entry : encoded.split(";")) {
+			int separator = entry.indexOf('=');
+			if (separator >= 0) {
+				result.put(entry.substring(0, separator), entry.substring(separator + 1));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the names of the changed members per changed type URI, or <code>null</code> if the change cannot be
+	 * narrowed down to members.
+	 */
+	public Map<URI, Set<String>> getChangedMembers(IResourceDescription.Delta delta) {
+		IResourceDescription oldDescription = delta.getOld();
+		IResourceDescription newDescription = delta.getNew();
+		if (oldDescription == null || newDescription == null) {
+			return null;
+		}
+		Map<QualifiedName, IEObjectDescription> oldObjects = new HashMap<>();
+		for (IEObjectDescription oldObject : oldDescription.getExportedObjects()) {
+			if (oldObjects.put(oldObject.getName(), oldObject) != null) {
+				return null;
+			}
+		}
+		Map<URI, Set<String>> result = new HashMap<>();
+		for (IEObjectDescription newObject : newDescription.getExportedObjects()) {
+			IEObjectDescription oldObject = oldObjects.remove(newObject.getName());
+			if (oldObject == null || oldObject.getEClass() != newObject.getEClass()
+					|| !Objects.equals(oldObject.getEObjectURI(), newObject.getEObjectURI())) {
+				return null;
+			}
+			String oldHash = oldObject.getUserData(JvmTypesResourceDescriptionStrategy.SIGNATURE_HASH_KEY);
+			String newHash = newObject.getUserData(JvmTypesResourceDescriptionStrategy.SIGNATURE_HASH_KEY);
+			if (oldHash == null || newHash == null) {
+				return null;
+			}
+			if (!oldHash.equals(newHash)) {
+				Set<String> changedMembers = getChangedMembers(oldObject, newObject);
+				if (changedMembers == null || !hasIdentifierFragment(newObject)) {
+					return null;
+				}
+				if (!changedMembers.isEmpty()) {
+					result.put(newObject.getEObjectURI(), changedMembers);
+				}
+			}
+		}
+		if (!oldObjects.isEmpty()) {
+			return null;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the simple names of the members that were changed or removed, or <code>null</code> if the signature of
+	 * the type itself changed or members were added. Nested types are not part of the result since they are described
+	 * on their own.
+	 */
+	public Set<String> getChangedMembers(IEObjectDescription oldType, IEObjectDescription newType) {
+		Map<String, String> oldHashes = decode(
+				oldType.getUserData(JvmTypesResourceDescriptionStrategy.MEMBER_SIGNATURE_HASHES_KEY));
+		Map<String, String> newHashes = decode(
+				newType.getUserData(JvmTypesResourceDescriptionStrategy.MEMBER_SIGNATURE_HASHES_KEY));
+		if (oldHashes == null || newHashes == null || !oldHashes.keySet().containsAll(newHashes.keySet())) {
+			return null;
+		}
+		String typeSignatureKey = JvmDeclaredTypeSignatureHashProvider.TYPE_SIGNATURE_KEY;
+		if (!Objects.equals(oldHashes.get(typeSignatureKey), newHashes.get(typeSignatureKey))) {
+			return null;
+		}
+		Set<String> result = new HashSet<>();
+		for (Map.Entry<String, String> entry : oldHashes.entrySet()) {
+			String name = entry.getKey();
+			if (!name.startsWith(JvmDeclaredTypeSignatureHashProvider.NESTED_TYPE_PREFIX)
+					&& !entry.getValue().equals(newHashes.get(name))) {
+				result.add(name);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Whether the candidate may be affected by the given changed members. That's the case if it references a changed
+	 * type and any member with the name of a changed member, or if it declares a subtype of a changed type.
+	 */
+	public boolean isAffected(Map<URI, Set<String>> changedMembers, IResourceDescription candidate) {
+		if (changedMembers.isEmpty()) {
+			return false;
+		}
+		Set<String> usedMemberNames = new HashSet<>();
+		Set<URI> referencedTypes = new HashSet<>();
+		for (IReferenceDescription reference : candidate.getReferenceDescriptions()) {
+			URI target = reference.getTargetEObjectUri();
+			if (target == null || target.fragment() == null) {
+				continue;
+			}
+			String fragment = target.fragment();
+			usedMemberNames.add(getMemberName(fragment));
+			for (URI changedType : changedMembers.keySet()) {
+				if (isReferenceTo(target, changedType)) {
+					if (isSubtypeReference(reference, changedType)) {
+						return true;
+					}
+					referencedTypes.add(changedType);
+				}
+			}
+		}
+		for (URI referencedType : referencedTypes) {
+			if (!Collections.disjoint(changedMembers.get(referencedType), usedMemberNames)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	protected boolean hasIdentifierFragment(IEObjectDescription type) {
+		String fragment = type.getEObjectURI().fragment();
+		return fragment != null && fragment.replace('$', '.').equals(type.getName().toString());
+	}
+
+	/**
+	 * Whether the target is the given type or one of its members.
+	 */
+	protected boolean isReferenceTo(URI target, URI type) {
+		if (!target.trimFragment().equals(type.trimFragment())) {
+			return false;
+		}
+		String fragment = target.fragment();
+		String typeFragment = type.fragment();
+		return fragment.startsWith(typeFragment) && (fragment.length() == typeFragment.length()
+				|| fragment.charAt(typeFragment.length()) == '.');
+	}
+
+	/**
+	 * Extracts the simple name of the member from an identifier based fragment, e.g. <code>bar</code> from
+	 * <code>foo.Foo.bar(java.lang.String)</code>.
+	 */
+	protected String getMemberName(String fragment) {
+		int parenthesis = fragment.indexOf('(');
+		String name = parenthesis >= 0 ? fragment.substring(0, parenthesis) : fragment;
+		return name.substring(name.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * Subtypes depend on all members of their super types, e.g. for override checks. Inferred types reference their
+	 * super types with the type references in their <code>superTypes</code>.
+	 */
+	protected boolean isSubtypeReference(IReferenceDescription reference, URI changedType) {
+		return reference.getEReference() == TypesPackage.Literals.JVM_PARAMETERIZED_TYPE_REFERENCE__TYPE
+				&& Objects.equals(reference.getTargetEObjectUri(), changedType)
+				&& isContainedIn(reference.getSourceEObjectUri(), TypesPackage.Literals.JVM_DECLARED_TYPE__SUPER_TYPES);
+	}
+
+	/**
+	 * Whether the given object is held by the given containment reference according to the last segment of its
+	 * default URI fragment path, e.g. <code>@superTypes.0</code>.
+	 */
+	protected boolean isContainedIn(URI object, EReference containment) {
+		if (object == null || object.fragment() == null) {
+			return false;
+		}
+		String fragment = object.fragment();
+		String segment = fragment.substring(fragment.lastIndexOf('/') + 1);
+		String prefix = "@" + containment.getName();
+		return segment.equals(prefix) || segment.startsWith(prefix + ".");
+	}
+}
@@ -26,6 +26,7 @@ import com.google.common.collect.ForwardingMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * @author Jan Koehnlein - Initial contribution and API
@@ -39,10 +40,28 @@ public class JvmTypesResourceDescriptionStrategy extends DefaultResourceDescript
 	public static final String IS_INTERFACE = "interface";
 	public static final String TYPE_PARAMETERS = "typeParameters";
 	public static final String SIGNATURE_HASH_KEY = "sig";
+	/**
+	 * The hashes of the member signatures of a type, encoded by {@link JvmMemberChangeAnalyzer#encode(Map)}.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String MEMBER_SIGNATURE_HASHES_KEY = "memberSigs";
+	/**
+	 * The name of the flag that enables the {@link #MEMBER_SIGNATURE_HASHES_KEY member signature hashes} in the user
+	 * data of exported types. Disabled by default since they are only read by resource description managers that
+	 * narrow down changes to members.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String MEMBER_SIGNATURE_HASHES = "JvmTypesResourceDescriptionStrategy_MemberSignatureHashes";
 	
 	@Inject
 	private JvmDeclaredTypeSignatureHashProvider hashProvider;
 	
+	@Inject(optional = true)
+	@Named(MEMBER_SIGNATURE_HASHES)
+	private boolean memberSignatureHashes = false;
+	
 	@Override
 	public boolean createEObjectDescriptions(EObject eObject, IAcceptor<IEObjectDescription> acceptor) {
 		if (getQualifiedNameProvider() == null)
@@ -77,6 +96,12 @@ public class JvmTypesResourceDescriptionStrategy extends DefaultResourceDescript
 	protected void createUserData(EObject eObject, ImmutableMap.Builder<String, String> userData) {
 		if (eObject instanceof JvmDeclaredType) {
 			userData.put(SIGNATURE_HASH_KEY, hashProvider.getHash((JvmDeclaredType) eObject));
+			if (memberSignatureHashes) {
+				Map<String, String> memberHashes = hashProvider.getMemberHashes((JvmDeclaredType) eObject);
+				if (!memberHashes.isEmpty()) {
+					userData.put(MEMBER_SIGNATURE_HASHES_KEY, JvmMemberChangeAnalyzer.encode(memberHashes));
+				}
+			}
 			if (eObject.eContainer() != null) {
 				userData.put(IS_NESTED_TYPE, Boolean.TRUE.toString());
 			}
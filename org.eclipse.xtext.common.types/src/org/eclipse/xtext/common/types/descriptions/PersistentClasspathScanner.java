@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.common.types.descriptions;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Singleton;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+
+/**
+ * A {@link ClasspathScanner} that caches the descriptors per class path entry and persists them on disk. A jar is
+ * identified by its path, size and modification time, a class folder by a hash of the paths, sizes and modification
+ * times of its content. The classes of the JDK are scanned once per JDK installation and version.
+ *
+ * Scanning a new class loader configuration only scans the entries that changed since they were last seen, and merges
+ * the per entry results. Bind this class instead of the {@link ClasspathScanner} to use it, e.g. in a language server.
+ *
+ * @since 2.25
+ */
+@Singleton
+public class PersistentClasspathScanner extends ClasspathScanner {
+
+	private static final Logger LOG = Logger.getLogger(PersistentClasspathScanner.class);
+
+	/**
+	 * The system property that configures the directory for the persisted descriptors.
+	 */
+	public static final String CACHE_DIRECTORY_PROPERTY = "org.eclipse.xtext.classpathScanner.cacheDirectory";
+
+	private static final String FORMAT_VERSION = "1";
+
+	private final Cache<String, List<ITypeDescriptor>> entryDescriptors = CacheBuilder.newBuilder().softValues().build();
+
+	@Override
+	protected Iterable<ITypeDescriptor> loadDescriptors(ClassLoader classLoader, boolean bootstrap,
+			Collection<String> packagePrefixes) {
+		Map<String, ITypeDescriptor> result = new LinkedHashMap<>();
+		if (bootstrap) {
+			addDescriptors(getJdkDescriptors(), packagePrefixes, result);
+		}
+		List<File> classpathFiles = newClassGraph().addClassLoader(classLoader).getClasspathFiles();
+		for (File file : classpathFiles) {
+			addDescriptors(getEntryDescriptors(file), packagePrefixes, result);
+		}
+		return new ArrayList<>(result.values());
+	}
+
+	protected void addDescriptors(List<ITypeDescriptor> descriptors, Collection<String> packagePrefixes,
+			Map<String, ITypeDescriptor> result) {
+		for (ITypeDescriptor descriptor : descriptors) {
+			if (isInPackages(descriptor.getName(), packagePrefixes)) {
+				result.putIfAbsent(descriptor.getName(), descriptor);
+			}
+		}
+	}
+
+	protected boolean isInPackages(String className, Collection<String> packagePrefixes) {
+		if (packagePrefixes.isEmpty()) {
+			return true;
+		}
+		for (String prefix : packagePrefixes) {
+			if (className.startsWith(prefix) && (className.length() == prefix.length()
+					|| className.charAt(prefix.length()) == '.')) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The descriptors of the JDK, i.e. the system modules or the boot class path jars.
+	 */
+	protected List<ITypeDescriptor> getJdkDescriptors() {
+		String key = "jdk|" + System.getProperty("java.home") + "|" + System.getProperty("java.version") + "|"
+				+ System.getProperty("java.vm.version");
+		return getDescriptors(key, () -> {
+			ClassLoader platformClassLoader = ClassLoader.getSystemClassLoader().getParent();
+			ClassGraph classGraph = newClassGraph()
+				.ignoreClassVisibility()
+				.enableClassInfo()
+				.enableSystemJarsAndModules();
+			if (platformClassLoader != null) {
+				classGraph.overrideClassLoaders(platformClassLoader);
+			}
+			return scan(classGraph);
+		});
+	}
+
+	protected List<ITypeDescriptor> getEntryDescriptors(File file) {
+		String key;
+		try {
+			key = computeKey(file);
+		} catch (IOException e) {
+			LOG.debug("Cannot compute the cache key for " + file, e);
+			return scan(newClassGraph().ignoreClassVisibility().enableClassInfo().overrideClasspath(file));
+		}
+		return getDescriptors(key,
+				() -> scan(newClassGraph().ignoreClassVisibility().enableClassInfo().overrideClasspath(file)));
+	}
+
+	/**
+	 * Returns the descriptors from memory, from disk or by scanning. The key must change whenever the content that is
+	 * described by the key changes.
+	 */
+	protected List<ITypeDescriptor> getDescriptors(String key, Supplier<List<ITypeDescriptor>> scanner) {
+		try {
+			return entryDescriptors.get(key, () -> {
+				Path cacheFile = getCacheFile(key);
+				List<ITypeDescriptor> result = read(cacheFile, key);
+				if (result == null) {
+					result = scanner.get();
+					write(cacheFile, key, result);
+				}
+				return result;
+			});
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else {
+				throw new RuntimeException(e.getCause());
+			}
+		}
+	}
+
+	protected List<ITypeDescriptor> scan(ClassGraph classGraph) {
+		try (ScanResult scanResult = classGraph.scan()) {
+			List<ITypeDescriptor> result = new ArrayList<>();
+			for (ITypeDescriptor descriptor : loadDescriptors(scanResult)) {
+				result.add(descriptor);
+			}
+			return result;
+		}
+	}
+
+	protected String computeKey(File file) throws IOException {
+		File canonicalFile = file.getCanonicalFile();
+		if (canonicalFile.isDirectory()) {
+			Hasher hasher = Hashing.murmur3_128().newHasher();
+			Path root = canonicalFile.toPath();
+			try (Stream<Path> files = Files.walk(root)) {
+				files.sorted().forEach(path -> {
+					try {
+						BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+						hasher.putString(root.relativize(path).toString(), StandardCharsets.UTF_8);
+						hasher.putLong(attributes.size());
+						hasher.putLong(attributes.lastModifiedTime().toMillis());
+					} catch (IOException e) {
+						hasher.putInt(-1);
+					}
+				});
+			}
+			return "dir|" + canonicalFile + "|" + hasher.hash();
+		}
+		return "jar|" + canonicalFile + "|" + canonicalFile.length() + "|" + canonicalFile.lastModified();
+	}
+
+	/**
+	 * The directory for the persisted descriptors. Configured by the system property {@link #CACHE_DIRECTORY_PROPERTY},
+	 * defaults to a folder in the user's cache directory, i.e. <code>$XDG_CACHE_HOME</code> or <code>~/.cache</code>. The
+	 * shared temp directory is not used since other users could plant descriptors there. May return <code>null</code>
+	 * to disable persistence.
+	 */
+	protected Path getCacheDirectory() {
+		String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+		if (directory != null) {
+			return Paths.get(directory);
+		}
+		String cacheHome = System.getenv("XDG_CACHE_HOME");
+		if (cacheHome != null && !cacheHome.isEmpty()) {
+			return Paths.get(cacheHome, "xtext", "classpath-scanner");
+		}
+		String userHome = System.getProperty("user.home");
+		if (userHome == null || userHome.isEmpty()) {
+			return null;
+		}
+		return Paths.get(userHome, ".cache", "xtext", "classpath-scanner");
+	}
+
+	protected Path getCacheFile(String key) {
+		Path directory = getCacheDirectory();
+		if (directory == null) {
+			return null;
+		}
+		// the file name only depends on the location of the entry, so outdated content is overwritten
+		String location = key.substring(0, key.lastIndexOf('|'));
+		return directory.resolve(Hashing.murmur3_128().hashString(location, StandardCharsets.UTF_8) + ".txt");
+	}
+
+	protected List<ITypeDescriptor> read(Path cacheFile, String key) {
+		if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+			return null;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+			if (!FORMAT_VERSION.equals(reader.readLine()) || !key.equals(reader.readLine())) {
+				return null;
+			}
+			List<ITypeDescriptor> result = new ArrayList<>();
+			String line = reader.readLine();
+			while (line != null) {
+				int separator = line.indexOf(' ');
+				result.add(newDescriptor(line.substring(separator + 1), Integer.parseInt(line.substring(0, separator))));
+				line = reader.readLine();
+			}
+			return result;
+		} catch (IOException | RuntimeException e) {
+			LOG.debug("Cannot read " + cacheFile, e);
+			return null;
+		}
+	}
+
+	protected void write(Path cacheFile, String key, List<ITypeDescriptor> descriptors) {
+		if (cacheFile == null) {
+			return;
+		}
+		try {
+			Files.createDirectories(cacheFile.getParent());
+			Path tempFile = Files.createTempFile(cacheFile.getParent(), "descriptors", ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+				writer.write(FORMAT_VERSION);
+				writer.newLine();
+				writer.write(key);
+				writer.newLine();
+				for (ITypeDescriptor descriptor : descriptors) {
+					writer.write(Integer.toString(descriptor.getModifiers()));
+					writer.write(' ');
+					writer.write(descriptor.getName());
+					writer.newLine();
+				}
+			}
+			try {
+				Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			LOG.debug("Cannot write " + cacheFile, e);
+		}
+	}
+}
@@ -0,0 +1,251 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.common.types.descriptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An immutable search index over {@link ITypeDescriptor type descriptors}. It answers simple name prefix queries,
+ * camel case queries (e.g. <code>AL</code> or <code>ArrLi</code> for <code>ArrayList</code>) and package qualified
+ * prefix queries (e.g. <code>java.util.Li</code>) without iterating all descriptors.
+ *
+ * Matching is case insensitive for prefixes. Results are returned in priority order: exact simple name matches, simple
+ * name prefix matches, camel case matches and qualified name prefix matches. Queries without a '.' match qualified names
+ * only if {@link #find(String, boolean, List) qualified matching} is requested, e.g. for <code>import java</code>.
+ *
+ * @since 2.25
+ */
+public class TypeDescriptorIndex {
+
+	private static final int EXACT = 0;
+	private static final int PREFIX = 1;
+	private static final int CAMEL_CASE = 2;
+	private static final int QUALIFIED = 3;
+	private static final int CATEGORIES = 4;
+
+	/**
+	 * Returns the matching descriptors of all given indexes in priority order.
+	 */
+	public static List<ITypeDescriptor> find(String query, List<TypeDescriptorIndex> indexes) {
+		return find(query, false, indexes);
+	}
+
+	/**
+	 * Returns the matching descriptors of all given indexes in priority order. If <code>qualified</code> is
+	 * <code>true</code>, the qualified names are matched against the query even if it does not contain a '.', e.g. in
+	 * an import declaration.
+	 */
+	public static List<ITypeDescriptor> find(String query, boolean qualified, List<TypeDescriptorIndex> indexes) {
+		List<List<ITypeDescriptor>> categories = new ArrayList<>(CATEGORIES);
+		for (int i = 0; i < CATEGORIES; i++) {
+			categories.add(new ArrayList<>());
+		}
+		for (TypeDescriptorIndex index : indexes) {
+			index.collect(query, qualified, categories);
+		}
+		List<ITypeDescriptor> result = new ArrayList<>();
+		for (List<ITypeDescriptor> category : categories) {
+			result.addAll(category);
+		}
+		return result;
+	}
+
+	private final ITypeDescriptor[] bySimpleName;
+
+	private final String[] simpleNames;
+
+	private final String[] lowerCaseSimpleNames;
+
+	private final ITypeDescriptor[] byQualifiedName;
+
+	private final String[] qualifiedNames;
+
+	public TypeDescriptorIndex(Iterable<ITypeDescriptor> descriptors) {
+		List<Entry> entries = new ArrayList<>();
+		for (ITypeDescriptor descriptor : descriptors) {
+			entries.add(new Entry(descriptor));
+		}
+		int size = entries.size();
+		bySimpleName = new ITypeDescriptor[size];
+		simpleNames = new String[size];
+		lowerCaseSimpleNames = new String[size];
+		byQualifiedName = new ITypeDescriptor[size];
+		qualifiedNames = new String[size];
+
+		entries.sort(Comparator.comparing((Entry it) -> it.lowerCaseSimpleName));
+		for (int i = 0; i < size; i++) {
+			Entry entry = entries.get(i);
+			bySimpleName[i] = entry.descriptor;
+			simpleNames[i] = entry.simpleName;
+			lowerCaseSimpleNames[i] = entry.lowerCaseSimpleName;
+		}
+		entries.sort(Comparator.comparing((Entry it) -> it.lowerCaseQualifiedName));
+		for (int i = 0; i < size; i++) {
+			Entry entry = entries.get(i);
+			byQualifiedName[i] = entry.descriptor;
+			qualifiedNames[i] = entry.lowerCaseQualifiedName;
+		}
+	}
+
+	/**
+	 * The number of indexed descriptors.
+	 */
+	public int size() {
+		return bySimpleName.length;
+	}
+
+	/**
+	 * All indexed descriptors, ordered by simple name.
+	 */
+	public List<ITypeDescriptor> getAll() {
+		return Collections.unmodifiableList(Arrays.asList(bySimpleName));
+	}
+
+	/**
+	 * Returns the descriptors that match the given query in priority order. An empty query matches all descriptors.
+	 */
+	public List<ITypeDescriptor> find(String query) {
+		return find(query, Collections.singletonList(this));
+	}
+
+	protected void collect(String query, boolean qualified, List<List<ITypeDescriptor>> categories) {
+		if (query == null || query.isEmpty()) {
+			categories.get(PREFIX).addAll(Arrays.asList(bySimpleName));
+			return;
+		}
+		String lowerCaseQuery = toLowerCase(query);
+		if (query.indexOf('.') >= 0) {
+			collectQualified(lowerCaseQuery, categories);
+			return;
+		}
+		collectSimple(query, lowerCaseQuery, categories);
+		if (qualified) {
+			collectQualified(lowerCaseQuery, categories);
+		}
+	}
+
+	private void collectQualified(String lowerCaseQuery, List<List<ITypeDescriptor>> categories) {
+		int start = lowerBound(qualifiedNames, lowerCaseQuery);
+		for (int i = start; i < qualifiedNames.length && qualifiedNames[i].startsWith(lowerCaseQuery); i++) {
+			// types in the default package were already matched by their simple name
+			if (qualifiedNames[i].indexOf('.') >= 0
+					|| !toLowerCase(byQualifiedName[i].getSimpleName()).startsWith(lowerCaseQuery)) {
+				categories.get(QUALIFIED).add(byQualifiedName[i]);
+			}
+		}
+	}
+
+	private void collectSimple(String query, String lowerCaseQuery, List<List<ITypeDescriptor>> categories) {
+		int start = lowerBound(lowerCaseSimpleNames, lowerCaseQuery);
+		int end = start;
+		while (end < lowerCaseSimpleNames.length && lowerCaseSimpleNames[end].startsWith(lowerCaseQuery)) {
+			if (lowerCaseSimpleNames[end].length() == lowerCaseQuery.length()) {
+				categories.get(EXACT).add(bySimpleName[end]);
+			} else {
+				categories.get(PREFIX).add(bySimpleName[end]);
+			}
+			end++;
+		}
+		if (hasCamelCaseHumps(query)) {
+			String firstChar = lowerCaseQuery.substring(0, 1);
+			int firstCharStart = lowerBound(lowerCaseSimpleNames, firstChar);
+			for (int i = firstCharStart; i < lowerCaseSimpleNames.length
+					&& lowerCaseSimpleNames[i].startsWith(firstChar); i++) {
+				if ((i < start || i >= end) && isCamelCaseMatch(query, simpleNames[i])) {
+					categories.get(CAMEL_CASE).add(bySimpleName[i]);
+				}
+			}
+		}
+	}
+
+	private static String toLowerCase(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Returns the index of the first name that is not smaller than the given prefix.
+	 */
+	private int lowerBound(String[] names, String prefix) {
+		int low = 0;
+		int high = names.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (names[mid].compareTo(prefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	protected boolean hasCamelCaseHumps(String query) {
+		for (int i = 1; i < query.length(); i++) {
+			if (Character.isUpperCase(query.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Each hump of the query (an upper case letter followed by lower case letters) has to be a prefix of the
+	 * corresponding hump of the name, e.g. <code>ArrLi</code> matches <code>ArrayList</code>.
+	 */
+	protected boolean isCamelCaseMatch(String query, String name) {
+		int queryIdx = 0;
+		int nameIdx = 0;
+		while (queryIdx < query.length()) {
+			char queryChar = query.charAt(queryIdx);
+			boolean humpStart = queryIdx > 0 && Character.isUpperCase(queryChar);
+			if (nameIdx < name.length()
+					&& Character.toLowerCase(name.charAt(nameIdx)) == Character.toLowerCase(queryChar)
+					&& (!humpStart || Character.isUpperCase(name.charAt(nameIdx)))) {
+				queryIdx++;
+				nameIdx++;
+			} else if (humpStart) {
+				nameIdx = nextHump(name, nameIdx);
+				if (nameIdx < 0) {
+					return false;
+				}
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int nextHump(String name, int from) {
+		for (int i = from + 1; i < name.length(); i++) {
+			if (Character.isUpperCase(name.charAt(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static class Entry {
+		private final ITypeDescriptor descriptor;
+		private final String simpleName;
+		private final String lowerCaseSimpleName;
+		private final String lowerCaseQualifiedName;
+
+		private Entry(ITypeDescriptor descriptor) {
+			this.descriptor = descriptor;
+			this.simpleName = descriptor.getSimpleName();
+			this.lowerCaseSimpleName = toLowerCase(simpleName);
+			this.lowerCaseQualifiedName = toLowerCase(descriptor.getQualifiedName().toString());
+		}
+	}
+}
@@ -8,13 +8,15 @@
  *******************************************************************************/
 package org.eclipse.xtext.common.types.impl;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notifier;
@@ -44,6 +46,7 @@ import org.eclipse.xtext.common.types.TypesPackage;
 import org.eclipse.xtext.common.types.access.IMirror;
 import org.eclipse.xtext.common.types.access.IMirrorExtension;
 import org.eclipse.xtext.common.types.access.JvmTypeChangeDispatcher;
+import org.eclipse.xtext.common.types.access.JvmTypeChangeDispatcher.ModificationStamp;
 import org.eclipse.xtext.common.types.access.TypeResource;
 import org.eclipse.xtext.common.types.access.impl.URIHelperConstants;
 import org.eclipse.xtext.common.types.util.RawTypeReferenceComputer;
@@ -203,165 +206,365 @@ public abstract class JvmDeclaredTypeImplCustom extends JvmDeclaredTypeImpl {
 		return eContainingFeature() == TypesPackage.Literals.JVM_FEATURE__LOCAL_CLASSES;
 	}
 	
+	/**
+	 * An immutable index of the members of a type and its super types by simple name. It is published without locking
+	 * and remembers the indexes of the super types that it was built from, so it stays valid until this type changes
+	 * or one of the super type indexes is replaced.
+	 * 
+	 * @since 2.25
+	 */
+	protected static class MemberIndex<T extends JvmMember> {
+		private final Map<String, T[]> byName;
+		private final List<JvmDeclaredTypeImplCustom> superTypes;
+		private final List<MemberIndex<T>> superIndexes;
+		/**
+		 * The modification stamp of the type, or <code>null</code> for sealed types.
+		 */
+		private final ModificationStamp stamp;
+		private final long stampValue;
+		private final long epoch;
+		/**
+		 * Whether the changes of the type and all its super types are counted by the same dispatcher.
+		 */
+		private final boolean sameDispatcher;
+		private volatile long validatedAt;
+		private final ConcurrentMap<String, T[]> withoutOverridden = new ConcurrentHashMap<>();
+		private volatile List<T> all;
+
+		protected MemberIndex(Map<String, T[]> byName, List<JvmDeclaredTypeImplCustom> superTypes,
+				List<MemberIndex<T>> superIndexes, ModificationStamp stamp, long stampValue, long epoch, long changeCount,
+				boolean sameDispatcher) {
+			this.byName = byName;
+			this.superTypes = superTypes;
+			this.superIndexes = superIndexes;
+			this.stamp = stamp;
+			this.stampValue = stampValue;
+			this.epoch = epoch;
+			this.validatedAt = changeCount;
+			this.sameDispatcher = sameDispatcher;
+		}
+
+		public T[] get(String simpleName) {
+			return byName.get(simpleName);
+		}
+
+		public Set<String> getNames() {
+			return byName.keySet();
+		}
+	}
+
+	private static abstract class MemberKind<T extends JvmMember> {
+		protected abstract MemberIndex<T> getIndex(JvmDeclaredTypeImplCustom type, Set<JvmDeclaredType> processedTypes);
+
+		protected abstract void addMembers(JvmDeclaredTypeImplCustom type, Map<String, Set<T>> result,
+				Collection<? extends JvmMember> members);
+
+		/**
+		 * Whether inherited members are added for names that are declared by the type itself.
+		 */
+		protected abstract boolean isInheritedIfDeclared();
+
+		protected abstract T[] newArray(int size);
+	}
+
+	private static final MemberKind<JvmFeature> FEATURES = new MemberKind<JvmFeature>() {
+		@Override
+		protected MemberIndex<JvmFeature> getIndex(JvmDeclaredTypeImplCustom type, Set<JvmDeclaredType> processedTypes) {
+			return type.getFeatureIndex(processedTypes);
+		}
+
+		@Override
+		protected void addMembers(JvmDeclaredTypeImplCustom type, Map<String, Set<JvmFeature>> result,
+				Collection<? extends JvmMember> members) {
+			type.processMembers(result, members);
+		}
+
+		@Override
+		protected boolean isInheritedIfDeclared() {
+			return true;
+		}
+
+		@Override
+		protected JvmFeature[] newArray(int size) {
+			return new JvmFeature[size];
+		}
+	};
+
+	private static final MemberKind<JvmDeclaredType> NESTED_TYPES = new MemberKind<JvmDeclaredType>() {
+		@Override
+		protected MemberIndex<JvmDeclaredType> getIndex(JvmDeclaredTypeImplCustom type, Set<JvmDeclaredType> processedTypes) {
+			return type.getNestedTypeIndex(processedTypes);
+		}
+
+		@Override
+		protected void addMembers(JvmDeclaredTypeImplCustom type, Map<String, Set<JvmDeclaredType>> result,
+				Collection<? extends JvmMember> members) {
+			type.processTypes(result, members);
+		}
+
+		@Override
+		protected boolean isInheritedIfDeclared() {
+			return false;
+		}
+
+		@Override
+		protected JvmDeclaredType[] newArray(int size) {
+			return new JvmDeclaredType[size];
+		}
+	};
+
+	private volatile MemberIndex<JvmFeature> featureIndex;
+
+	private volatile MemberIndex<JvmDeclaredType> nestedTypeIndex;
+
 	@Override
 	public Iterable<JvmDeclaredType> findAllNestedTypesByName(String simpleName) {
-		Set<JvmDeclaredType> result = getAllNestedTypesMap().get(simpleName);
+		JvmDeclaredType[] result = getNestedTypeIndex().get(simpleName);
 		if (result != null)
-			return result;
+			return Collections.unmodifiableList(Arrays.asList(result));
 		return Collections.emptySet();
 	}
 	
 	@Override
 	public Iterable<JvmDeclaredType> getAllNestedTypes() {
+		MemberIndex<JvmDeclaredType> index = getNestedTypeIndex();
 		List<JvmDeclaredType> result = Lists.newArrayList();
-		for(Set<JvmDeclaredType> types: getAllNestedTypesMap().values()) {
-			result.addAll(types);
+		for(String name: index.getNames()) {
+			Collections.addAll(result, index.get(name));
 		}
 		return result;
 	}
-	
-	protected Map<String, Set<JvmDeclaredType>> getAllNestedTypesMap() {
-		return internalGetAllNestedTypesMap(null);
+
+	/**
+	 * @since 2.25
+	 */
+	protected MemberIndex<JvmDeclaredType> getNestedTypeIndex() {
+		return getNestedTypeIndex(Sets.<JvmDeclaredType>newHashSet());
 	}
-	
-	protected Map<String, Set<JvmDeclaredType>> allNestedTypesByName;
 
-	protected Map<String, Set<JvmDeclaredType>> internalGetAllNestedTypesMap(final Set<JvmDeclaredType> processedTypes) {
-		try {
-			if (allNestedTypesByName == null) {
-				final Set<JvmDeclaredType> processedSuperTypes = processedTypes == null ? Sets.<JvmDeclaredType>newHashSet() : processedTypes;
-				allNestedTypesByName = doSynchronized(new Provider<Map<String, Set<JvmDeclaredType>>>() {
-					@Override
-					public Map<String, Set<JvmDeclaredType>> get() {
-						if (allNestedTypesByName != null)
-							return allNestedTypesByName;
-						Map<String, Set<JvmDeclaredType>> result = Maps.newLinkedHashMap();
-						processTypes(result, getMembers());
-						Map<String, Set<JvmDeclaredType>> cumulated = Maps.newLinkedHashMap();
-						for (JvmTypeReference superTypeReference : getSuperTypes()) {
-							JvmType superType = getRawType(superTypeReference);
-							if (superType instanceof JvmDeclaredTypeImplCustom && !superType.eIsProxy()
-									&& !processedSuperTypes.contains(superType)) {
-								processedSuperTypes.add((JvmDeclaredType) superType);
-								Map<String, Set<JvmDeclaredType>> superTypeMap = ((JvmDeclaredTypeImplCustom) superType)
-										.internalGetAllNestedTypesMap(processedSuperTypes);
-								processedSuperTypes.remove(superType);
-								for(Map.Entry<String, Set<JvmDeclaredType>> entry: superTypeMap.entrySet()) {
-									if (!result.containsKey(entry.getKey())) {
-										processTypes(cumulated, entry.getValue());
-									}
-								}
-							}
-						}
-						result.putAll(cumulated);
-						Runnable runnable = new Runnable() {
-							@Override
-							public void run() {
-								doSynchronized(new Provider<Object>() {
-									@Override
-									public Object get() {
-										allNestedTypesByName = null;
-										return null;
-									}});
-							}
-						};
-						requestNotificationOnChange(runnable);
-						return result;
-					}
-				});
+	private MemberIndex<JvmDeclaredType> getNestedTypeIndex(Set<JvmDeclaredType> processedTypes) {
+		// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=474238
+		// no caching for Xtext-based resources during indexing
+		boolean indexing = isIndexing();
+		MemberIndex<JvmDeclaredType> result = nestedTypeIndex;
+		if (result != null && !indexing && isValid(result, NESTED_TYPES, processedTypes))
+			return result;
+		return doSynchronized(new Provider<MemberIndex<JvmDeclaredType>>() {
+			@Override
+			public MemberIndex<JvmDeclaredType> get() {
+				MemberIndex<JvmDeclaredType> current = nestedTypeIndex;
+				if (current != null && current != result && !indexing && isValid(current, NESTED_TYPES, processedTypes))
+					return current;
+				MemberIndex<JvmDeclaredType> newIndex = buildMemberIndex(NESTED_TYPES, processedTypes);
+				nestedTypeIndex = indexing ? null : newIndex;
+				return newIndex;
 			}
-			return allNestedTypesByName;
-		} finally {
-			// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=474238
-			// no caching for Xtext-based resources during indexing
-			if (eResource() instanceof XtextResource) {
-				XtextResource xtextResource = (XtextResource) eResource();
-				CompilerPhases compilerPhases = xtextResource.getResourceServiceProvider().get(CompilerPhases.class);
-				if (compilerPhases.isIndexing(xtextResource.getResourceSet())) {
-					allNestedTypesByName = null;
+		});
+	}
+
+	private boolean isIndexing() {
+		if (eResource() instanceof XtextResource) {
+			XtextResource xtextResource = (XtextResource) eResource();
+			CompilerPhases compilerPhases = xtextResource.getResourceServiceProvider().get(CompilerPhases.class);
+			return compilerPhases.isIndexing(xtextResource.getResourceSet());
+		}
+		return false;
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	protected MemberIndex<JvmFeature> getFeatureIndex() {
+		return getFeatureIndex(Sets.<JvmDeclaredType>newHashSet());
+	}
+
+	private MemberIndex<JvmFeature> getFeatureIndex(Set<JvmDeclaredType> processedTypes) {
+		MemberIndex<JvmFeature> result = featureIndex;
+		if (result != null && isValid(result, FEATURES, processedTypes))
+			return result;
+		return doSynchronized(new Provider<MemberIndex<JvmFeature>>() {
+			@Override
+			public MemberIndex<JvmFeature> get() {
+				MemberIndex<JvmFeature> current = featureIndex;
+				if (current != null && current != result && isValid(current, FEATURES, processedTypes))
+					return current;
+				MemberIndex<JvmFeature> newIndex = buildMemberIndex(FEATURES, processedTypes);
+				featureIndex = newIndex;
+				return newIndex;
+			}
+		});
+	}
+
+	/**
+	 * An index is valid if nothing changed in the resource set since it was built, or if this type didn't change and
+	 * the super types still have the very same indexes. Indexes of sealed types never change.
+	 */
+	private <T extends JvmMember> boolean isValid(MemberIndex<T> index, MemberKind<T> kind, Set<JvmDeclaredType> processedTypes) {
+		if (index.stamp == null)
+			return true;
+		JvmTypeChangeDispatcher dispatcher = index.stamp.getDispatcher();
+		long changeCount = dispatcher.getModificationCount();
+		if (index.sameDispatcher && index.validatedAt == changeCount)
+			return true;
+		if (index.epoch != dispatcher.getEpoch() || index.stampValue != index.stamp.get())
+			return false;
+		for (int i = 0; i < index.superTypes.size(); i++) {
+			JvmDeclaredTypeImplCustom superType = index.superTypes.get(i);
+			if (superType.eIsProxy())
+				return false;
+			if (processedTypes.add(superType)) {
+				try {
+					if (kind.getIndex(superType, processedTypes) != index.superIndexes.get(i))
+						return false;
+				} finally {
+					processedTypes.remove(superType);
 				}
 			}
 		}
+		index.validatedAt = changeCount;
+		return true;
 	}
-	
-	protected void processTypes(Map<String, Set<JvmDeclaredType>> result, Collection<? extends JvmMember> members) {
-		for (JvmMember member : members) {
-			if (member instanceof JvmDeclaredType) {
-				Set<JvmDeclaredType> knownTypes = result.get(member.getSimpleName());
-				if (knownTypes == null) {
-					// Sets.newLinkedHashSet(capacity) does not exist
-					knownTypes = new LinkedHashSet<JvmDeclaredType>(2);
-					result.put(member.getSimpleName(), knownTypes);
+
+	private <T extends JvmMember> MemberIndex<T> buildMemberIndex(MemberKind<T> kind, Set<JvmDeclaredType> processedTypes) {
+		ModificationStamp stamp = null;
+		long changeCount = 0;
+		long epoch = 0;
+		long stampValue = 0;
+		if (!isSealed()) {
+			stamp = JvmTypeChangeDispatcher.findResourceChangeDispatcher(getChangeNotifier()).getModificationStamp(this);
+			changeCount = stamp.getDispatcher().getModificationCount();
+			epoch = stamp.getDispatcher().getEpoch();
+			stampValue = stamp.get();
+		}
+		boolean sameDispatcher = true;
+		Map<String, Set<T>> result = Maps.newLinkedHashMap();
+		kind.addMembers(this, result, getMembers());
+		Set<String> declaredNames = kind.isInheritedIfDeclared() ? null : Sets.newHashSet(result.keySet());
+		List<JvmDeclaredTypeImplCustom> superTypes = Lists.newArrayListWithCapacity(2);
+		List<MemberIndex<T>> superIndexes = Lists.newArrayListWithCapacity(2);
+		for (JvmTypeReference superTypeReference : getSuperTypes()) {
+			JvmType superType = getRawType(superTypeReference);
+			if (superType instanceof JvmDeclaredTypeImplCustom && !superType.eIsProxy()
+					&& !processedTypes.contains(superType)) {
+				JvmDeclaredTypeImplCustom declaredSuperType = (JvmDeclaredTypeImplCustom) superType;
+				processedTypes.add(declaredSuperType);
+				MemberIndex<T> superIndex = kind.getIndex(declaredSuperType, processedTypes);
+				processedTypes.remove(declaredSuperType);
+				superTypes.add(declaredSuperType);
+				superIndexes.add(superIndex);
+				if (superIndex.stamp != null) {
+					sameDispatcher &= superIndex.sameDispatcher && stamp != null
+							&& superIndex.stamp.getDispatcher() == stamp.getDispatcher();
 				}
-				knownTypes.add((JvmDeclaredType) member);
-			} 
+				for (Map.Entry<String, T[]> entry : superIndex.byName.entrySet()) {
+					if (declaredNames == null || !declaredNames.contains(entry.getKey())) {
+						kind.addMembers(this, result, Arrays.asList(entry.getValue()));
+					}
+				}
+			}
+		}
+		Map<String, T[]> byName = Maps.newLinkedHashMap();
+		for (Map.Entry<String, Set<T>> entry : result.entrySet()) {
+			byName.put(entry.getKey(), entry.getValue().toArray(kind.newArray(entry.getValue().size())));
 		}
+		return new MemberIndex<T>(Collections.unmodifiableMap(byName), superTypes, superIndexes, stamp, stampValue, epoch,
+				changeCount, sameDispatcher);
 	}
 
-	protected Map<String, Set<JvmFeature>> allFeaturesByName;
+	private boolean isSealed() {
+		Resource resource = eResource();
+		if (resource instanceof TypeResource) {
+			IMirror mirror = ((TypeResource) resource).getMirror();
+			return mirror instanceof IMirrorExtension && ((IMirrorExtension) mirror).isSealed();
+		}
+		return false;
+	}
 
-	protected Set<String> removedOverridden;
+	private Notifier getChangeNotifier() {
+		Resource resource = eResource();
+		if (resource != null) {
+			if (resource.getResourceSet() != null)
+				return resource.getResourceSet();
+			return resource;
+		}
+		return this;
+	}
 
 	@Override
 	public Iterable<JvmFeature> findAllFeaturesByName(final String simpleName) {
-		return doSynchronized(new Provider<Iterable<JvmFeature>>() {
-			@Override
-			public Iterable<JvmFeature> get() {
-				Map<String, Set<JvmFeature>> allFeaturesByName = getAllFeaturesMap();
-				Set<JvmFeature> result = allFeaturesByName.get(simpleName);
-				if (result != null) {
-					if (result.size() <= 1 || (removedOverridden != null && removedOverridden.contains(simpleName))) {
-						return result;
-					}
-					// TODO use the number of parameters as a first fast criteria
-					Set<String> signatures = Sets.newHashSet();
-					Iterator<JvmFeature> iter = result.iterator();
-					while (iter.hasNext()) {
-						JvmFeature next = iter.next();
-						if (next instanceof JvmOperation) {
-							JvmOperation operation = (JvmOperation) next;
-							if (!operation.isStatic()) {
-								/* 
-								 * TODO use upper bound information for cases like
-								 * class MyStringList extends ArrayList<String>
-								 * where add(String) actually overrides add(T/Object)
-								 */
-								List<JvmFormalParameter> parameters = operation.getParameters();
-								StringBuilder signature = new StringBuilder(operation.getSimpleName());
-								if (parameters.isEmpty()) {
-									signature.append("()");
-								} else {
-									signature.append("(");
-									for (JvmFormalParameter parameter : parameters) {
-										String parameterType = getRawTypeIdentifier(parameter.getParameterType());
-										if (parameterType != null) {
-											signature.append(parameterType);
-											signature.append(",");
-										}
-									}
-									signature.replace(signature.length() - 1, signature.length(), ")");
-								}
-								if (!signatures.add(signature.toString())) {
-									iter.remove();
-								}
-							}
-						} else if (next instanceof JvmField) {
-							JvmField field = (JvmField) next;
-							if (!field.isStatic() && !signatures.add(field.getSimpleName())) {
-								iter.remove();
+		List<JvmFeature> result = getFeaturesWithoutOverridden(getFeatureIndex(), simpleName);
+		if (result != null) {
+			return result;
+		}
+		return Collections.emptyList();
+	}
+
+	private List<JvmFeature> getFeaturesWithoutOverridden(MemberIndex<JvmFeature> index, String simpleName) {
+		JvmFeature[] features = index.get(simpleName);
+		if (features == null)
+			return null;
+		if (features.length <= 1 || simpleName == null)
+			return Collections.unmodifiableList(Arrays.asList(features));
+		JvmFeature[] result = index.withoutOverridden.get(simpleName);
+		if (result == null) {
+			JvmFeature[] computed = doSynchronized(new Provider<JvmFeature[]>() {
+				@Override
+				public JvmFeature[] get() {
+					return removeOverridden(features);
+				}
+			});
+			result = index.withoutOverridden.putIfAbsent(simpleName, computed);
+			if (result == null)
+				result = computed;
+		}
+		return Collections.unmodifiableList(Arrays.asList(result));
+	}
+
+	/**
+	 * Removes the operations and fields that are hidden by an operation with the same erased signature or a field with
+	 * the same name that comes first.
+	 */
+	private JvmFeature[] removeOverridden(JvmFeature[] features) {
+		// TODO use the number of parameters as a first fast criteria
+		Set<String> signatures = Sets.newHashSet();
+		List<JvmFeature> result = Lists.newArrayListWithCapacity(features.length);
+		for (JvmFeature next : features) {
+			if (next instanceof JvmOperation) {
+				JvmOperation operation = (JvmOperation) next;
+				if (!operation.isStatic()) {
+					/* 
+					 * TODO use upper bound information for cases like
+					 * class MyStringList extends ArrayList<String>
+					 * where add(String) actually overrides add(T/Object)
+					 */
+					List<JvmFormalParameter> parameters = operation.getParameters();
+					StringBuilder signature = new StringBuilder(operation.getSimpleName());
+					if (parameters.isEmpty()) {
+						signature.append("()");
+					} else {
+						signature.append("(");
+						for (JvmFormalParameter parameter : parameters) {
+							String parameterType = getRawTypeIdentifier(parameter.getParameterType());
+							if (parameterType != null) {
+								signature.append(parameterType);
+								signature.append(",");
 							}
 						}
+						signature.replace(signature.length() - 1, signature.length(), ")");
 					}
-					if (removedOverridden == null) {
-						removedOverridden = Sets.newHashSet(simpleName);
-					} else {
-						removedOverridden.add(simpleName);
+					if (!signatures.add(signature.toString())) {
+						continue;
 					}
-					return result;
 				}
-				return Collections.emptyList();
+			} else if (next instanceof JvmField) {
+				JvmField field = (JvmField) next;
+				if (!field.isStatic() && !signatures.add(field.getSimpleName())) {
+					continue;
+				}
 			}
-		});
+			result.add(next);
+		}
+		return result.toArray(new JvmFeature[result.size()]);
 	}
 
 	protected <T> T doSynchronized(final Provider<? extends T> provider) {
@@ -387,72 +590,123 @@ public abstract class JvmDeclaredTypeImplCustom extends JvmDeclaredTypeImpl {
 		}
 	}
 
-	protected Map<String, Set<JvmFeature>> getAllFeaturesMap() {
-		return internalGetAllFeaturesMap(null);
+	protected void requestNotificationOnChange(Runnable listener) {
+		if (isSealed())
+			return;
+		Notifier notifier = getChangeNotifier();
+		JvmTypeChangeDispatcher dispatcher = JvmTypeChangeDispatcher.findResourceChangeDispatcher(notifier);
+		dispatcher.requestNotificationOnChange(this, listener);
 	}
 
-	protected Map<String, Set<JvmFeature>> internalGetAllFeaturesMap(final Set<JvmDeclaredType> processedtypes) {
-		if (allFeaturesByName == null) {
-			final Set<JvmDeclaredType> processedSuperTypes = processedtypes == null ? Sets.<JvmDeclaredType>newHashSet() : processedtypes;
-			allFeaturesByName = doSynchronized(new Provider<Map<String, Set<JvmFeature>>>() {
-				@Override
-				public Map<String, Set<JvmFeature>> get() {
-					if (allFeaturesByName != null)
-						return allFeaturesByName;
-					Map<String, Set<JvmFeature>> result = Maps.newLinkedHashMap();
-					processMembers(result, getMembers());
-					for (JvmTypeReference superTypeReference : getSuperTypes()) {
-						JvmType superType = getRawType(superTypeReference);
-						if (superType instanceof JvmDeclaredTypeImplCustom && !superType.eIsProxy()
-								&& !processedSuperTypes.contains(superType)) {
-							processedSuperTypes.add((JvmDeclaredType) superType);
-							Map<String, Set<JvmFeature>> superTypeFeatureMap = ((JvmDeclaredTypeImplCustom) superType)
-									.internalGetAllFeaturesMap(processedSuperTypes);
-							processedSuperTypes.remove(superType);
-							for (Set<JvmFeature> features : superTypeFeatureMap.values())
-								processMembers(result, features);
-						}
-					}
-					Runnable runnable = new Runnable() {
-						@Override
-						public void run() {
-							doSynchronized(new Provider<Object>() {
-								@Override
-								public Object get() {
-									removedOverridden = null;
-									allFeaturesByName = null;
-									return null;
-								}});
-						}
-					};
-					requestNotificationOnChange(runnable);
-					return result;
-				}
-			});
+	@Override
+	public Iterable<JvmFeature> getAllFeatures() {
+		MemberIndex<JvmFeature> index = getFeatureIndex();
+		List<JvmFeature> result = index.all;
+		if (result == null) {
+			Set<JvmFeature> allFeatures = Sets.newLinkedHashSet();
+			for (String name : index.getNames()) {
+				allFeatures.addAll(getFeaturesWithoutOverridden(index, name));
+			}
+			result = Collections.unmodifiableList(Lists.newArrayList(allFeatures));
+			index.all = result;
 		}
-		return allFeaturesByName;
+		return result;
 	}
 
-	protected void requestNotificationOnChange(Runnable listener) {
-		Resource resource = eResource();
-		if (resource instanceof TypeResource) {
-			IMirror mirror = ((TypeResource) resource).getMirror();
-			if (mirror instanceof IMirrorExtension) {
-				if (((IMirrorExtension) mirror).isSealed())
-					return;
-			}
-		}
-		Notifier notifier = this;
-		if (resource != null) {
-			if (resource.getResourceSet() != null)
-				notifier = resource.getResourceSet();
-			else
-				notifier = resource;
+	/**
+	 * Returns a copy of the {@link #getNestedTypeIndex() nested type index}.
+	 * 
+	 * @deprecated this method is no longer called by this class, overriding it has no effect. Use
+	 *             {@link #findAllNestedTypesByName(String)} or {@link #getNestedTypeIndex()}.
+	 */
+	@Deprecated
+	protected Map<String, Set<JvmDeclaredType>> getAllNestedTypesMap() {
+		return toMap(getNestedTypeIndex());
+	}
+
+	/**
+	 * @deprecated this field is no longer used and is always <code>null</code>. The nested types are kept in a
+	 *             {@link MemberIndex}.
+	 */
+	@Deprecated
+	protected Map<String, Set<JvmDeclaredType>> allNestedTypesByName;
+
+	/**
+	 * Returns a copy of the {@link #getNestedTypeIndex() nested type index}.
+	 * 
+	 * @deprecated this method is no longer called by this class, overriding it has no effect. Use
+	 *             {@link #getNestedTypeIndex()}.
+	 */
+	@Deprecated
+	protected Map<String, Set<JvmDeclaredType>> internalGetAllNestedTypesMap(final Set<JvmDeclaredType> processedTypes) {
+		return toMap(getNestedTypeIndex(processedTypes == null ? Sets.<JvmDeclaredType>newHashSet() : processedTypes));
+	}
+
+	/**
+	 * Adds the given declared or inherited members that are nested types to the result when the
+	 * {@link #getNestedTypeIndex() nested type index} is built.
+	 */
+	protected void processTypes(Map<String, Set<JvmDeclaredType>> result, Collection<? extends JvmMember> members) {
+		for (JvmMember member : members) {
+			if (member instanceof JvmDeclaredType) {
+				Set<JvmDeclaredType> knownTypes = result.get(member.getSimpleName());
+				if (knownTypes == null) {
+					// Sets.newLinkedHashSet(capacity) does not exist
+					knownTypes = new LinkedHashSet<JvmDeclaredType>(2);
+					result.put(member.getSimpleName(), knownTypes);
+				}
+				knownTypes.add((JvmDeclaredType) member);
+			} 
 		}
-		JvmTypeChangeDispatcher dispatcher = JvmTypeChangeDispatcher.findResourceChangeDispatcher(notifier);
-		dispatcher.requestNotificationOnChange(this, listener);
 	}
-	
+
+	/**
+	 * @deprecated this field is no longer used and is always <code>null</code>. The features are kept in a
+	 *             {@link MemberIndex}.
+	 */
+	@Deprecated
+	protected Map<String, Set<JvmFeature>> allFeaturesByName;
+
+	/**
+	 * @deprecated this field is no longer used and is always <code>null</code>. The features are kept in a
+	 *             {@link MemberIndex}.
+	 */
+	@Deprecated
+	protected Set<String> removedOverridden;
+
+	/**
+	 * @deprecated this field is no longer used and is always <code>null</code>. The features are kept in a
+	 *             {@link MemberIndex}.
+	 */
+	@Deprecated
+	protected Set<JvmFeature> allFeatures;
+
+	/**
+	 * Returns a copy of the {@link #getFeatureIndex() feature index}.
+	 * 
+	 * @deprecated this method is no longer called by this class, overriding it has no effect. Use
+	 *             {@link #findAllFeaturesByName(String)} or {@link #getFeatureIndex()}.
+	 */
+	@Deprecated
+	protected Map<String, Set<JvmFeature>> getAllFeaturesMap() {
+		return toMap(getFeatureIndex());
+	}
+
+	/**
+	 * Returns a copy of the {@link #getFeatureIndex() feature index}.
+	 * 
+	 * @deprecated this method is no longer called by this class, overriding it has no effect. Use
+	 *             {@link #getFeatureIndex()}.
+	 */
+	@Deprecated
+	protected Map<String, Set<JvmFeature>> internalGetAllFeaturesMap(final Set<JvmDeclaredType> processedtypes) {
+		return toMap(getFeatureIndex(processedtypes == null ? Sets.<JvmDeclaredType>newHashSet() : processedtypes));
+	}
+
+	/**
+	 * Adds the given declared or inherited members that are operations or fields to the result when the
+	 * {@link #getFeatureIndex() feature index} is built.
+	 */
 	protected void processMembers(Map<String, Set<JvmFeature>> result, Collection<? extends JvmMember> members) {
 		for (JvmMember member : members) {
 			if (member instanceof JvmOperation || member instanceof JvmField) {
@@ -467,37 +721,12 @@ public abstract class JvmDeclaredTypeImplCustom extends JvmDeclaredTypeImpl {
 		}
 	}
 
-	protected Set<JvmFeature> allFeatures;
-
-	@Override
-	public Iterable<JvmFeature> getAllFeatures() {
-		if (allFeatures == null) {
-			allFeatures = doSynchronized(new Provider<Set<JvmFeature>>() {
-				@Override
-				public Set<JvmFeature> get() {
-					if (allFeatures != null)
-						return allFeatures;
-					Set<JvmFeature> result = Sets.newLinkedHashSet();
-					Map<String, Set<JvmFeature>> allFeaturesMap = getAllFeaturesMap();
-					for (String name : allFeaturesMap.keySet()) {
-						Iterables.addAll(result, findAllFeaturesByName(name));
-					}
-					Runnable runnable = new Runnable() {
-						@Override
-						public void run() {
-							doSynchronized(new Provider<Object>() {
-								@Override
-								public Object get() {
-									allFeatures = null;
-									return null;
-								}});
-						}
-					};
-					requestNotificationOnChange(runnable);
-					return result;
-				}});
+	private static <T extends JvmMember> Map<String, Set<T>> toMap(MemberIndex<T> index) {
+		Map<String, Set<T>> result = Maps.newLinkedHashMap();
+		for (String name : index.getNames()) {
+			result.put(name, Sets.newLinkedHashSet(Arrays.asList(index.get(name))));
 		}
-		return allFeatures;
+		return result;
 	}
 	
 	protected String getRawTypeIdentifier(JvmTypeReference reference) {
@@ -548,9 +777,51 @@ public abstract class JvmDeclaredTypeImplCustom extends JvmDeclaredTypeImpl {
 		}
 	}
 	
+	private volatile Runnable pendingMembers;
+
+	private boolean isInitializingMembers = false;
+
+	/**
+	 * Defers the creation of the members of this type until they are accessed for the first time, e.g. by
+	 * {@link #getMembers()} or reflectively. The initializer adds the members to this type.
+	 * 
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 2.25
+	 */
+	public void setPendingMembers(Runnable initializer) {
+		this.pendingMembers = initializer;
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	protected void checkPendingMembers() {
+		if (pendingMembers == null) {
+			return;
+		}
+		// other threads wait until all members are there, the initializing thread itself may access the members
+		synchronized (this) {
+			Runnable initializer = pendingMembers;
+			if (initializer == null || isInitializingMembers) {
+				return;
+			}
+			isInitializingMembers = true;
+			boolean wasDeliver = eDeliver();
+			eSetDeliver(false);
+			try {
+				initializer.run();
+			} finally {
+				eSetDeliver(wasDeliver);
+				isInitializingMembers = false;
+				pendingMembers = null;
+			}
+		}
+	}
+
 	@Override
 	public EList<EObject> eContents() {
 		checkPendingInitialization();
+		checkPendingMembers();
 		return super.eContents();
 	}
 	
@@ -563,30 +834,35 @@ public abstract class JvmDeclaredTypeImplCustom extends JvmDeclaredTypeImpl {
 	@Override
 	public boolean eIsSet(EStructuralFeature eFeature) {
 		checkPendingInitialization();
+		checkPendingMembers();
 		return super.eIsSet(eFeature);
 	}
 	
 	@Override
 	public boolean eIsSet(int featureID) {
 		checkPendingInitialization();
+		checkPendingMembers();
 		return super.eIsSet(featureID);
 	}
 	
 	@Override
 	public Object eGet(EStructuralFeature eFeature) {
 		checkPendingInitialization();
+		checkPendingMembers();
 		return super.eGet(eFeature);
 	}
 	
 	@Override
 	public Object eGet(EStructuralFeature eFeature, boolean resolve) {
 		checkPendingInitialization();
+		checkPendingMembers();
 		return super.eGet(eFeature, resolve);
 	}
 	
 	@Override
 	public Object eGet(EStructuralFeature eFeature, boolean resolve, boolean coreType) {
 		checkPendingInitialization();
+		checkPendingMembers();
 		return super.eGet(eFeature, resolve, coreType);
 	}
 	
@@ -606,6 +882,7 @@ public abstract class JvmDeclaredTypeImplCustom extends JvmDeclaredTypeImpl {
 	@Override
 	public EList<JvmMember> getMembers() {
 		checkPendingInitialization();
+		checkPendingMembers();
 		return super.getMembers();
 	}
 	
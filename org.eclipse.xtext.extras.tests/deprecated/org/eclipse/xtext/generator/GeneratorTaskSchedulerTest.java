@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.generator;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+@Deprecated
+public class GeneratorTaskSchedulerTest extends Assert {
+
+	@Test
+	public void testTasksWithSameKeyRunInOrder() {
+		GeneratorTaskScheduler scheduler = new GeneratorTaskScheduler(4);
+		List<Integer> order = Collections.synchronizedList(Lists.newArrayList());
+		for (int i = 0; i < 20; i++) {
+			int index = i;
+			scheduler.schedule("key", () -> {
+				sleep(index % 3);
+				order.add(index);
+			});
+		}
+		scheduler.join();
+		List<Integer> expected = Lists.newArrayList();
+		for (int i = 0; i < 20; i++) {
+			expected.add(i);
+		}
+		assertEquals(expected, order);
+	}
+
+	@Test
+	public void testTasksWithDifferentKeysRunConcurrently() throws InterruptedException {
+		GeneratorTaskScheduler scheduler = new GeneratorTaskScheduler(2);
+		CountDownLatch started = new CountDownLatch(2);
+		scheduler.schedule("first", () -> awaitOther(started));
+		scheduler.schedule("second", () -> awaitOther(started));
+		scheduler.join();
+		assertEquals(0, started.getCount());
+	}
+
+	@Test
+	public void testTasksAfterFailedPredecessorAreSkipped() {
+		GeneratorTaskScheduler scheduler = new GeneratorTaskScheduler(2);
+		List<String> executed = Collections.synchronizedList(Lists.newArrayList());
+		scheduler.schedule("failing", () -> {
+			throw new IllegalStateException("failed");
+		});
+		scheduler.schedule("failing", () -> executed.add("skipped"));
+		scheduler.schedule("other", () -> executed.add("other"));
+		try {
+			scheduler.join();
+			fail();
+		} catch (CompositeGeneratorException e) {
+			assertEquals(1, Iterables.size(e.getExceptions()));
+		}
+		scheduler.runOnCurrentThread("failing", () -> executed.add("skipped"));
+		assertEquals(Collections.singletonList("other"), executed);
+	}
+
+	@Test
+	public void testJoinReportsAllFailures() {
+		GeneratorTaskScheduler scheduler = new GeneratorTaskScheduler(2);
+		scheduler.schedule("first", () -> {
+			throw new IllegalStateException("first");
+		});
+		scheduler.schedule("second", () -> {
+			throw new IllegalArgumentException("second");
+		});
+		try {
+			scheduler.join();
+			fail();
+		} catch (CompositeGeneratorException e) {
+			List<String> messages = Lists.newArrayList();
+			for (Exception exception : e.getExceptions()) {
+				messages.add(exception.getMessage());
+			}
+			Collections.sort(messages);
+			assertEquals(Lists.newArrayList("first", "second"), messages);
+		}
+	}
+
+	@Test
+	public void testSingleThreadRunsInline() {
+		GeneratorTaskScheduler scheduler = new GeneratorTaskScheduler(1);
+		Thread current = Thread.currentThread();
+		List<Thread> threads = Lists.newArrayList();
+		scheduler.schedule("key", () -> threads.add(Thread.currentThread()));
+		assertEquals(Collections.singletonList(current), threads);
+		try {
+			scheduler.schedule("key", () -> {
+				throw new IllegalStateException("inline");
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("inline", e.getMessage());
+		}
+		scheduler.join();
+	}
+
+	@Test
+	public void testRunOnCurrentThreadWaitsForPredecessor() {
+		GeneratorTaskScheduler scheduler = new GeneratorTaskScheduler(2);
+		List<String> order = Collections.synchronizedList(Lists.newArrayList());
+		scheduler.schedule("key", () -> {
+			sleep(20);
+			order.add("scheduled");
+		});
+		Thread current = Thread.currentThread();
+		scheduler.runOnCurrentThread("key", () -> {
+			assertSame(current, Thread.currentThread());
+			order.add("inline");
+		});
+		assertEquals(Lists.newArrayList("scheduled", "inline"), order);
+		scheduler.join();
+	}
+
+	private static void awaitOther(CountDownLatch started) {
+		started.countDown();
+		try {
+			if (!started.await(10, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("tasks did not run concurrently");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.eclipse.xtext.XtextStandaloneSetup;
+import org.eclipse.xtext.generator.parser.antlr.AntlrOptions;
+import org.eclipse.xtext.generator.parser.antlr.XtextAntlrGeneratorFragment;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.GlobalRegistries;
+import org.eclipse.xtext.testing.GlobalRegistries.GlobalStateMemento;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.Files;
+
+@Deprecated
+public class LanguageFingerprintTest extends Assert {
+
+	private static final String GRAMMAR = "grammar org.example.MyDsl\n"
+			+ "import 'http://www.example.org/my' as my\n"
+			+ "import 'http://www.eclipse.org/emf/2002/Ecore' as ecore\n"
+			+ "generate myDsl 'http://www.example.org/mydsl'\n"
+			+ "Model: elements+=Element*;\n"
+			+ "Element returns my::Thing: name=ID;\n"
+			+ "terminal ID returns ecore::EString: ('a'..'z')+;\n";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private GlobalStateMemento globalState;
+
+	private File grammarFile;
+
+	private File ecoreFile;
+
+	@Before
+	public void setUp() throws IOException {
+		globalState = GlobalRegistries.makeCopyOfGlobalState();
+		new XtextStandaloneSetup().createInjectorAndDoEMFRegistration();
+		grammarFile = temporaryFolder.newFile("MyDsl.xtext");
+		ecoreFile = temporaryFolder.newFile("my.ecore");
+		writeGrammar(GRAMMAR);
+		writeMetamodel();
+	}
+
+	@After
+	public void tearDown() {
+		globalState.restoreGlobalState();
+	}
+
+	@Test
+	public void testSameConfigurationHasSameFingerprint() {
+		assertEquals(fingerprint(createConfig(2)), fingerprint(createConfig(2)));
+	}
+
+	@Test
+	public void testChangedOptionInvalidatesFingerprint() {
+		assertNotEquals(fingerprint(createConfig(2)), fingerprint(createConfig(3)));
+	}
+
+	@Test
+	public void testChangedGrammarInvalidatesFingerprint() throws IOException {
+		String before = fingerprint(createConfig(2));
+		writeGrammar(GRAMMAR.replace("('a'..'z')+", "('a'..'z'|'_')+"));
+		assertNotEquals(before, fingerprint(createConfig(2)));
+	}
+
+	@Test
+	public void testChangedMetamodelInvalidatesFingerprint() {
+		LanguageConfig config = createConfig(2);
+		String before = fingerprint(config);
+		assertEquals(before, fingerprint(config));
+		// changes the imported package only in memory, so its file in the loaded resources is still the same
+		EPackage ePackage = config.getGrammar().getMetamodelDeclarations().get(0).getEPackage();
+		EClass thing = (EClass) ePackage.getEClassifier("Thing");
+		thing.getEStructuralFeatures().add(createAttribute("description"));
+		assertNotEquals(before, fingerprint(config));
+	}
+
+	@Test
+	public void testLibraryContentInvalidatesFingerprint() throws IOException {
+		File first = new File(temporaryFolder.newFolder("first"), "lib.jar");
+		File second = new File(temporaryFolder.newFolder("second"), "lib.jar");
+		Files.write(new byte[] { 1, 2, 3 }, first);
+		Files.write(new byte[] { 1, 2, 3 }, second);
+		assertEquals(libraryFingerprint(first), libraryFingerprint(second));
+		Files.write(new byte[] { 1, 2, 4 }, second);
+		assertNotEquals(libraryFingerprint(first), libraryFingerprint(second));
+	}
+
+	private String libraryFingerprint(File library) throws IOException {
+		return new LanguageFingerprint().addLocation(library.toURI().toURL()).getValue();
+	}
+
+	private String fingerprint(LanguageConfig config) {
+		return new LanguageFingerprint().addLanguage(config).getValue();
+	}
+
+	private LanguageConfig createConfig(int k) {
+		AntlrOptions options = new AntlrOptions();
+		options.setK(k);
+		options.setBacktrack(true);
+		XtextAntlrGeneratorFragment fragment = new XtextAntlrGeneratorFragment();
+		fragment.setOptions(options);
+		LanguageConfig config = new LanguageConfig();
+		config.setForcedResourceSet(new XtextResourceSet());
+		config.addLoadedResource(URI.createFileURI(ecoreFile.getAbsolutePath()).toString());
+		config.setUri(URI.createFileURI(grammarFile.getAbsolutePath()).toString());
+		config.addFragment(fragment);
+		return config;
+	}
+
+	private void writeGrammar(String grammar) throws IOException {
+		Files.asCharSink(grammarFile, StandardCharsets.UTF_8).write(grammar);
+	}
+
+	private void writeMetamodel() throws IOException {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("my");
+		ePackage.setNsPrefix("my");
+		ePackage.setNsURI("http://www.example.org/my");
+		EClass thing = EcoreFactory.eINSTANCE.createEClass();
+		thing.setName("Thing");
+		thing.getEStructuralFeatures().add(createAttribute("name"));
+		ePackage.getEClassifiers().add(thing);
+		ResourceSetImpl resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new EcoreResourceFactoryImpl());
+		Resource resource = resourceSet.createResource(URI.createFileURI(ecoreFile.getAbsolutePath()));
+		resource.getContents().add(ePackage);
+		resource.save(null);
+	}
+
+	private EAttribute createAttribute(String name) {
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(name);
+		attribute.setEType(EcorePackage.Literals.ESTRING);
+		return attribute;
+	}
+}
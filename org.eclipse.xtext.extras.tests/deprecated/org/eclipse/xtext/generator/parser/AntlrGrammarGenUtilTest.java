@@ -8,6 +8,12 @@
  *******************************************************************************/
 package org.eclipse.xtext.generator.parser;
 
+import java.util.List;
+
+import org.eclipse.xtext.AbstractElement;
+import org.eclipse.xtext.Alternatives;
+import org.eclipse.xtext.Keyword;
+import org.eclipse.xtext.XtextFactory;
 import org.eclipse.xtext.generator.parser.antlr.AntlrGrammarGenUtil;
 import org.junit.Assert;
 import org.junit.Test;
@@ -46,6 +52,34 @@ public class AntlrGrammarGenUtilTest extends Assert {
 		assertEquals("('A'|'a')'\\u00DF'('C'|'c')", AntlrGrammarGenUtil.toAntlrStringIgnoreCase("AC"));
 		assertEquals("('A'|'a')'\\u00DF''\\u00DF'('C'|'c')", AntlrGrammarGenUtil.toAntlrStringIgnoreCase("AC"));
 	}
-	
-	
+
+	@Test public void testFirstSetIsCachedPerRun() throws Exception {
+		Alternatives alternatives = XtextFactory.eINSTANCE.createAlternatives();
+		alternatives.getElements().add(keyword("a"));
+		alternatives.getElements().add(keyword("b"));
+		List<AbstractElement> uncached = AntlrGrammarGenUtil.getFirstSet(alternatives);
+		assertEquals(alternatives.getElements(), uncached);
+		assertNotSame(uncached, AntlrGrammarGenUtil.getFirstSet(alternatives));
+		try {
+			uncached.add(keyword("c"));
+			fail("first-set should be unmodifiable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		@SuppressWarnings("unchecked")
+		List<AbstractElement>[] cached = new List[2];
+		AntlrGrammarGenUtil.runWithCachedFirstSets(() -> {
+			cached[0] = AntlrGrammarGenUtil.getFirstSet(alternatives);
+			AntlrGrammarGenUtil.runWithCachedFirstSets(() -> cached[1] = AntlrGrammarGenUtil.getFirstSet(alternatives));
+		});
+		assertEquals(uncached, cached[0]);
+		assertSame(cached[0], cached[1]);
+		AntlrGrammarGenUtil.runWithCachedFirstSets(() -> assertNotSame(cached[0], AntlrGrammarGenUtil.getFirstSet(alternatives)));
+	}
+
+	private Keyword keyword(String value) {
+		Keyword result = XtextFactory.eINSTANCE.createKeyword();
+		result.setValue(value);
+		return result;
+	}
 }
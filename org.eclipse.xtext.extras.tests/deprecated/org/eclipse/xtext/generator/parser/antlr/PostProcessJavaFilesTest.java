@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.generator.parser.antlr;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.xtext.Grammar;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.Files;
+
+@Deprecated
+public class PostProcessJavaFilesTest extends Assert {
+
+	private static final String GENERATED = "src-gen/org/eclipse/xtext/enumrules/parser/antlr/internal/InternalEnumRulesTestLanguage";
+
+	public static class TestAntlrGeneratorFragment extends XtextAntlrGeneratorFragment {
+		@Override
+		protected String getLineDelimiter() {
+			return "\n";
+		}
+	}
+
+	public static class TestAntlrUiGeneratorFragment extends XtextAntlrUiGeneratorFragment {
+		@Override
+		protected String getLineDelimiter() {
+			return "\n";
+		}
+	}
+
+	public static class CustomAntlrGeneratorFragment extends TestAntlrGeneratorFragment {
+		@Override
+		protected void suppressWarnings(String grammarFileName, Charset encoding) {
+			super.suppressWarnings(grammarFileName, encoding);
+			String parserJavaFile = grammarFileName.replaceAll("\\.g$", getParserFileNameSuffix());
+			writeStringIntoFile(parserJavaFile, "// customized\n" + readFileIntoString(parserJavaFile, encoding), encoding);
+		}
+	}
+
+	public static class GrammarAwareAntlrGeneratorFragment extends TestAntlrGeneratorFragment {
+		@Override
+		protected void simplifyUnorderedGroupPredicatesIfRequired(Grammar grammar, String absoluteParserFileName,
+				Charset encoding) {
+			String parserJavaFile = absoluteParserFileName.replaceAll("\\.g$", getParserFileNameSuffix());
+			writeStringIntoFile(parserJavaFile, "// simplified\n" + readFileIntoString(parserJavaFile, encoding), encoding);
+		}
+	}
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testSinglePassEqualsPerStep() throws IOException {
+		assertSinglePassEqualsPerStep(new TestAntlrGeneratorFragment(), false);
+	}
+
+	@Test
+	public void testSinglePassEqualsPerStepWithClassSplitting() throws IOException {
+		TestAntlrGeneratorFragment fragment = new TestAntlrGeneratorFragment();
+		fragment.getOptions().setClassSplitting(true);
+		fragment.getOptions().setFieldsPerClass("10");
+		fragment.getOptions().setMethodsPerClass("5");
+		assertSinglePassEqualsPerStep(fragment, true);
+	}
+
+	@Test
+	public void testSinglePassEqualsPerStepWithRemovedBacktrackingGuards() throws IOException {
+		TestAntlrUiGeneratorFragment fragment = new TestAntlrUiGeneratorFragment();
+		fragment.setRemoveBacktrackingGuards(true);
+		fragment.setLookaheadThreshold("2");
+		assertSinglePassEqualsPerStep(fragment, false);
+	}
+
+	@Test
+	public void testOverriddenStepIsApplied() throws IOException {
+		CustomAntlrGeneratorFragment fragment = new CustomAntlrGeneratorFragment();
+		assertFalse(fragment.isSinglePassPostProcessing());
+		assertTrue(new TestAntlrGeneratorFragment().isSinglePassPostProcessing());
+		File grammar = copyGeneratedFiles(temporaryFolder.newFolder("custom"));
+		fragment.postProcessJavaFiles(grammar.getPath(), grammar.getPath(), false, StandardCharsets.UTF_8);
+		assertTrue(read(grammar, "Parser.java").startsWith("// customized\n"));
+	}
+
+	@Test
+	public void testOverriddenGrammarOverloadIsApplied() throws IOException {
+		GrammarAwareAntlrGeneratorFragment fragment = new GrammarAwareAntlrGeneratorFragment();
+		assertFalse(fragment.isSinglePassPostProcessing());
+		assertTrue(fragment.isGrammarInspectedByPostProcessing());
+		File grammar = copyGeneratedFiles(temporaryFolder.newFolder("grammarAware"));
+		fragment.postProcessJavaFiles(null, grammar.getPath(), grammar.getPath(), false, StandardCharsets.UTF_8);
+		assertTrue(read(grammar, "Parser.java").startsWith("// simplified\n"));
+	}
+
+	private void assertSinglePassEqualsPerStep(AbstractAntlrGeneratorFragment fragment, boolean simplify)
+			throws IOException {
+		assertTrue(fragment.isSinglePassPostProcessing());
+		File singlePass = copyGeneratedFiles(temporaryFolder.newFolder("singlePass"));
+		File perStep = copyGeneratedFiles(temporaryFolder.newFolder("perStep"));
+		fragment.postProcessJavaFiles(singlePass.getPath(), singlePass.getPath(), simplify, StandardCharsets.UTF_8);
+		fragment.postProcessJavaFilesPerStep(perStep.getPath(), perStep.getPath(), simplify, StandardCharsets.UTF_8);
+		assertEquals(read(perStep, "Lexer.java"), read(singlePass, "Lexer.java"));
+		assertEquals(read(perStep, "Parser.java"), read(singlePass, "Parser.java"));
+	}
+
+	/**
+	 * Copies the lexer and parser of a test language with Windows line delimiters and returns the grammar file.
+	 */
+	private File copyGeneratedFiles(File folder) throws IOException {
+		File grammar = new File(folder, "InternalEnumRulesTestLanguage.g");
+		for (String suffix : new String[] { "Lexer.java", "Parser.java" }) {
+			String content = Files.asCharSource(new File(GENERATED + suffix), StandardCharsets.UTF_8).read();
+			Files.asCharSink(new File(folder, grammar.getName().replace(".g", suffix)), StandardCharsets.UTF_8)
+					.write(content.replace("\r\n", "\n").replace("\n", "\r\n"));
+		}
+		return grammar;
+	}
+
+	private String read(File grammar, String suffix) throws IOException {
+		return Files.asCharSource(new File(grammar.getParentFile(), grammar.getName().replace(".g", suffix)),
+				StandardCharsets.UTF_8).read();
+	}
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.smap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+
+import com.google.common.io.ByteStreams;
+
+public class SDEInstallerTest {
+
+	private static final String SMAP = "SMAP\nSDEInstallerTest.java\nXtend\n*S Xtend\n*F\n+ 0 Gr\u00fc\u00dfe.xtend\nGr\u00fc\u00dfe.xtend\n*L\n1#0:10\n*E\n";
+
+	private static final String OTHER_SMAP = "SMAP\nSDEInstallerTest.java\nXtend\n*S Xtend\n*F\n+ 0 Other.xtend\nOther.xtend\n*L\n2#0:10\n*E\n";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testInstall() throws IOException {
+		byte[] original = getClassFileBytes();
+		Assert.assertNull(getSourceDebugExtension(original));
+		SDEInstaller installer = new SDEInstaller(original, SMAP.getBytes(StandardCharsets.UTF_8));
+		Assert.assertFalse(installer.isSDEUnchanged());
+		byte[] installed = installer.getUpdatedByteCode();
+		Assert.assertEquals(SMAP, getSourceDebugExtension(installed));
+		Assert.assertEquals(getSourceFile(original), getSourceFile(installed));
+	}
+
+	@Test
+	public void testReplaceExistingSDE() throws IOException {
+		byte[] installed = new SDEInstaller(getClassFileBytes(), SMAP.getBytes(StandardCharsets.UTF_8))
+				.getUpdatedByteCode();
+		SDEInstaller installer = new SDEInstaller(installed, OTHER_SMAP.getBytes(StandardCharsets.UTF_8));
+		Assert.assertFalse(installer.isSDEUnchanged());
+		byte[] replaced = installer.getUpdatedByteCode();
+		Assert.assertEquals(OTHER_SMAP, getSourceDebugExtension(replaced));
+		Assert.assertEquals(installed.length - SMAP.getBytes(StandardCharsets.UTF_8).length
+				+ OTHER_SMAP.getBytes(StandardCharsets.UTF_8).length, replaced.length);
+	}
+
+	@Test
+	public void testSameSDEIsUnchanged() throws IOException {
+		byte[] installed = new SDEInstaller(getClassFileBytes(), SMAP.getBytes(StandardCharsets.UTF_8))
+				.getUpdatedByteCode();
+		SDEInstaller installer = new SDEInstaller(installed, SMAP.getBytes(StandardCharsets.UTF_8));
+		Assert.assertTrue(installer.isSDEUnchanged());
+		Assert.assertArrayEquals(installed, installer.getUpdatedByteCode());
+	}
+
+	@Test
+	public void testInstallIntoFolder() throws IOException {
+		Path folder = temporaryFolder.getRoot().toPath();
+		Path classFile = folder.resolve("org/example/Foo.class");
+		Files.createDirectories(classFile.getParent());
+		Files.write(classFile, getClassFileBytes());
+		Files.write(folder.resolve("org/example/Bar.class"), getClassFileBytes());
+		BatchSmapInstaller.Statistics statistics = new BatchSmapInstaller().installIntoFolder(folder,
+				path -> "org/example/Foo.class".equals(path) ? SMAP : null);
+		Assert.assertEquals(1, statistics.getInstalled());
+		Assert.assertEquals(1, statistics.getSkipped());
+		Assert.assertEquals(SMAP, getSourceDebugExtension(Files.readAllBytes(classFile)));
+		statistics = new BatchSmapInstaller().installIntoFolder(folder, path -> SMAP);
+		Assert.assertEquals(1, statistics.getInstalled());
+		Assert.assertEquals(1, statistics.getUnchanged());
+	}
+
+	private byte[] getClassFileBytes() throws IOException {
+		try (InputStream in = SDEInstallerTest.class.getResourceAsStream("SDEInstallerTest.class")) {
+			return ByteStreams.toByteArray(in);
+		}
+	}
+
+	private String getSourceDebugExtension(byte[] classFile) {
+		String[] result = new String[1];
+		new ClassReader(classFile).accept(new ClassVisitor(Opcodes.ASM9) {
+			@Override
+			public void visitSource(String source, String debug) {
+				result[0] = debug;
+			}
+		}, ClassReader.SKIP_CODE);
+		return result[0];
+	}
+
+	private String getSourceFile(byte[] classFile) {
+		String[] result = new String[1];
+		new ClassReader(classFile).accept(new ClassVisitor(Opcodes.ASM9) {
+			@Override
+			public void visitSource(String source, String debug) {
+				result[0] = source;
+			}
+		}, ClassReader.SKIP_CODE);
+		return result[0];
+	}
+}
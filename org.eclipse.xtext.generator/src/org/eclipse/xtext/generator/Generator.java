@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -107,6 +108,13 @@ public class Generator extends AbstractWorkflowComponent2 {
 	 */
 	public static final String MODEL = "MODEL";
 	public static final String PLUGIN_RT = "PLUGIN";
+	/**
+	 * The folder next to the <code>src-gen</code> folders that contains the fingerprints of the generated languages,
+	 * e.g. <code>.fingerprints/src-gen</code> in the project of a <code>src-gen</code> folder.
+	 *
+	 * @since 2.25
+	 */
+	public static final String FINGERPRINT_FOLDER = ".fingerprints";
 
 	private static final String FILE_HEADER_VAR_TIME = "${time}";
 	private static final String FILE_HEADER_VAR_DATE = "${date}";
@@ -175,10 +183,23 @@ public class Generator extends AbstractWorkflowComponent2 {
 	@Override
 	protected void invokeInternal(WorkflowContext ctx, ProgressMonitor monitor, Issues issues) {
 		new XtextStandaloneSetup().createInjectorAndDoEMFRegistration();
+		GeneratorTaskScheduler scheduler = new GeneratorTaskScheduler(getParallelTasks());
 		try {
-			XpandExecutionContext exeCtx = createExecutionContext();
+			XpandExecutionContext exeCtx = createExecutionContext(scheduler);
+			Map<LanguageConfig, String> fingerprints = new LinkedHashMap<LanguageConfig, String>();
 			for (LanguageConfig config : languageConfigs) {
-				generate(config, exeCtx, issues);
+				if (isSkipUnchangedLanguages()) {
+					String fingerprint = getFingerprint(config);
+					if (isUnchanged(config, fingerprint, exeCtx)) {
+						LOG.info("Skipping the unchanged language " + config.getGrammar().getName());
+					} else {
+						deleteFingerprints(config, exeCtx);
+						generate(config, exeCtx, issues);
+						fingerprints.put(config, fingerprint);
+					}
+				} else {
+					generate(config, exeCtx, issues);
+				}
 				addToStandaloneSetup(config, exeCtx);
 				generateGuiceModuleRt(config, exeCtx);
 				if (isUi()) {
@@ -199,12 +220,20 @@ public class Generator extends AbstractWorkflowComponent2 {
 			if (isTest()) {
 				generateManifestTests(languageConfigs, exeCtx);
 			}
+			scheduler.join();
+			if (!issues.hasErrors()) {
+				for (Map.Entry<LanguageConfig, String> entry : fingerprints.entrySet()) {
+					writeFingerprints(entry.getKey(), entry.getValue(), exeCtx);
+				}
+			}
 		} catch (WorkflowInterruptedException e) {
 			throw e;
 		} catch (CompositeGeneratorException e) {
 			handleCompositeException(issues, e);
 		} catch (Exception e) {
 			LOG.error(e.getMessage(), e);
+		} finally {
+			scheduler.cancel();
 		}
 	}
 
@@ -380,7 +409,7 @@ public class Generator extends AbstractWorkflowComponent2 {
 		this.fileHeader = fileHeader;
 	}
 
-	private XpandExecutionContext createExecutionContext() {
+	private XpandExecutionContext createExecutionContext(GeneratorTaskScheduler scheduler) {
 		// configure outlets
 		OutputImpl output = new OutputImpl();
 
@@ -424,6 +453,7 @@ public class Generator extends AbstractWorkflowComponent2 {
 		// initialize global vars
 		Map<String, Variable> globalVars = Maps.newHashMap();
 		globalVars.put(Naming.GLOBAL_VAR_NAME, new Variable(Naming.GLOBAL_VAR_NAME, naming));
+		globalVars.put(GeneratorTaskScheduler.GLOBAL_VAR_NAME, new Variable(GeneratorTaskScheduler.GLOBAL_VAR_NAME, scheduler));
 
 		// create execution context
 		XpandExecutionContextImpl execCtx = new XpandExecutionContextImpl(output, null, globalVars, null, null);
@@ -598,6 +628,138 @@ public class Generator extends AbstractWorkflowComponent2 {
 		return getPathTestProject() != null;
 	}
 
+	private int parallelTasks = 1;
+
+	/**
+	 * Sets the number of threads that run the file based parts of the fragments, e.g. the ANTLR tool of the parser and
+	 * of the content assist parser, concurrently to each other and to the remaining fragments and languages. The
+	 * templates are still evaluated by the workflow thread, since the Xpand execution context is not thread-safe.
+	 * Defaults to <code>1</code>, which runs everything in order.
+	 *
+	 * @see GeneratorTaskScheduler
+	 * @since 2.25
+	 */
+	public void setParallelTasks(int parallelTasks) {
+		this.parallelTasks = parallelTasks;
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public int getParallelTasks() {
+		return parallelTasks;
+	}
+
+	private boolean skipUnchangedLanguages = false;
+
+	/**
+	 * Skips the fragments of a language if neither its grammar, the grammars it uses, the configuration of its
+	 * fragments, the settings of this generator nor the version of the generator changed since the last run. The
+	 * existing artifacts of the language are kept in that case. The standalone setup, the Guice modules, the
+	 * <code>plugin.xml</code> and the manifests are always generated.
+	 *
+	 * A fingerprint of the last run is stored per <code>src-gen</code> folder in the folder {@value #FINGERPRINT_FOLDER}
+	 * next to it, i.e. outside of the source folders, so it is neither compiled nor packaged. It should be excluded from
+	 * version control. An empty <code>src-gen</code> folder enforces a new generation, so cleaning the generated sources
+	 * still regenerates all languages. Disabled by default.
+	 *
+	 * @since 2.25
+	 */
+	public void setSkipUnchangedLanguages(boolean skipUnchangedLanguages) {
+		this.skipUnchangedLanguages = skipUnchangedLanguages;
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public boolean isSkipUnchangedLanguages() {
+		return skipUnchangedLanguages;
+	}
+
+	private static final List<String> TEMPLATES = Arrays.asList(
+			"org::eclipse::xtext::generator::Plugin",
+			"org::eclipse::xtext::generator::ExecutableExtensionFactory",
+			"org::eclipse::xtext::generator::Activator",
+			"org::eclipse::xtext::generator::StandaloneSetup",
+			"org::eclipse::xtext::generator::GuiceModuleRt",
+			"org::eclipse::xtext::generator::GuiceModuleUi",
+			"org::eclipse::xtext::generator::Manifest");
+
+	private String getFingerprint(LanguageConfig config) {
+		LanguageFingerprint fingerprint = new LanguageFingerprint()
+				.addImplementation(getClass())
+				.add("version", getVersion())
+				.add("projectNameRt", getProjectNameRt())
+				.add("projectNameIde", getProjectNameIde())
+				.add("projectNameUi", getProjectNameUi())
+				.add("projectNameTests", getProjectNameTests())
+				.add("pathRtProject", getPathRtProject())
+				.add("pathIdeProject", getPathIdeProject())
+				.add("pathUiProject", getPathUiProject())
+				.add("pathTestProject", getPathTestProject())
+				.add("srcPath", getSrcPath())
+				.add("srcGenPath", getSrcGenPath())
+				.add("fileHeader", fileHeader)
+				.add("encoding", getEncoding())
+				.add("lineDelimiter", getLineDelimiter())
+				.add("classAnnotations", getClassAnnotationsAsString())
+				.add("activator", getActivator());
+		for (String template : TEMPLATES) {
+			fingerprint.addTemplate(Generator.class.getClassLoader(), template);
+		}
+		return fingerprint.addLanguage(config).getValue();
+	}
+
+	private List<File> getSrcGenFolders(XpandExecutionContext ctx) {
+		Set<String> srcGenOutlets = new LinkedHashSet<String>(Arrays.asList(SRC_GEN, SRC_GEN_IDE));
+		if (isUi()) {
+			srcGenOutlets.add(SRC_GEN_UI);
+		}
+		if (isTest()) {
+			srcGenOutlets.add(SRC_GEN_TEST);
+		}
+		Set<File> result = new LinkedHashSet<File>();
+		for (String outlet : srcGenOutlets) {
+			result.add(new File(ctx.getOutput().getOutlet(outlet).getPath()).getAbsoluteFile());
+		}
+		return new ArrayList<File>(result);
+	}
+
+	/**
+	 * The fingerprints are stored next to the <code>src-gen</code> folder rather than inside of it, so they are not
+	 * copied to the output folder like other resources of a source folder.
+	 */
+	private File getFingerprintFile(File srcGenFolder, LanguageConfig config) {
+		File folder = new File(new File(srcGenFolder.getParentFile(), FINGERPRINT_FOLDER), srcGenFolder.getName());
+		return new File(folder, config.getGrammar().getName());
+	}
+
+	private boolean isUnchanged(LanguageConfig config, String fingerprint, XpandExecutionContext ctx) {
+		for (File srcGenFolder : getSrcGenFolders(ctx)) {
+			String[] children = srcGenFolder.list();
+			if (children == null || children.length == 0
+					|| !LanguageFingerprint.matches(getFingerprintFile(srcGenFolder, config), fingerprint)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void deleteFingerprints(LanguageConfig config, XpandExecutionContext ctx) {
+		for (File srcGenFolder : getSrcGenFolders(ctx)) {
+			File file = getFingerprintFile(srcGenFolder, config);
+			if (file.exists() && !file.delete()) {
+				throw new IllegalStateException("couldn't delete file '" + file);
+			}
+		}
+	}
+
+	private void writeFingerprints(LanguageConfig config, String fingerprint, XpandExecutionContext ctx) {
+		for (File srcGenFolder : getSrcGenFolders(ctx)) {
+			LanguageFingerprint.write(getFingerprintFile(srcGenFolder, config), fingerprint);
+		}
+	}
+
 	private void generate(LanguageConfig config, XpandExecutionContext ctx, Issues issues) {
 		try {
 			config.generate(config, ctx);
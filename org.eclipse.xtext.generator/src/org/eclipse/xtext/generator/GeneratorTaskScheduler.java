@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.generator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.mwe.core.WorkflowInterruptedException;
+import org.eclipse.xpand2.XpandExecutionContext;
+import org.eclipse.xtend.expression.Variable;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Runs the parts of generator fragments that only work on files, e.g. the ANTLR tool and the post processing of its
+ * output, on a thread pool while the fragments that follow continue to use the {@link XpandExecutionContext}, which
+ * is not thread-safe.
+ *
+ * Tasks with the same key depend on each other and run in the order in which they were scheduled. Tasks with
+ * different keys may run concurrently. If a task fails, the tasks with the same key that follow it are skipped.
+ *
+ * Tasks that access the model, e.g. the grammar, are not thread-safe and have to
+ * {@link #runOnCurrentThread(XpandExecutionContext, String, Runnable) run on the workflow thread}. They still wait for
+ * the tasks with the same key that were scheduled before them.
+ *
+ * The {@link Generator} registers its scheduler as the global variable {@value #GLOBAL_VAR_NAME} and waits for all
+ * tasks before it completes. Without a registered scheduler, tasks run immediately.
+ *
+ * @since 2.25
+ */
+public class GeneratorTaskScheduler {
+
+	public static final String GLOBAL_VAR_NAME = "generatorTaskScheduler";
+
+	/**
+	 * Schedules the task with the scheduler of the given context, or runs it immediately if there is none.
+	 */
+	public static void schedule(XpandExecutionContext ctx, String key, Runnable task) {
+		Variable variable = ctx.getGlobalVariables().get(GLOBAL_VAR_NAME);
+		if (variable != null && variable.getValue() instanceof GeneratorTaskScheduler) {
+			((GeneratorTaskScheduler) variable.getValue()).schedule(key, task);
+		} else {
+			task.run();
+		}
+	}
+
+	/**
+	 * Runs the task on the current thread after the tasks with the same key that were scheduled with the scheduler of
+	 * the given context. Without a scheduler, the task runs immediately.
+	 */
+	public static void runOnCurrentThread(XpandExecutionContext ctx, String key, Runnable task) {
+		Variable variable = ctx.getGlobalVariables().get(GLOBAL_VAR_NAME);
+		if (variable != null && variable.getValue() instanceof GeneratorTaskScheduler) {
+			((GeneratorTaskScheduler) variable.getValue()).runOnCurrentThread(key, task);
+		} else {
+			task.run();
+		}
+	}
+
+	private final ExecutorService executor;
+
+	private final Map<String, Future<?>> lastTasks = Maps.newHashMap();
+
+	private final List<Future<?>> tasks = Lists.newArrayList();
+
+	/**
+	 * @param threads
+	 *            the maximum number of concurrent tasks. With a single thread, all tasks run immediately on the
+	 *            scheduling thread.
+	 */
+	public GeneratorTaskScheduler(int threads) {
+		if (threads > 1) {
+			AtomicInteger count = new AtomicInteger();
+			ThreadFactory threadFactory = runnable -> {
+				Thread result = new Thread(runnable, "Xtext generator task " + count.incrementAndGet());
+				result.setDaemon(true);
+				return result;
+			};
+			executor = Executors.newFixedThreadPool(threads, threadFactory);
+		} else {
+			executor = null;
+		}
+	}
+
+	public synchronized void schedule(String key, Runnable task) {
+		if (executor == null) {
+			task.run();
+			return;
+		}
+		Future<?> predecessor = lastTasks.get(key);
+		// tasks are started in the order of their submission, so the predecessor has been started already
+		Future<?> future = executor.submit(() -> {
+			if (predecessor != null) {
+				try {
+					predecessor.get();
+				} catch (ExecutionException e) {
+					throw new SkippedTaskException();
+				}
+			}
+			task.run();
+			return null;
+		});
+		lastTasks.put(key, future);
+		tasks.add(future);
+	}
+
+	/**
+	 * Runs the task on the current thread after the tasks with the same key that were scheduled before. If one of them
+	 * failed, the task is skipped like a scheduled one; the failure is reported by {@link #join()}.
+	 */
+	public void runOnCurrentThread(String key, Runnable task) {
+		Future<?> predecessor;
+		synchronized (this) {
+			predecessor = lastTasks.get(key);
+		}
+		if (predecessor != null) {
+			try {
+				predecessor.get();
+			} catch (ExecutionException e) {
+				// the failed predecessor stays registered, so the tasks that follow are skipped, too
+				return;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new WorkflowInterruptedException("Interrupted while waiting for the generator tasks");
+			}
+		}
+		task.run();
+	}
+
+	/**
+	 * Waits for all scheduled tasks and stops the threads of this scheduler.
+	 *
+	 * @throws CompositeGeneratorException
+	 *             if any of the tasks failed.
+	 */
+	public void join() throws CompositeGeneratorException {
+		if (executor == null) {
+			return;
+		}
+		CompositeGeneratorException cgEx = new CompositeGeneratorException();
+		try {
+			for (Future<?> task : getTasks()) {
+				try {
+					task.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof SkippedTaskException) {
+						continue;
+					}
+					if (cause instanceof WorkflowInterruptedException) {
+						throw (WorkflowInterruptedException) cause;
+					}
+					cgEx.addException(cause instanceof Exception ? (Exception) cause : e);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new WorkflowInterruptedException("Interrupted while waiting for the generator tasks");
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		if (cgEx.hasExceptions()) {
+			throw cgEx;
+		}
+	}
+
+	/**
+	 * Stops all tasks without waiting for them.
+	 */
+	public void cancel() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Marks a task that was skipped because a preceding task with the same key failed. The failure itself is reported
+	 * for the preceding task.
+	 */
+	private static class SkippedTaskException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private synchronized List<Future<?>> getTasks() {
+		return Lists.newArrayList(tasks);
+	}
+}
@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.generator;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.AbstractMetamodelDeclaration;
+import org.eclipse.xtext.GeneratedMetamodel;
+import org.eclipse.xtext.Grammar;
+import org.eclipse.xtext.GrammarUtil;
+import org.eclipse.xtext.generator.parser.antlr.AbstractAntlrGeneratorFragment;
+import org.eclipse.xtext.generator.parser.antlr.AntlrGrammarGenUtil;
+import org.eclipse.xtext.generator.parser.antlr.AntlrToolFacade;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.xtext.generator.parser.antlr.splitting.AntlrCodeQualityHelper;
+
+import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+
+/**
+ * A digest of everything that determines the artifacts of a {@link LanguageConfig}: the text of the grammar and of the
+ * grammars that it uses, the imported metamodels, the additionally loaded resources, the configuration of the fragments,
+ * the settings of the {@link Generator}, its version and the implementation of the generator and its fragments,
+ * including the jars of the ANTLR helpers and of the ANTLR tool.
+ *
+ * The configuration of a fragment is the values of its fields with a primitive, string or enum type, the configuration
+ * of nested fragments and the bean properties of other values, e.g. the {@code AntlrOptions} of a parser fragment.
+ */
+class LanguageFingerprint {
+
+	private final MessageDigest digest;
+
+	private final Set<Object> visited = Sets.newIdentityHashSet();
+
+	private final Set<String> locations = Sets.newHashSet();
+
+	LanguageFingerprint() {
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new WrappedException(e);
+		}
+	}
+
+	LanguageFingerprint add(String key, Object value) {
+		update(key);
+		update(String.valueOf(value));
+		return this;
+	}
+
+	/**
+	 * Adds the byte code of the given class and of its super classes as well as the Xpand templates next to them, so
+	 * that a changed generator invalidates the fingerprint even if its version did not change. The jars that contain
+	 * them are added, too, since the classes may use helpers of the same jar.
+	 */
+	LanguageFingerprint addImplementation(Class<?> implementation) {
+		for (Class<?> type = implementation; type != null && type != Object.class; type = type.getSuperclass()) {
+			if (!visited.add(type)) {
+				continue;
+			}
+			update(type.getName());
+			String path = type.getName().replace('.', '/');
+			addClasspathContent(type.getClassLoader(), path + ".class");
+			addClasspathContent(type.getClassLoader(), path + ".xpt");
+			addCodeSource(type);
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the content of the jar that contains the given class. Classes that are loaded from a folder are covered by
+	 * {@link #addImplementation(Class)}.
+	 */
+	LanguageFingerprint addCodeSource(Class<?> type) {
+		try {
+			CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+			if (codeSource != null) {
+				addLocation(codeSource.getLocation());
+			}
+		} catch (SecurityException e) {
+			// the fingerprint still contains the class if it was added as an implementation
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the content of the jar at the given location. The content is used rather than the path, so the fingerprint
+	 * does not depend on the local repository of the machine.
+	 */
+	LanguageFingerprint addLocation(URL location) {
+		if (location == null || !locations.add(location.toString())) {
+			return this;
+		}
+		try {
+			File file = new File(location.toURI());
+			if (file.isFile()) {
+				update(file.getName());
+				try (InputStream in = new FileInputStream(file)) {
+					byte[] buffer = new byte[8192];
+					for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+						digest.update(buffer, 0, read);
+					}
+				}
+			}
+		} catch (URISyntaxException | IllegalArgumentException | IOException e) {
+			update(location.toString());
+		}
+		return this;
+	}
+
+	/**
+	 * Adds an Xpand template by its qualified name, e.g. {@code org::eclipse::xtext::generator::Plugin}.
+	 */
+	LanguageFingerprint addTemplate(ClassLoader classLoader, String template) {
+		addClasspathContent(classLoader, template.replace("::", "/") + ".xpt");
+		return this;
+	}
+
+	private void addClasspathContent(ClassLoader classLoader, String path) {
+		if (classLoader == null) {
+			return;
+		}
+		try (InputStream in = classLoader.getResourceAsStream(path)) {
+			if (in != null) {
+				update(path);
+				digest.update(ByteStreams.toByteArray(in));
+			}
+		} catch (IOException e) {
+			// the fingerprint still contains the class name
+		}
+	}
+
+	LanguageFingerprint addLanguage(LanguageConfig config) {
+		Grammar grammar = config.getGrammar();
+		addGrammar(grammar);
+		addMetamodels(grammar);
+		for (Grammar usedGrammar : GrammarUtil.allUsedGrammars(grammar)) {
+			addGrammar(usedGrammar);
+			addMetamodels(usedGrammar);
+		}
+		ResourceSet resourceSet = grammar.eResource().getResourceSet();
+		for (String loadedResource : config.getLoadedResources()) {
+			addContent(resourceSet, URI.createURI(loadedResource));
+		}
+		add("fileExtensions", config.getFileExtensions(grammar));
+		addFragment(config);
+		return this;
+	}
+
+	private void addGrammar(Grammar grammar) {
+		Resource resource = grammar.eResource();
+		add("grammar", grammar.getName());
+		if (resource instanceof XtextResource && ((XtextResource) resource).getParseResult() != null) {
+			update(((XtextResource) resource).getParseResult().getRootNode().getText());
+		} else if (resource != null) {
+			add("uri", resource.getURI());
+		}
+	}
+
+	/**
+	 * Adds the imported metamodels. Metamodels that are not loaded from a resource of their own, e.g. the ones of the
+	 * EMF registry, are identified by their namespace URI only.
+	 */
+	private void addMetamodels(Grammar grammar) {
+		for (AbstractMetamodelDeclaration declaration : grammar.getMetamodelDeclarations()) {
+			EPackage ePackage = declaration.getEPackage();
+			if (declaration instanceof GeneratedMetamodel || ePackage == null) {
+				continue;
+			}
+			add("metamodel", ePackage.getNsURI());
+			Resource resource = ePackage.eResource();
+			if (resource != null && EPackage.Registry.INSTANCE.get(ePackage.getNsURI()) != ePackage) {
+				try {
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					resource.save(out, null);
+					digest.update(out.toByteArray());
+				} catch (IOException | RuntimeException e) {
+					// the fingerprint still contains the namespace URI
+				}
+			}
+		}
+	}
+
+	private void addContent(ResourceSet resourceSet, URI uri) {
+		add("resource", uri);
+		try (InputStream in = resourceSet.getURIConverter().createInputStream(uri)) {
+			digest.update(ByteStreams.toByteArray(in));
+		} catch (IOException e) {
+			// the fingerprint still contains the URI
+		}
+	}
+
+	private void addFragment(Object fragment) {
+		if (!visited.add(fragment)) {
+			return;
+		}
+		addImplementation(fragment.getClass());
+		update(fragment.getClass().getName());
+		if (fragment instanceof AbstractAntlrGeneratorFragment) {
+			addAntlr((AbstractAntlrGeneratorFragment) fragment);
+		}
+		for (Class<?> type = fragment.getClass(); type != Object.class; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+					continue;
+				}
+				try {
+					field.setAccessible(true);
+					addValue(field.getName(), field.get(fragment));
+				} catch (ReflectiveOperationException | RuntimeException e) {
+					update(field.getName());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the helpers that post process the parsers and the ANTLR tool.
+	 */
+	private void addAntlr(AbstractAntlrGeneratorFragment fragment) {
+		addCodeSource(AntlrGrammarGenUtil.class);
+		addCodeSource(AntlrCodeQualityHelper.class);
+		AntlrToolFacade antlrTool = fragment.getAntlrTool();
+		if (antlrTool != null) {
+			addImplementation(antlrTool.getClass());
+			addLocation(antlrTool.getToolLocation());
+		}
+	}
+
+	private void addValue(String name, Object value) {
+		if (value == null || isSimple(value)) {
+			add(name, value);
+		} else if (value instanceof IGeneratorFragment) {
+			update(name);
+			addFragment(value);
+		} else if (value instanceof Collection<?>) {
+			update(name);
+			for (Object element : (Collection<?>) value) {
+				addValue("element", element);
+			}
+		} else if (value instanceof Map<?, ?>) {
+			update(name);
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				addValue("key", entry.getKey());
+				addValue("value", entry.getValue());
+			}
+		} else if (value.getClass().isArray() && !value.getClass().getComponentType().isPrimitive()) {
+			update(name);
+			for (Object element : (Object[]) value) {
+				addValue("element", element);
+			}
+		} else if (value instanceof EObject) {
+			add(name, EcoreUtil.getURI((EObject) value));
+		} else if (value instanceof Notifier) {
+			add(name, value.getClass().getName());
+		} else {
+			update(name);
+			addBean(value);
+		}
+	}
+
+	/**
+	 * Adds the readable properties of a nested configuration object. Setters that convert their argument, e.g.
+	 * {@code setFieldsPerClass(String)}, do not form a property with their getter, so only the getter is required.
+	 */
+	private void addBean(Object bean) {
+		update(bean.getClass().getName());
+		if (!visited.add(bean)) {
+			return;
+		}
+		PropertyDescriptor[] properties;
+		try {
+			properties = Introspector.getBeanInfo(bean.getClass(), Object.class).getPropertyDescriptors();
+		} catch (IntrospectionException e) {
+			return;
+		}
+		for (PropertyDescriptor property : properties) {
+			if (property.getReadMethod() == null) {
+				continue;
+			}
+			try {
+				addValue(property.getName(), property.getReadMethod().invoke(bean));
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				update(property.getName());
+			}
+		}
+	}
+
+	private boolean isSimple(Object value) {
+		return value instanceof String || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum<?>;
+	}
+
+	private void update(String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * Completes the digest. The fingerprint must not be used afterwards.
+	 */
+	String getValue() {
+		StringBuilder result = new StringBuilder();
+		for (byte b : digest.digest()) {
+			result.append(String.format("%02x", b));
+		}
+		return result.toString();
+	}
+
+	static boolean matches(File file, String fingerprint) {
+		if (!file.isFile()) {
+			return false;
+		}
+		try {
+			return fingerprint.equals(Files.asCharSource(file, StandardCharsets.UTF_8).read().trim());
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	static void write(File file, String fingerprint) {
+		try {
+			Files.createParentDirs(file);
+			Files.asCharSink(file, StandardCharsets.UTF_8).write(fingerprint);
+		} catch (IOException e) {
+			throw new WrappedException(e);
+		}
+	}
+}
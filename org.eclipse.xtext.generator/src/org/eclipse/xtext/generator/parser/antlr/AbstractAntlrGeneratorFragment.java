@@ -13,6 +13,7 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 import org.eclipse.emf.mwe.core.issues.Issues;
 import org.eclipse.xpand2.XpandExecutionContext;
@@ -22,6 +23,7 @@ import org.eclipse.xtext.GrammarUtil;
 import org.eclipse.xtext.ParserRule;
 import org.eclipse.xtext.UnorderedGroup;
 import org.eclipse.xtext.generator.AbstractGeneratorFragment;
+import org.eclipse.xtext.generator.GeneratorTaskScheduler;
 import org.eclipse.xtext.generator.NewlineNormalizer;
 import org.eclipse.xtext.generator.parser.antlr.postProcessing.SuppressWarningsProcessor;
 import org.eclipse.xtext.generator.parser.packrat.PackratParserFragment;
@@ -132,7 +134,7 @@ public abstract class AbstractAntlrGeneratorFragment extends AbstractGeneratorFr
 		filter.setDiscardUnreachableRules(getOptions().isSkipUnusedRules());
 		RuleNames ruleNames = RuleNames.getRuleNames(grammar, true);
 		Grammar flattened = new FlattenedGrammarAccess(ruleNames, filter).getFlattenedGrammar();
-		super.generate(flattened, ctx);
+		AntlrGrammarGenUtil.runWithCachedFirstSets(() -> super.generate(flattened, ctx));
 	}
 
 	/**
@@ -157,9 +159,13 @@ public abstract class AbstractAntlrGeneratorFragment extends AbstractGeneratorFr
 	 */
 	protected void splitLexerClassFile(String filename, Charset encoding) throws IOException {
 		String content = readFileIntoString(filename, encoding);
+		writeStringIntoFile(filename, splitLexerClass(content), encoding);
+	}
+
+	private String splitLexerClass(String content) {
 		AntlrLexerSplitter splitter = new AntlrLexerSplitter(content);
 		splitter.setCasesPerSpecialStateSwitch(options.getCasesPerSpecialStateSwitch());
-		writeStringIntoFile(filename, splitter.transform(), encoding);
+		return splitter.transform();
 	}
 
 	/**
@@ -175,9 +181,13 @@ public abstract class AbstractAntlrGeneratorFragment extends AbstractGeneratorFr
 	 */
 	protected void splitParserClassFile(String filename, Charset encoding) throws IOException {
 		String content = readFileIntoString(filename, encoding);
+		writeStringIntoFile(filename, splitParserClass(content), encoding);
+	}
+
+	private String splitParserClass(String content) {
 		AntlrParserSplitter splitter = new AntlrParserSplitter(content, getOptions().getFieldsPerClass());
 		PartialClassExtractor extractor = new PartialClassExtractor(splitter.transform(), getOptions().getMethodsPerClass());
-		writeStringIntoFile(filename, extractor.transform(), encoding);
+		return extractor.transform();
 	}
 
 	/**
@@ -192,8 +202,25 @@ public abstract class AbstractAntlrGeneratorFragment extends AbstractGeneratorFr
 	 * @since 2.7
 	 */
 	protected void simplifyUnorderedGroupPredicatesIfRequired(Grammar grammar, String absoluteParserFileName, Charset encoding) {
+		simplifyUnorderedGroupPredicatesIfRequired(isSimplifyUnorderedGroupPredicatesRequired(grammar), absoluteParserFileName, encoding);
+	}
+
+	/**
+	 * Whether the parser of the given grammar needs {@link #simplifyUnorderedGroupPredicates(String, Charset)}.
+	 * Allows to inspect the grammar before the post processing is {@link GeneratorTaskScheduler scheduled}.
+	 * 
+	 * @since 2.25
+	 */
+	protected boolean isSimplifyUnorderedGroupPredicatesRequired(Grammar grammar) {
+		return containsUnorderedGroup(grammar) || hasParameterizedRules(grammar);
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	protected void simplifyUnorderedGroupPredicatesIfRequired(boolean required, String absoluteParserFileName, Charset encoding) {
 		try {
-			if (containsUnorderedGroup(grammar) || hasParameterizedRules(grammar)) {
+			if (required) {
 				String javaFile = absoluteParserFileName.replaceAll("\\.g$", getParserFileNameSuffix());
 				simplifyUnorderedGroupPredicates(javaFile, encoding);
 			}
@@ -231,13 +258,16 @@ public abstract class AbstractAntlrGeneratorFragment extends AbstractGeneratorFr
 	 */
 	protected void simplifyUnorderedGroupPredicates(String javaFile, Charset encoding) throws IOException {
 		String content = readFileIntoString(javaFile, encoding);
+		writeStringIntoFile(javaFile, simplifyUnorderedGroupPredicatesInContent(content), encoding);
+	}
+
+	private String simplifyUnorderedGroupPredicatesInContent(String content) {
 		UnorderedGroupsSplitter splitter = new UnorderedGroupsSplitter(content);
 		String transformed = splitter.transform();
 		SyntacticPredicateFixup fixup = new SyntacticPredicateFixup(transformed);
 		transformed = fixup.transform();
 		BacktrackingGuardForUnorderedGroupsRemover remover = new BacktrackingGuardForUnorderedGroupsRemover(transformed);
-		String newContent = remover.transform();
-		writeStringIntoFile(javaFile, newContent, encoding);
+		return remover.transform();
 	}
 
 	/**
@@ -287,7 +317,11 @@ public abstract class AbstractAntlrGeneratorFragment extends AbstractGeneratorFr
 
 	private void normalizeLineDelimitersImpl(String textFile, Charset encoding) {
 		String content = readFileIntoString(textFile, encoding);
-		content = new NewlineNormalizer(getLineDelimiter()) {
+		writeStringIntoFile(textFile, normalizeLineDelimitersInContent(content), encoding);
+	}
+
+	private String normalizeLineDelimitersInContent(String content) {
+		return new NewlineNormalizer(getLineDelimiter()) {
 			// Antlr tries to outsmart us by using a line length that depends on the system
 			// line delimiter when it splits a very long String (encoded DFA) into a
 			// string concatenation
@@ -299,7 +333,6 @@ public abstract class AbstractAntlrGeneratorFragment extends AbstractGeneratorFr
 				return result;
 			}
 		}.normalizeLineDelimiters(content);
-		writeStringIntoFile(textFile, content, encoding);
 	}
 
 	/**
@@ -368,15 +401,217 @@ public abstract class AbstractAntlrGeneratorFragment extends AbstractGeneratorFr
 	 */
 	protected void improveCodeQuality(String lexerJavaFile, String parserJavaFile, final Charset encoding) {
 		String lexerContent = readFileIntoString(lexerJavaFile, encoding);
-		lexerContent = codeQualityHelper.stripUnnecessaryComments(lexerContent, getOptions());
-		writeStringIntoFile(lexerJavaFile, lexerContent, encoding);
+		writeStringIntoFile(lexerJavaFile, improveLexerCodeQuality(lexerContent), encoding);
 
 		String parserContent = readFileIntoString(parserJavaFile, encoding);
-		parserContent = codeQualityHelper.stripUnnecessaryComments(parserContent, getOptions());
-		parserContent = codeQualityHelper.removeDuplicateBitsets(parserContent, getOptions());
-		parserContent = codeQualityHelper.removeDuplicateDFAs(parserContent, getOptions());
-		writeStringIntoFile(parserJavaFile, parserContent, encoding);
+		writeStringIntoFile(parserJavaFile, improveParserCodeQuality(parserContent), encoding);
+	}
+
+	private String improveLexerCodeQuality(String content) {
+		return codeQualityHelper.stripUnnecessaryComments(content, getOptions());
+	}
+
+	private String improveParserCodeQuality(String content) {
+		String result = codeQualityHelper.stripUnnecessaryComments(content, getOptions());
+		result = codeQualityHelper.removeDuplicateBitsets(result, getOptions());
+		return codeQualityHelper.removeDuplicateDFAs(result, getOptions());
+	}
+
+	/**
+	 * Post processes the Java files that ANTLR generated for the given grammars. Each file is read once, all steps are
+	 * applied to its content and it is written once. The steps are the same as the ones of
+	 * {@link #simplifyUnorderedGroupPredicatesIfRequired(boolean, String, Charset)},
+	 * {@link #splitParserAndLexerIfEnabled(String, String, Charset)}, {@link #suppressWarnings(String, String, Charset)}
+	 * and {@link #normalizeLineDelimiters(String, String, Charset)}, which read and write the files once per step.
+	 * 
+	 * If a subclass overrides one of these methods, the files are processed by
+	 * {@link #postProcessJavaFilesPerStep(String, String, boolean, Charset)} instead, so that the override is still
+	 * applied.
+	 * 
+	 * @since 2.25
+	 */
+	protected void postProcessJavaFiles(String absoluteLexerGrammarFileName, String absoluteParserGrammarFileName,
+			boolean simplifyUnorderedGroupPredicates, Charset encoding) {
+		if (!isSinglePassPostProcessing()) {
+			postProcessJavaFilesPerStep(absoluteLexerGrammarFileName, absoluteParserGrammarFileName,
+					simplifyUnorderedGroupPredicates, encoding);
+			return;
+		}
+		String lexerJavaFile = absoluteLexerGrammarFileName.replaceAll("\\.g$", getLexerFileNameSuffix());
+		String parserJavaFile = absoluteParserGrammarFileName.replaceAll("\\.g$", getParserFileNameSuffix());
+		postProcessJavaFile(lexerJavaFile, getLexerPostProcessing(), encoding);
+		postProcessJavaFile(parserJavaFile, getParserPostProcessing(simplifyUnorderedGroupPredicates), encoding);
+	}
+
+	/**
+	 * Post processes the Java files that ANTLR generated for the given grammar like
+	 * {@link #postProcessJavaFiles(String, String, boolean, Charset)}. If a subclass overrides
+	 * {@link #simplifyUnorderedGroupPredicatesIfRequired(Grammar, String, Charset)}, the override decides about the
+	 * simplification and the other steps are applied one by one. Such fragments run their ANTLR task on the workflow
+	 * thread, see {@link #scheduleAntlrTask(XpandExecutionContext, String, Runnable)}.
+	 * 
+	 * @since 2.25
+	 */
+	protected void postProcessJavaFiles(Grammar grammar, String absoluteLexerGrammarFileName,
+			String absoluteParserGrammarFileName, boolean simplifyUnorderedGroupPredicates, Charset encoding) {
+		if (isGrammarInspectedByPostProcessing()) {
+			simplifyUnorderedGroupPredicatesIfRequired(grammar, absoluteParserGrammarFileName, encoding);
+			postProcessJavaFilesAfterSimplification(absoluteLexerGrammarFileName, absoluteParserGrammarFileName,
+					encoding);
+		} else {
+			postProcessJavaFiles(absoluteLexerGrammarFileName, absoluteParserGrammarFileName,
+					simplifyUnorderedGroupPredicates, encoding);
+		}
+	}
+
+	/**
+	 * Schedules the task that runs ANTLR and post processes its output with the {@link GeneratorTaskScheduler}. If the
+	 * post processing {@link #isGrammarInspectedByPostProcessing() inspects the grammar}, the task runs on the workflow
+	 * thread because the grammar must not be accessed concurrently.
+	 * 
+	 * @since 2.25
+	 */
+	protected void scheduleAntlrTask(XpandExecutionContext ctx, String key, Runnable task) {
+		if (isGrammarInspectedByPostProcessing()) {
+			GeneratorTaskScheduler.runOnCurrentThread(ctx, key, task);
+		} else {
+			GeneratorTaskScheduler.schedule(ctx, key, task);
+		}
+	}
+
+	/**
+	 * Whether a subclass overrides {@link #simplifyUnorderedGroupPredicatesIfRequired(Grammar, String, Charset)}, which
+	 * inspects the grammar while the generated files are post processed.
+	 * 
+	 * @since 2.25
+	 */
+	protected boolean isGrammarInspectedByPostProcessing() {
+		return isOverridden(AbstractAntlrGeneratorFragment.class, "simplifyUnorderedGroupPredicatesIfRequired",
+				Grammar.class, String.class, Charset.class);
+	}
 
+	/**
+	 * Post processes the Java files that ANTLR generated by calling the methods of the single steps, each of which
+	 * reads and writes the files.
+	 * 
+	 * @since 2.25
+	 */
+	protected void postProcessJavaFilesPerStep(String absoluteLexerGrammarFileName,
+			String absoluteParserGrammarFileName, boolean simplifyUnorderedGroupPredicates, Charset encoding) {
+		simplifyUnorderedGroupPredicatesIfRequired(simplifyUnorderedGroupPredicates, absoluteParserGrammarFileName,
+				encoding);
+		postProcessJavaFilesAfterSimplification(absoluteLexerGrammarFileName, absoluteParserGrammarFileName, encoding);
+	}
+
+	private void postProcessJavaFilesAfterSimplification(String absoluteLexerGrammarFileName,
+			String absoluteParserGrammarFileName, Charset encoding) {
+		if (absoluteLexerGrammarFileName.equals(absoluteParserGrammarFileName)) {
+			splitParserAndLexerIfEnabled(absoluteParserGrammarFileName, encoding);
+			suppressWarnings(absoluteParserGrammarFileName, encoding);
+		} else {
+			splitParserAndLexerIfEnabled(absoluteLexerGrammarFileName, absoluteParserGrammarFileName, encoding);
+			suppressWarnings(absoluteLexerGrammarFileName, absoluteParserGrammarFileName, encoding);
+		}
+		postProcessJavaFilesBeforeNormalization(absoluteLexerGrammarFileName, absoluteParserGrammarFileName, encoding);
+		if (absoluteLexerGrammarFileName.equals(absoluteParserGrammarFileName)) {
+			normalizeLineDelimiters(absoluteParserGrammarFileName, encoding);
+		} else {
+			normalizeLineDelimiters(absoluteLexerGrammarFileName, absoluteParserGrammarFileName, encoding);
+		}
+	}
+
+	/**
+	 * Additional steps of {@link #postProcessJavaFilesPerStep(String, String, boolean, Charset)} that are applied
+	 * before the line delimiters are normalized. Subclasses add the same steps to {@link #getLexerPostProcessing()} or
+	 * {@link #getParserPostProcessing(boolean)} for the single pass.
+	 * 
+	 * @since 2.25
+	 */
+	protected void postProcessJavaFilesBeforeNormalization(String absoluteLexerGrammarFileName,
+			String absoluteParserGrammarFileName, Charset encoding) {
+	}
+
+	/**
+	 * Whether {@link #postProcessJavaFiles(String, String, boolean, Charset)} may apply all steps in a single pass,
+	 * i.e. none of the methods of the single steps is overridden.
+	 * 
+	 * @since 2.25
+	 */
+	protected boolean isSinglePassPostProcessing() {
+		return !isOverridden(AbstractAntlrGeneratorFragment.class, "simplifyUnorderedGroupPredicatesIfRequired", boolean.class, String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "simplifyUnorderedGroupPredicatesIfRequired", Grammar.class, String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "simplifyUnorderedGroupPredicates", String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "splitParserAndLexerIfEnabled", String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "splitParserAndLexerIfEnabled", String.class, String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "improveCodeQuality", String.class, String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "splitLexerClassFile", String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "splitParserClassFile", String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "suppressWarnings", String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "suppressWarnings", String.class, String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "normalizeLineDelimiters", String.class, Charset.class)
+				&& !isOverridden(AbstractAntlrGeneratorFragment.class, "normalizeLineDelimiters", String.class, String.class, Charset.class);
+	}
+
+	/**
+	 * Whether a subclass of the given declaring class overrides the method.
+	 * 
+	 * @since 2.25
+	 */
+	protected boolean isOverridden(Class<?> declaringClass, String name, Class<?>... parameterTypes) {
+		for (Class<?> type = getClass(); type != declaringClass && type != null; type = type.getSuperclass()) {
+			try {
+				type.getDeclaredMethod(name, parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// continue with the super class
+			}
+		}
+		return false;
+	}
+
+	private void postProcessJavaFile(String javaFile, List<UnaryOperator<String>> steps, Charset encoding) {
+		String content = readFileIntoString(javaFile, encoding);
+		for (UnaryOperator<String> step : steps) {
+			content = step.apply(content);
+		}
+		writeStringIntoFile(javaFile, content, encoding);
+	}
+
+	/**
+	 * The steps of {@link #postProcessJavaFiles(String, String, boolean, Charset)} for the lexer in the order of their
+	 * application.
+	 * 
+	 * @since 2.25
+	 */
+	protected List<UnaryOperator<String>> getLexerPostProcessing() {
+		List<UnaryOperator<String>> result = Lists.newArrayList();
+		result.add(this::improveLexerCodeQuality);
+		if (getOptions().isClassSplitting()) {
+			result.add(this::splitLexerClass);
+		}
+		result.add(new SuppressWarningsProcessor()::process);
+		result.add(this::normalizeLineDelimitersInContent);
+		return result;
+	}
+
+	/**
+	 * The steps of {@link #postProcessJavaFiles(String, String, boolean, Charset)} for the parser in the order of their
+	 * application.
+	 * 
+	 * @since 2.25
+	 */
+	protected List<UnaryOperator<String>> getParserPostProcessing(boolean simplifyUnorderedGroupPredicates) {
+		List<UnaryOperator<String>> result = Lists.newArrayList();
+		if (simplifyUnorderedGroupPredicates) {
+			result.add(this::simplifyUnorderedGroupPredicatesInContent);
+		}
+		result.add(this::improveParserCodeQuality);
+		if (getOptions().isClassSplitting()) {
+			result.add(this::splitParserClass);
+		}
+		result.add(new SuppressWarningsProcessor()::process);
+		result.add(this::normalizeLineDelimitersInContent);
+		return result;
 	}
 
 	/**
@@ -8,7 +8,10 @@
  *******************************************************************************/
 package org.eclipse.xtext.generator.parser.antlr;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.AbstractElement;
@@ -26,6 +29,8 @@ import org.eclipse.xtext.RuleCall;
 @Deprecated
 public class AntlrGrammarGenUtil {
 	
+	private static final ThreadLocal<Map<AbstractElement, List<AbstractElement>>> FIRST_SETS = new ThreadLocal<Map<AbstractElement, List<AbstractElement>>>();
+
 	/**
 	 * Returns the effective rule name for the generated Antlr grammar.
 	 * Inherited rules may be prefixed by {@code super[0..9]*}. Otherwise the
@@ -119,10 +124,50 @@ public class AntlrGrammarGenUtil {
 	/**
 	 * Returns the first-set of the given abstractElement. That is, all keywords
 	 * with distinct values and all rule calls to distinct terminals.
+	 * 
+	 * The returned list is unmodifiable.
+	 * 
+	 * Within {@link #runWithCachedFirstSets(Runnable)} the result is computed
+	 * once per element, since the templates of the ANTLR fragments ask for the
+	 * same elements repeatedly. Only these calls are memoized, the first-sets of
+	 * nested elements are still computed anew for each element.
 	 * @since 2.6
 	 */
 	public static List<AbstractElement> getFirstSet(AbstractElement element) {
-		return org.eclipse.xtext.xtext.generator.parser.antlr.AntlrGrammarGenUtil.getFirstSet(element);
+		Map<AbstractElement, List<AbstractElement>> cache = FIRST_SETS.get();
+		if (cache == null) {
+			return computeFirstSet(element);
+		}
+		List<AbstractElement> result = cache.get(element);
+		if (result == null) {
+			result = computeFirstSet(element);
+			cache.put(element, result);
+		}
+		return result;
+	}
+
+	private static List<AbstractElement> computeFirstSet(AbstractElement element) {
+		return Collections.unmodifiableList(
+				org.eclipse.xtext.xtext.generator.parser.antlr.AntlrGrammarGenUtil.getFirstSet(element));
+	}
+
+	/**
+	 * Runs the given generator step with a cache for {@link #getFirstSet(AbstractElement)}.
+	 * The cache is discarded afterwards, so the grammar must not be changed by the step.
+	 * Each fragment runs its own step, so nothing is shared between fragments.
+	 * @since 2.25
+	 */
+	public static void runWithCachedFirstSets(Runnable runnable) {
+		if (FIRST_SETS.get() != null) {
+			runnable.run();
+			return;
+		}
+		FIRST_SETS.set(new HashMap<AbstractElement, List<AbstractElement>>());
+		try {
+			runnable.run();
+		} finally {
+			FIRST_SETS.remove();
+		}
 	}
 
 	public static String toStringInAntlrAction(String string) {
@@ -17,6 +17,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.Charset;
+import java.security.CodeSource;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.WrappedException;
@@ -92,6 +93,29 @@ public class AntlrToolFacade {
 	}
 
 
+	/**
+	 * The location of the ANTLR tool, i.e. the jar or folder that contains its classes, or <code>null</code> if it is
+	 * not available yet. Unlike {@link #getToolClass()}, this never downloads the tool.
+	 * 
+	 * @since 2.25
+	 */
+	public URL getToolLocation() {
+		try {
+			Class<?> toolClass = loader.loadClass(getToolRunnerClassName());
+			CodeSource codeSource = toolClass.getProtectionDomain().getCodeSource();
+			return codeSource != null ? codeSource.getLocation() : null;
+		} catch (ClassNotFoundException | SecurityException e) {
+			if (file().exists()) {
+				try {
+					return file().toURI().toURL();
+				} catch (MalformedURLException e1) {
+					return null;
+				}
+			}
+			return null;
+		}
+	}
+
 	public boolean download() {
 		try {
 			if (askBeforeDownload) {
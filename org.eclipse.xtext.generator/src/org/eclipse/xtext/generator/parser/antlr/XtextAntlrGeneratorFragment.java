@@ -46,14 +46,16 @@ public class XtextAntlrGeneratorFragment extends AbstractAntlrGeneratorFragment
 		final String encoding = getEncoding(ctx, Generator.SRC_GEN);
 		String absoluteGrammarFileName = srcGenPath+"/"+getGrammarFileName(grammar, getNaming()).replace('.', '/')+".g";
 		addAntlrParam("-fo");
-		addAntlrParam(absoluteGrammarFileName.substring(0, absoluteGrammarFileName.lastIndexOf('/')));
-		getAntlrTool().runWithEncodingAndParams(absoluteGrammarFileName, encoding, getAntlrParams());
-		Charset charset = Charset.forName(encoding);
-		simplifyUnorderedGroupPredicatesIfRequired(grammar, absoluteGrammarFileName, charset);
-		splitParserAndLexerIfEnabled(absoluteGrammarFileName, charset);
-		suppressWarnings(absoluteGrammarFileName, charset);
-		normalizeLineDelimiters(absoluteGrammarFileName, charset);
-		normalizeTokens(absoluteGrammarFileName, charset);
+		String outputFolder = absoluteGrammarFileName.substring(0, absoluteGrammarFileName.lastIndexOf('/'));
+		addAntlrParam(outputFolder);
+		String[] antlrParams = getAntlrParams();
+		boolean simplifyUnorderedGroupPredicates = isSimplifyUnorderedGroupPredicatesRequired(grammar);
+		scheduleAntlrTask(ctx, outputFolder, () -> {
+			getAntlrTool().runWithEncodingAndParams(absoluteGrammarFileName, encoding, antlrParams);
+			Charset charset = Charset.forName(encoding);
+			postProcessJavaFiles(grammar, absoluteGrammarFileName, absoluteGrammarFileName, simplifyUnorderedGroupPredicates, charset);
+			normalizeTokens(absoluteGrammarFileName, charset);
+		});
 	}
 
 	@Override
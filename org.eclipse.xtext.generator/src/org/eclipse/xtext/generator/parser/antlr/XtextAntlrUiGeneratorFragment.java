@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 import org.eclipse.emf.mwe.core.issues.Issues;
 import org.eclipse.xpand2.XpandExecutionContext;
@@ -101,6 +102,38 @@ public class XtextAntlrUiGeneratorFragment extends AbstractAntlrGeneratorFragmen
 		}
 	}
 
+	/**
+	 * Removes the backtracking guards before the line delimiters are normalized, if enabled.
+	 * 
+	 * @since 2.25
+	 */
+	@Override
+	protected List<UnaryOperator<String>> getParserPostProcessing(boolean simplifyUnorderedGroupPredicates) {
+		List<UnaryOperator<String>> result = super.getParserPostProcessing(simplifyUnorderedGroupPredicates);
+		if (removeBacktrackingGuards) {
+			result.add(result.size() - 1, content -> new BacktrackingGuardRemover(content, lookaheadThreshold).transform());
+		}
+		return result;
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	@Override
+	protected void postProcessJavaFilesBeforeNormalization(String absoluteLexerGrammarFileName,
+			String absoluteParserGrammarFileName, Charset encoding) {
+		removeBacktrackingGuardsIfEnabled(absoluteParserGrammarFileName, encoding);
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	@Override
+	protected boolean isSinglePassPostProcessing() {
+		return super.isSinglePassPostProcessing() && !isOverridden(XtextAntlrUiGeneratorFragment.class,
+				"removeBacktrackingGuardsIfEnabled", String.class, Charset.class);
+	}
+
 	@Override
 	public void generate(Grammar grammar, XpandExecutionContext ctx) {
 		super.generate(grammar, ctx);
@@ -108,15 +141,16 @@ public class XtextAntlrUiGeneratorFragment extends AbstractAntlrGeneratorFragmen
 		final String encoding = getEncoding(ctx, Generator.SRC_GEN_IDE);
 		String absoluteGrammarFileName = srcUiGenPath + "/" + getGrammarFileName(grammar, getNaming()).replace('.', '/') + ".g";
 		addAntlrParam("-fo");
-		addAntlrParam(absoluteGrammarFileName.substring(0, absoluteGrammarFileName.lastIndexOf('/')));
-		getAntlrTool().runWithEncodingAndParams(absoluteGrammarFileName, encoding, getAntlrParams());
-		Charset charset = Charset.forName(getEncoding(ctx, Generator.SRC_GEN_IDE));
-		simplifyUnorderedGroupPredicatesIfRequired(grammar, absoluteGrammarFileName, charset);
-		splitParserAndLexerIfEnabled(absoluteGrammarFileName, charset);
-		suppressWarnings(absoluteGrammarFileName, charset);
-		removeBacktrackingGuardsIfEnabled(absoluteGrammarFileName, charset);
-		normalizeLineDelimiters(absoluteGrammarFileName, charset);
-		normalizeTokens(absoluteGrammarFileName, charset);
+		String outputFolder = absoluteGrammarFileName.substring(0, absoluteGrammarFileName.lastIndexOf('/'));
+		addAntlrParam(outputFolder);
+		String[] antlrParams = getAntlrParams();
+		boolean simplifyUnorderedGroupPredicates = isSimplifyUnorderedGroupPredicatesRequired(grammar);
+		scheduleAntlrTask(ctx, outputFolder, () -> {
+			getAntlrTool().runWithEncodingAndParams(absoluteGrammarFileName, encoding, antlrParams);
+			Charset charset = Charset.forName(encoding);
+			postProcessJavaFiles(grammar, absoluteGrammarFileName, absoluteGrammarFileName, simplifyUnorderedGroupPredicates, charset);
+			normalizeTokens(absoluteGrammarFileName, charset);
+		});
 	}
 
 	@Override
@@ -59,21 +59,23 @@ public class ContentAssistParserGeneratorFragment extends AbstractAntlrGenerator
 		String absoluteLexerFileName = srcGenPath+"/"+getFragmentHelper().getContentAssistLexerGrammarFileName(grammar).replace('.', '/')+".g";
 		String absoluteParserFileName = srcGenPath+"/"+getFragmentHelper().getContentAssistParserGrammarFileName(grammar).replace('.', '/')+".g";
 		addAntlrParam("-fo");
-		addAntlrParam(absoluteParserFileName.substring(0, absoluteParserFileName.lastIndexOf('/')));
+		String outputFolder = absoluteParserFileName.substring(0, absoluteParserFileName.lastIndexOf('/'));
+		addAntlrParam(outputFolder);
 		String[] lexerAntlrParams = getAntlrParams();
 		lexerAntlrParams[lexerAntlrParams.length - 1] = absoluteLexerFileName.substring(0, absoluteLexerFileName.lastIndexOf('/'));
-		getAntlrTool().runWithEncodingAndParams(absoluteLexerFileName, encoding, lexerAntlrParams);
 		addAntlrParam("-lib");
 		addAntlrParam(libPath);
-		getAntlrTool().runWithEncodingAndParams(absoluteParserFileName, encoding, getAntlrParams());
-		Charset charset = Charset.forName(encoding);
-		simplifyUnorderedGroupPredicatesIfRequired(grammar, absoluteParserFileName, charset);
-		splitParserAndLexerIfEnabled(absoluteLexerFileName, absoluteParserFileName, charset);
-		suppressWarnings(absoluteLexerFileName, absoluteParserFileName, charset);
-		normalizeLineDelimiters(absoluteLexerFileName, absoluteParserFileName, charset);
-		normalizeTokens(absoluteLexerFileName, charset);
-		normalizeTokens(absoluteParserFileName, charset);
+		String[] parserAntlrParams = getAntlrParams();
+		boolean simplifyUnorderedGroupPredicates = isSimplifyUnorderedGroupPredicatesRequired(grammar);
 		helper.discardHelper(grammar);
+		scheduleAntlrTask(ctx, outputFolder, () -> {
+			getAntlrTool().runWithEncodingAndParams(absoluteLexerFileName, encoding, lexerAntlrParams);
+			getAntlrTool().runWithEncodingAndParams(absoluteParserFileName, encoding, parserAntlrParams);
+			Charset charset = Charset.forName(encoding);
+			postProcessJavaFiles(grammar, absoluteLexerFileName, absoluteParserFileName, simplifyUnorderedGroupPredicates, charset);
+			normalizeTokens(absoluteLexerFileName, charset);
+			normalizeTokens(absoluteParserFileName, charset);
+		});
 	}
 
 	@Override
@@ -66,39 +66,42 @@ public class AntlrGeneratorFragment extends AbstractAntlrGeneratorFragmentEx {
 		String absoluteLexerFileName = lexerBaseFileName + ".g";
 		String absoluteParserFileName = srcGenPath+"/"+getFragmentHelper().getParserGrammarFileName(grammar).replace('.', '/')+".g";
 		addAntlrParam("-fo");
-		addAntlrParam(absoluteParserFileName.substring(0, absoluteParserFileName.lastIndexOf('/')));
+		String outputFolder = absoluteParserFileName.substring(0, absoluteParserFileName.lastIndexOf('/'));
+		addAntlrParam(outputFolder);
 		String[] lexerAntlrParams = getAntlrParams();
 		lexerAntlrParams[lexerAntlrParams.length - 1] = absoluteLexerFileName.substring(0, absoluteLexerFileName.lastIndexOf('/'));
-		getAntlrTool().runWithEncodingAndParams(absoluteLexerFileName, encoding, lexerAntlrParams);
-		cleanupLexerTokensFile(lexerBaseFileName, helper, encoding);
 		addAntlrParam("-lib");
 		addAntlrParam(libPath);
-		getAntlrTool().runWithEncodingAndParams(absoluteParserFileName, encoding, getAntlrParams());
-		Charset charset = Charset.forName(encoding);
-		simplifyUnorderedGroupPredicatesIfRequired(grammar, absoluteParserFileName, charset);
-		splitParserAndLexerIfEnabled(absoluteLexerFileName, absoluteParserFileName, charset);
-		suppressWarnings(absoluteLexerFileName, absoluteParserFileName, charset);
-		normalizeLineDelimiters(absoluteLexerFileName, absoluteParserFileName, charset);
-		normalizeTokens(absoluteParserFileName, charset);
-		MutableTokenDefProvider provider = createLexerTokensProvider(lexerBaseFileName, helper, charset);
-		for(Map.Entry<Integer, String> entry: provider.getTokenDefMap().entrySet()) {
-			String value = entry.getValue();
-			if(helper.isKeywordRule(value)) {
-				String keywordAsAntlrString = AntlrGrammarGenUtil.toAntlrString(helper.getKeywordValue(value));
-				entry.setValue("'" + keywordAsAntlrString + "'");
-			} else if (value.startsWith("'")) {
-				value = AntlrGrammarGenUtil.toAntlrString(value);
-				entry.setValue("'" + value + "'");
-			}
-		}
-		try {
-			provider.writeTokenFile(new PrintWriter(new File(srcGenPath+"/"+getFragmentHelper().getParserGrammarFileName(grammar).replace('.', '/') + ".tokens"), encoding));
-		}
-		catch (IOException e) {
-			throw new RuntimeException(e);
-		}
-		normalizeTokens(absoluteLexerFileName, charset);
+		String[] parserAntlrParams = getAntlrParams();
+		boolean simplifyUnorderedGroupPredicates = isSimplifyUnorderedGroupPredicatesRequired(grammar);
+		String tokensFileName = srcGenPath+"/"+getFragmentHelper().getParserGrammarFileName(grammar).replace('.', '/') + ".tokens";
 		helper.discardHelper(grammar);
+		scheduleAntlrTask(ctx, outputFolder, () -> {
+			getAntlrTool().runWithEncodingAndParams(absoluteLexerFileName, encoding, lexerAntlrParams);
+			cleanupLexerTokensFile(lexerBaseFileName, helper, encoding);
+			getAntlrTool().runWithEncodingAndParams(absoluteParserFileName, encoding, parserAntlrParams);
+			Charset charset = Charset.forName(encoding);
+			postProcessJavaFiles(grammar, absoluteLexerFileName, absoluteParserFileName, simplifyUnorderedGroupPredicates, charset);
+			normalizeTokens(absoluteParserFileName, charset);
+			MutableTokenDefProvider provider = createLexerTokensProvider(lexerBaseFileName, helper, charset);
+			for(Map.Entry<Integer, String> entry: provider.getTokenDefMap().entrySet()) {
+				String value = entry.getValue();
+				if(helper.isKeywordRule(value)) {
+					String keywordAsAntlrString = AntlrGrammarGenUtil.toAntlrString(helper.getKeywordValue(value));
+					entry.setValue("'" + keywordAsAntlrString + "'");
+				} else if (value.startsWith("'")) {
+					value = AntlrGrammarGenUtil.toAntlrString(value);
+					entry.setValue("'" + value + "'");
+				}
+			}
+			try {
+				provider.writeTokenFile(new PrintWriter(new File(tokensFileName), encoding));
+			}
+			catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+			normalizeTokens(absoluteLexerFileName, charset);
+		});
 	}
 	
 	/**
@@ -15,9 +15,15 @@ package org.eclipse.xtext.generator.parser.antlr.postProcessing;
 public class SuppressWarningsProcessor {
 
 	public String process(String content) {
-		String result = content.replaceFirst("public class ", "@SuppressWarnings(\"all\")\n" +
-				"public class ");
-		return result;
+		int index = content.indexOf("public class ");
+		if (index < 0) {
+			return content;
+		}
+		return new StringBuilder(content.length() + 25)
+				.append(content, 0, index)
+				.append("@SuppressWarnings(\"all\")\n")
+				.append(content, index, content.length())
+				.toString();
 	}
 
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.java.tests;
+
+import java.util.Collections;
+
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.java.resource.ClassFileCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClassFileCacheTest {
+	@Test
+	public void testRetainedBytes() {
+		ClassFileCache cache = new ClassFileCache();
+		char[] first = "First.java".toCharArray();
+		cache.addCompileResult(first, Collections.singletonList("First"),
+				Collections.singletonMap("First", new byte[100]));
+		Assert.assertEquals(100, cache.getRetainedBytes());
+		Assert.assertTrue(cache.popCompileResult(first, (types, classMap) -> {
+			Assert.assertEquals(1, classMap.size());
+		}));
+		Assert.assertEquals(0, cache.getRetainedBytes());
+		Assert.assertEquals(0, cache.getEvictedBytes());
+	}
+
+	@Test
+	public void testEvictOldestCompileResult() {
+		ClassFileCache cache = new ClassFileCache();
+		cache.setMaximumRetainedBytes(150);
+		char[] first = "First.java".toCharArray();
+		char[] second = "Second.java".toCharArray();
+		cache.addCompileResult(first, Collections.singletonList("First"),
+				Collections.singletonMap("First", new byte[100]));
+		cache.addCompileResult(second, Collections.singletonList("Second"),
+				Collections.singletonMap("Second", new byte[100]));
+		Assert.assertEquals(100, cache.getRetainedBytes());
+		Assert.assertEquals(100, cache.getEvictedBytes());
+		Assert.assertFalse(cache.popCompileResult(first, (types, classMap) -> Assert.fail()));
+		Assert.assertTrue(cache.popCompileResult(second, (types, classMap) -> {}));
+	}
+
+	@Test
+	public void testBuiltTypesAreRetained() {
+		ClassFileCache cache = new ClassFileCache();
+		cache.setMaximumRetainedBytes(150);
+		char[] first = "First.java".toCharArray();
+		char[] second = "Second.java".toCharArray();
+		cache.addBuiltTypes(first, Collections.singletonList(TypesFactory.eINSTANCE.createJvmGenericType()), 100);
+		Assert.assertEquals(100, cache.getRetainedBytes());
+		cache.addCompileResult(second, Collections.singletonList("Second"),
+				Collections.singletonMap("Second", new byte[100]));
+		Assert.assertEquals(100, cache.getRetainedBytes());
+		Assert.assertEquals(100, cache.getEvictedBytes());
+		Assert.assertFalse(cache.popBuiltTypes(first, types -> Assert.fail()));
+		Assert.assertTrue(cache.popCompileResult(second, (types, classMap) -> {}));
+		Assert.assertEquals(0, cache.getRetainedBytes());
+	}
+
+	@Test
+	public void testDiscardPendingResults() {
+		ClassFileCache cache = new ClassFileCache();
+		char[] first = "First.java".toCharArray();
+		char[] second = "Second.java".toCharArray();
+		cache.addCompileResult(first, Collections.singletonList("First"),
+				Collections.singletonMap("First", new byte[100]));
+		cache.addBuiltTypes(second, Collections.singletonList(TypesFactory.eINSTANCE.createJvmGenericType()), 100);
+		cache.discardPendingResults(first);
+		cache.discardPendingResults(second);
+		Assert.assertEquals(0, cache.getRetainedBytes());
+		Assert.assertFalse(cache.popCompileResult(first, (types, classMap) -> Assert.fail()));
+		Assert.assertFalse(cache.popBuiltTypes(second, types -> Assert.fail()));
+	}
+}
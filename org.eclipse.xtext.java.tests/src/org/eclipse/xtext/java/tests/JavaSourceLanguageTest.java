@@ -28,6 +28,7 @@ import org.eclipse.xtext.common.types.JvmParameterizedTypeReference;
 import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
+import org.eclipse.xtext.java.resource.ClasspathPackages;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
@@ -38,6 +39,7 @@ import org.eclipse.xtext.testing.util.InMemoryURIHandler;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -169,6 +171,30 @@ public class JavaSourceLanguageTest {
 		Assert.assertNotNull(Iterables.getFirst(clazz.getDeclaredOperations(), null));
 	}
 
+	@Test
+	public void testUpperCasePackage() {
+		Assume.assumeTrue(ClasspathPackages.create(getClass().getClassLoader()).isComplete());
+		ImmutableMap<String, String> files = ImmutableMap.<String, String>builder()
+				.put("Upper/MyClass.java",
+					"package Upper;\n" +
+					"public class MyClass {\n" +
+					"}\n")
+				.put("MyOtherClass.java",
+					"public class MyOtherClass {\n" +
+					"    public Upper.MyClass get() {\n" +
+					"        return null;\n" +
+					"    }\n" +
+					"}\n")
+				.build();
+		XtextResourceSet rs = this.resourceSet(files);
+		Resource resource = IterableExtensions.findFirst(rs.getResources(),
+				it -> it.getURI().toString().endsWith("MyOtherClass.java"));
+		JvmGenericType clazz = (JvmGenericType) Iterables.getFirst(resource.getContents(), null);
+		JvmType returnType = Iterables.getFirst(clazz.getDeclaredOperations(), null).getReturnType().getType();
+		Assert.assertEquals("Upper.MyClass", returnType.getIdentifier());
+		Assert.assertFalse(returnType.eIsProxy());
+	}
+
 	@Inject
 	private Provider<XtextResourceSet> resourceSetProvider;
 
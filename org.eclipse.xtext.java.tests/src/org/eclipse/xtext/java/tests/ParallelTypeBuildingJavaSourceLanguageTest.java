@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.java.tests;
+
+import org.eclipse.xtext.java.JavaSourceLanguageRuntimeModule;
+import org.eclipse.xtext.java.resource.JavaDerivedStateComputer;
+import org.eclipse.xtext.java.resource.SharedBinaryTypeCache;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
+
+/**
+ * Runs the {@link JavaSourceLanguageTest} with parallel type building and the shared binary type cache enabled.
+ */
+@RunWith(XtextRunner.class)
+@InjectWith(ParallelTypeBuildingJavaSourceLanguageTest.ParallelTypeBuildingJavaInjectorProvider.class)
+public class ParallelTypeBuildingJavaSourceLanguageTest extends JavaSourceLanguageTest {
+
+	public static class ParallelTypeBuildingJavaInjectorProvider extends JavaInjectorProvider {
+		private Injector injector;
+
+		@Override
+		public Injector getInjector() {
+			if (injector == null) {
+				injector = Guice.createInjector(Modules.override(new JavaSourceLanguageRuntimeModule()).with(binder -> {
+					binder.bind(Boolean.TYPE)
+							.annotatedWith(Names.named(JavaDerivedStateComputer.PARALLEL_TYPE_BUILDING))
+							.toInstance(true);
+					binder.bind(Boolean.TYPE)
+							.annotatedWith(Names.named(SharedBinaryTypeCache.SHARED_BINARY_TYPE_CACHE_ENABLEMENT))
+							.toInstance(true);
+				}));
+			}
+			return injector;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.java.tests;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.xtext.java.resource.SharedBinaryTypeCache;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.cache.CacheStats;
+
+public class SharedBinaryTypeCacheTest {
+	@Test
+	public void testNegativeLookupIsCached() {
+		SharedBinaryTypeCache cache = new SharedBinaryTypeCache(10);
+		ClassLoader classLoader = getClass().getClassLoader();
+		QualifiedName name = QualifiedName.create("does", "not", "Exist");
+		AtomicInteger counter = new AtomicInteger();
+		for (int i = 0; i < 3; i++) {
+			Assert.assertNull(cache.get(classLoader, name, (QualifiedName it) -> {
+				counter.incrementAndGet();
+				return null;
+			}));
+		}
+		Assert.assertEquals(1, counter.get());
+		Assert.assertTrue(cache.isCached(classLoader, name));
+		CacheStats stats = cache.getStats();
+		Assert.assertEquals(1, stats.missCount());
+		Assert.assertEquals(2, stats.hitCount());
+	}
+
+	@Test
+	public void testClassLoadersAreSeparated() {
+		SharedBinaryTypeCache cache = new SharedBinaryTypeCache(10);
+		ClassLoader first = new ClassLoader(getClass().getClassLoader()) {
+		};
+		ClassLoader second = new ClassLoader(getClass().getClassLoader()) {
+		};
+		QualifiedName name = QualifiedName.create("does", "not", "Exist");
+		cache.get(first, name, (QualifiedName it) -> null);
+		Assert.assertTrue(cache.isCached(first, name));
+		Assert.assertFalse(cache.isCached(second, name));
+		Assert.assertEquals(1, cache.getClassLoaderCount());
+		cache.clear(first);
+		Assert.assertFalse(cache.isCached(first, name));
+		Assert.assertEquals(0, cache.size());
+	}
+}
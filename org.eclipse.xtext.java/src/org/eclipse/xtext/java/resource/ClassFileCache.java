@@ -10,10 +10,13 @@ package org.eclipse.xtext.java.resource;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import org.eclipse.emf.common.notify.Adapter;
@@ -22,7 +25,9 @@ import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
 
 /**
@@ -60,6 +65,23 @@ public class ClassFileCache {
 
 	private final Map<char[], Map<String, byte[]>> allClassMaps = new ConcurrentHashMap<>();
 
+	private final Map<char[], List<JvmDeclaredType>> allBuiltTypes = new ConcurrentHashMap<>();
+
+	private final Map<ClassLoader, ClasspathPackages> classpathPackages = new ConcurrentHashMap<>();
+
+	/**
+	 * The sizes of the compiled classes (keyed by qualified name) and the pending compile results or built types (keyed
+	 * by file name) in the order they were added. Used to evict the oldest bytecode first if the
+	 * {@link #getMaximumRetainedBytes() budget} is exceeded.
+	 */
+	private final Map<Object, Integer> retainedSizes = new LinkedHashMap<>();
+
+	private final AtomicLong retainedBytes = new AtomicLong();
+
+	private final AtomicLong evictedBytes = new AtomicLong();
+
+	private volatile long maximumRetainedBytes = Long.MAX_VALUE;
+
 	public boolean containsKey(QualifiedName qualifiedName) {
 		return cache.containsKey(qualifiedName);
 	}
@@ -96,11 +118,128 @@ public class ClassFileCache {
 		return null;
 	}
 
+	/**
+	 * Like {@link #computeIfAbsent(QualifiedName, Function)} but for the binary type of a compiled source file that
+	 * retains the given number of bytes. The binary type may be evicted if the bytecode budget is exceeded. Clients
+	 * will fall back to the source file in that case.
+	 * 
+	 * @since 2.25
+	 */
+	public IBinaryType computeIfAbsent(QualifiedName qualifiedName, int size,
+			Function<? super QualifiedName, ? extends IBinaryType> fun) {
+		boolean[] computed = new boolean[1];
+		IBinaryType result = computeIfAbsent(qualifiedName, (QualifiedName fqn) -> {
+			computed[0] = true;
+			return fun.apply(fqn);
+		});
+		if (computed[0] && result != null) {
+			retain(qualifiedName, size);
+		}
+		return result;
+	}
+
+	/**
+	 * Discards the binary types of the given compiled classes, e.g. because the types of their resource are already
+	 * materialized. Subsequent compilations will use the source files again.
+	 * 
+	 * @since 2.25
+	 */
+	public void discardCompiledClasses(Iterable<QualifiedName> qualifiedNames) {
+		for (QualifiedName qualifiedName : qualifiedNames) {
+			if (unretain(qualifiedName) != null) {
+				cache.remove(qualifiedName);
+			}
+		}
+	}
+
+	/**
+	 * The number of bytecode bytes that are currently retained by compiled classes, pending compile results and types
+	 * that were built ahead of time.
+	 * 
+	 * @since 2.25
+	 */
+	public long getRetainedBytes() {
+		return retainedBytes.get();
+	}
+
+	/**
+	 * The number of bytecode bytes that were evicted because the budget was exceeded.
+	 * 
+	 * @since 2.25
+	 */
+	public long getEvictedBytes() {
+		return evictedBytes.get();
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public long getMaximumRetainedBytes() {
+		return maximumRetainedBytes;
+	}
+
+	/**
+	 * Sets the budget for the retained bytecode. Defaults to {@link Long#MAX_VALUE}.
+	 * 
+	 * @since 2.25
+	 */
+	public void setMaximumRetainedBytes(long maximumRetainedBytes) {
+		this.maximumRetainedBytes = maximumRetainedBytes;
+		evictIfNecessary();
+	}
+
+	protected synchronized void retain(Object key, int size) {
+		Integer previous = retainedSizes.put(key, size);
+		retainedBytes.addAndGet(size - (previous != null ? previous : 0));
+		evictIfNecessary();
+	}
+
+	protected synchronized Integer unretain(Object key) {
+		Integer size = retainedSizes.remove(key);
+		if (size != null) {
+			retainedBytes.addAndGet(-size);
+		}
+		return size;
+	}
+
+	protected synchronized void evictIfNecessary() {
+		Iterator<Map.Entry<Object, Integer>> iterator = retainedSizes.entrySet().iterator();
+		while (retainedBytes.get() > maximumRetainedBytes && iterator.hasNext()) {
+			Map.Entry<Object, Integer> entry = iterator.next();
+			iterator.remove();
+			Object key = entry.getKey();
+			if (key instanceof QualifiedName) {
+				cache.remove(key);
+			} else {
+				allTopLevelTypes.remove(key);
+				allClassMaps.remove(key);
+				allBuiltTypes.remove(key);
+			}
+			retainedBytes.addAndGet(-entry.getValue());
+			evictedBytes.addAndGet(entry.getValue());
+		}
+	}
+
 	public void clear() {
 		cache.clear();
 		resourcesToCompile.clear();
 		allTopLevelTypes.clear();
 		allClassMaps.clear();
+		allBuiltTypes.clear();
+		classpathPackages.clear();
+		synchronized (this) {
+			retainedSizes.clear();
+			retainedBytes.set(0);
+		}
+	}
+
+	/**
+	 * Returns the packages on the class path of the given class loader. They are computed once per class loader.
+	 * 
+	 * @since 2.25
+	 */
+	public ClasspathPackages getClasspathPackages(ClassLoader classLoader) {
+		return classpathPackages.computeIfAbsent(classLoader, ClasspathPackages::create);
 	}
 
 	public void addResourceToCompile(Resource resource) {
@@ -115,8 +254,11 @@ public class ClassFileCache {
 
 	public boolean popCompileResult(char[] fileName,
 			Procedure2<? super List<String>, ? super Map<String, byte[]>> consumer) {
-		if (allTopLevelTypes.containsKey(fileName)) {
-			consumer.apply(allTopLevelTypes.remove(fileName), allClassMaps.remove(fileName));
+		List<String> topLevelTypes = allTopLevelTypes.remove(fileName);
+		Map<String, byte[]> classMap = allClassMaps.remove(fileName);
+		unretain(fileName);
+		if (topLevelTypes != null && classMap != null) {
+			consumer.apply(topLevelTypes, classMap);
 			return true;
 		}
 		return false;
@@ -125,6 +267,50 @@ public class ClassFileCache {
 	public void addCompileResult(char[] fileName, List<String> topLevelTypes, Map<String, byte[]> classMap) {
 		allTopLevelTypes.put(fileName, topLevelTypes);
 		allClassMaps.put(fileName, classMap);
+		int size = 0;
+		for (byte[] bytes : classMap.values()) {
+			size += bytes.length;
+		}
+		retain(fileName, size);
+	}
+
+	/**
+	 * Pops the types that were built ahead of time for the given compilation unit.
+	 * 
+	 * @since 2.25
+	 */
+	public boolean popBuiltTypes(char[] fileName, Procedure1<? super List<JvmDeclaredType>> consumer) {
+		List<JvmDeclaredType> types = allBuiltTypes.remove(fileName);
+		unretain(fileName);
+		if (types != null) {
+			consumer.apply(types);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the types that were built ahead of time from the given number of bytecode bytes. They count against the
+	 * {@link #getMaximumRetainedBytes() budget} like the compile result they were built from.
+	 * 
+	 * @since 2.25
+	 */
+	public void addBuiltTypes(char[] fileName, List<JvmDeclaredType> types, int size) {
+		allBuiltTypes.put(fileName, types);
+		retain(fileName, size);
+	}
+
+	/**
+	 * Discards the pending compile result and the types that were built ahead of time for the given compilation unit,
+	 * e.g. because its resource was reloaded.
+	 * 
+	 * @since 2.25
+	 */
+	public void discardPendingResults(char[] fileName) {
+		allTopLevelTypes.remove(fileName);
+		allClassMaps.remove(fileName);
+		allBuiltTypes.remove(fileName);
+		unretain(fileName);
 	}
 
 	public static ClassFileCache findInEmfObject(Notifier emfObject) {
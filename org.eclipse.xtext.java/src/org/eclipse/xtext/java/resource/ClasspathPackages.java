@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.java.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.apache.log4j.Logger;
+
+/**
+ * The set of packages that contain class files on the class path of a class loader. The packages are collected from the
+ * jars and class folders of the class loader hierarchy and from the JDK. Package names use slashes as separators.
+ *
+ * If the class path of any class loader in the hierarchy cannot be enumerated, the packages are not
+ * {@link #isComplete() complete} and clients have to fall back to asking the class loader.
+ *
+ * @since 2.25
+ */
+public class ClasspathPackages {
+
+	private static final Logger LOG = Logger.getLogger(ClasspathPackages.class);
+
+	private final Set<String> packages = new HashSet<>();
+
+	private final Set<File> visitedEntries = new HashSet<>();
+
+	private boolean complete = true;
+
+	public static ClasspathPackages create(ClassLoader classLoader) {
+		ClasspathPackages result = new ClasspathPackages();
+		result.collect(classLoader);
+		return result;
+	}
+
+	protected ClasspathPackages() {
+	}
+
+	/**
+	 * Returns <code>true</code> if all class path entries of the class loader hierarchy were scanned.
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given package contains class files or sub packages. The default package is
+	 * always considered to be present.
+	 *
+	 * @param packageName
+	 *            the slash separated package name.
+	 */
+	public boolean contains(String packageName) {
+		return packageName.isEmpty() || packages.contains(packageName);
+	}
+
+	protected void collect(ClassLoader classLoader) {
+		ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+		ClassLoader current = classLoader;
+		while (current != null && complete) {
+			if (current instanceof URLClassLoader) {
+				for (URL url : ((URLClassLoader) current).getURLs()) {
+					collectURL(url);
+				}
+			} else if (current == systemClassLoader) {
+				collectPath(System.getProperty("java.class.path"));
+			} else if (current != systemClassLoader.getParent()) {
+				// the platform class loader is covered by the JDK packages
+				complete = false;
+			}
+			current = current.getParent();
+		}
+		if (complete) {
+			collectJdk();
+		}
+	}
+
+	protected void collectJdk() {
+		String bootClassPath = System.getProperty("sun.boot.class.path");
+		if (bootClassPath != null) {
+			collectPath(bootClassPath);
+			return;
+		}
+		try {
+			FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(jrt.getPath("/packages"))) {
+				for (Path packagePath : stream) {
+					addPackage(packagePath.getFileName().toString().replace('.', '/'));
+				}
+			}
+		} catch (IOException | FileSystemNotFoundException | IllegalArgumentException e) {
+			LOG.debug("Cannot list the packages of the JDK", e);
+			complete = false;
+		}
+	}
+
+	protected void collectPath(String path) {
+		if (path == null) {
+			complete = false;
+			return;
+		}
+		for (String entry : path.split(File.pathSeparator)) {
+			if (!entry.isEmpty()) {
+				collectFile(new File(entry));
+			}
+		}
+	}
+
+	protected void collectURL(URL url) {
+		if (!"file".equals(url.getProtocol())) {
+			complete = false;
+			return;
+		}
+		try {
+			collectFile(new File(url.toURI()));
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			complete = false;
+		}
+	}
+
+	protected void collectFile(File file) {
+		if (!visitedEntries.add(file)) {
+			return;
+		}
+		if (file.isDirectory()) {
+			collectDirectory(file, "");
+		} else if (file.isFile()) {
+			collectJar(file);
+		}
+	}
+
+	protected void collectDirectory(File directory, String packageName) {
+		File[] children = directory.listFiles();
+		if (children == null) {
+			return;
+		}
+		for (File child : children) {
+			String name = child.getName();
+			if (child.isDirectory()) {
+				if (packageName.isEmpty() && "META-INF".equals(name)) {
+					continue;
+				}
+				collectDirectory(child, packageName.isEmpty() ? name : packageName + "/" + name);
+			} else if (name.endsWith(".class")) {
+				addPackage(packageName);
+			}
+		}
+	}
+
+	protected void collectJar(File file) {
+		Set<File> referencedJars = new LinkedHashSet<>();
+		try (JarFile jarFile = new JarFile(file)) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				String name = entries.nextElement().getName();
+				if (name.endsWith(".class") && !name.startsWith("META-INF/")) {
+					int idx = name.lastIndexOf('/');
+					addPackage(idx == -1 ? "" : name.substring(0, idx));
+				}
+			}
+			Manifest manifest = jarFile.getManifest();
+			if (manifest != null) {
+				String classPath = manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+				if (classPath != null) {
+					for (String entry : classPath.trim().split("\\s+")) {
+						if (!entry.isEmpty()) {
+							referencedJars.add(new File(file.getParentFile(), entry));
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOG.debug("Cannot list the packages of " + file, e);
+			complete = false;
+			return;
+		}
+		for (File referenced : referencedJars) {
+			collectFile(referenced);
+		}
+	}
+
+	protected void addPackage(String packageName) {
+		String current = packageName;
+		while (!current.isEmpty() && packages.add(current)) {
+			int idx = current.lastIndexOf('/');
+			current = idx == -1 ? "" : current.substring(0, idx);
+		}
+	}
+}
@@ -13,8 +13,10 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.emf.ecore.resource.Resource;
@@ -26,6 +28,7 @@ import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.xtext.common.types.TypesPackage;
 import org.eclipse.xtext.common.types.descriptions.EObjectDescriptionBasedStubGenerator;
+import org.eclipse.xtext.common.types.descriptions.JvmTypesResourceDescriptionStrategy;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
@@ -44,12 +47,17 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
 
 	private final ClassFileCache classFileCache;
 
+	private final SharedBinaryTypeCache sharedBinaryTypeCache;
+
 	private Map<QualifiedName, NameEnvironmentAnswer> nameToAnswerCache = new HashMap<>();
 
+	private Set<String> indexedPackages;
+
 	@Override
 	public void cleanup() {
 		nameToAnswerCache.clear();
 		classFileCache.clear();
+		indexedPackages = null;
 	}
 
 	@Override
@@ -60,53 +68,68 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
 	}
 
 	public NameEnvironmentAnswer findType(QualifiedName className) {
-		try {
-			if (classFileCache.containsKey(className)) {
-				IBinaryType t = classFileCache.get(className);
-				if (t == null) {
-					return null;
-				}
-				return new NameEnvironmentAnswer(t, null);
+		if (classFileCache.containsKey(className)) {
+			IBinaryType t = classFileCache.get(className);
+			if (t == null) {
+				return null;
 			}
-			if (nameToAnswerCache.containsKey(className)) {
-				return nameToAnswerCache.get(className);
+			return new NameEnvironmentAnswer(t, null);
+		}
+		if (nameToAnswerCache.containsKey(className)) {
+			return nameToAnswerCache.get(className);
+		}
+		IEObjectDescription candidate = IterableExtensions.head(
+				resourceDescriptions.getExportedObjects(TypesPackage.Literals.JVM_DECLARED_TYPE, className, false));
+		NameEnvironmentAnswer result = null;
+		if (candidate != null) {
+			IResourceDescription resourceDescription = resourceDescriptions
+					.getResourceDescription(candidate.getEObjectURI().trimFragment());
+			Resource res = resource.getResourceSet().getResource(resourceDescription.getURI(), false);
+			String source = null;
+			if (res instanceof JavaResource) {
+				source = ((JavaResource) res).getOriginalSource();
+			} else {
+				source = stubGenerator.getJavaStubSource(candidate, resourceDescription);
 			}
-			IEObjectDescription candidate = IterableExtensions.head(
-					resourceDescriptions.getExportedObjects(TypesPackage.Literals.JVM_DECLARED_TYPE, className, false));
-			NameEnvironmentAnswer result = null;
-			if (candidate != null) {
-				IResourceDescription resourceDescription = resourceDescriptions
-						.getResourceDescription(candidate.getEObjectURI().trimFragment());
-				Resource res = resource.getResourceSet().getResource(resourceDescription.getURI(), false);
-				String source = null;
-				if (res instanceof JavaResource) {
-					source = ((JavaResource) res).getOriginalSource();
+			CompilationUnit compilationUnit = new CompilationUnit(source.toCharArray(),
+					className.toString("/") + ".java", null);
+			result = new NameEnvironmentAnswer(compilationUnit, null);
+		} else {
+			IBinaryType reader = null;
+			if (isClasspathPackage(className.skipLast(1))) {
+				if (sharedBinaryTypeCache != null) {
+					reader = sharedBinaryTypeCache.get(classLoader, className, this::readBinaryType);
 				} else {
-					source = stubGenerator.getJavaStubSource(candidate, resourceDescription);
-				}
-				CompilationUnit compilationUnit = new CompilationUnit(source.toCharArray(),
-						className.toString("/") + ".java", null);
-				result = new NameEnvironmentAnswer(compilationUnit, null);
-			} else {
-				String fileName = className.toString("/") + ".class";
-				URL url = classLoader.getResource(fileName);
-				if (url == null) {
-					nameToAnswerCache.put(className, null);
-					classFileCache.put(className, null);
-					return null;
+					reader = readBinaryType(className);
 				}
-				IBinaryType reader = null;
-				try (InputStream stream = url.openStream()) {
-					reader = ClassFileReader.read(stream, fileName);
-				}
-				if (reader == null) {
-					return null;
-				}
-				classFileCache.put(className, reader);
-				result = new NameEnvironmentAnswer(reader, null);
 			}
-			nameToAnswerCache.put(className, result);
-			return result;
+			if (reader == null) {
+				nameToAnswerCache.put(className, null);
+				classFileCache.put(className, null);
+				return null;
+			}
+			classFileCache.put(className, reader);
+			result = new NameEnvironmentAnswer(reader, null);
+		}
+		nameToAnswerCache.put(className, result);
+		return result;
+	}
+
+	/**
+	 * Reads the class file with the given name from the class loader. Returns <code>null</code> if there is no such
+	 * class file.
+	 * 
+	 * @since 2.25
+	 */
+	protected IBinaryType readBinaryType(QualifiedName className) {
+		String fileName = className.toString("/") + ".class";
+		URL url = classLoader.getResource(fileName);
+		if (url == null) {
+			return null;
+		}
+		try (InputStream stream = url.openStream()) {
+			// fully initialize the reader since it may be shared across threads
+			return ClassFileReader.read(stream, fileName, sharedBinaryTypeCache != null);
 		} catch (IOException | ClassFormatException e) {
 			throw Exceptions.sneakyThrow(e);
 		}
@@ -125,16 +148,74 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
 		if (packageName == null || packageName.length == 0) {
 			return false;
 		}
-		return Character.isLowerCase(packageName[0]);
+		ClasspathPackages classpathPackages = classFileCache.getClasspathPackages(classLoader);
+		if (!classpathPackages.isComplete()) {
+			return Character.isLowerCase(packageName[0]);
+		}
+		StringBuilder name = new StringBuilder();
+		if (parentPackageName != null) {
+			for (char[] segment : parentPackageName) {
+				name.append(segment).append('/');
+			}
+		}
+		name.append(packageName);
+		String path = name.toString();
+		return classpathPackages.contains(path) || getIndexedPackages().contains(path);
+	}
+
+	/**
+	 * Returns <code>false</code> if the given package is known to not contain any class files on the class path.
+	 * 
+	 * @since 2.25
+	 */
+	protected boolean isClasspathPackage(QualifiedName packageName) {
+		ClasspathPackages classpathPackages = classFileCache.getClasspathPackages(classLoader);
+		return !classpathPackages.isComplete() || classpathPackages.contains(packageName.toString("/"));
+	}
+
+	/**
+	 * The slash separated names of all packages that contain top level types from the index, including their parent
+	 * packages. Computed once per name environment since the index may change between compilations.
+	 * 
+	 * @since 2.25
+	 */
+	protected Set<String> getIndexedPackages() {
+		if (indexedPackages == null) {
+			Set<String> result = new HashSet<>();
+			for (IEObjectDescription description : resourceDescriptions
+					.getExportedObjectsByType(TypesPackage.Literals.JVM_DECLARED_TYPE)) {
+				if (!Boolean.TRUE.toString()
+						.equals(description.getUserData(JvmTypesResourceDescriptionStrategy.IS_NESTED_TYPE))) {
+					QualifiedName packageName = description.getQualifiedName().skipLast(1);
+					while (!packageName.isEmpty() && result.add(packageName.toString("/"))) {
+						packageName = packageName.skipLast(1);
+					}
+				}
+			}
+			indexedPackages = result;
+		}
+		return indexedPackages;
 	}
 
 	public IndexAwareNameEnvironment(Resource resource, ClassLoader classLoader,
 			IResourceDescriptions resourceDescriptions, EObjectDescriptionBasedStubGenerator stubGenerator,
 			ClassFileCache classFileCache) {
+		this(resource, classLoader, resourceDescriptions, stubGenerator, classFileCache, null);
+	}
+
+	/**
+	 * @param sharedBinaryTypeCache
+	 *            an optional cache for binary types that is shared across resource sets. May be <code>null</code>.
+	 * @since 2.25
+	 */
+	public IndexAwareNameEnvironment(Resource resource, ClassLoader classLoader,
+			IResourceDescriptions resourceDescriptions, EObjectDescriptionBasedStubGenerator stubGenerator,
+			ClassFileCache classFileCache, SharedBinaryTypeCache sharedBinaryTypeCache) {
 		this.resource = resource;
 		this.classLoader = classLoader;
 		this.resourceDescriptions = resourceDescriptions;
 		this.stubGenerator = stubGenerator;
 		this.classFileCache = classFileCache;
+		this.sharedBinaryTypeCache = sharedBinaryTypeCache;
 	}
 }
@@ -55,11 +55,25 @@ import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 public class JavaDerivedStateComputer {
 
 	private static final Logger LOG = Logger.getLogger(JavaDerivedStateComputer.class);
 
+	/**
+	 * Enables building the types of the other compiled units concurrently. The compilation itself is not parallelized.
+	 * 
+	 * @see #isParallelTypeBuilding()
+	 * @since 2.25
+	 */
+	public static final String PARALLEL_TYPE_BUILDING = "JavaDerivedStateComputer_ParallelTypeBuilding";
+
+	/**
+	 * @since 2.25
+	 */
+	public static final String MAXIMUM_RETAINED_BYTECODE = "JavaDerivedStateComputer_MaximumRetainedBytecode";
+
 	@Inject
 	private IReferableElementsUnloader unloader;
 
@@ -69,6 +83,18 @@ public class JavaDerivedStateComputer {
 	@Inject
 	private IResourceDescriptionsProvider resourceDescriptionsProvider;
 
+	@Inject(optional = true)
+	@Named(PARALLEL_TYPE_BUILDING)
+	private boolean useParallelTypeBuilding = false;
+
+	@Inject(optional = true)
+	@Named(MAXIMUM_RETAINED_BYTECODE)
+	private long maximumRetainedBytecode = Long.MAX_VALUE;
+
+	@Inject(optional = true)
+	@Named(SharedBinaryTypeCache.SHARED_BINARY_TYPE_CACHE_ENABLEMENT)
+	private boolean useSharedBinaryTypeCache = false;
+
 	public void discardDerivedState(Resource resource) {
 		EList<EObject> resourcesContentsList = resource.getContents();
 		for (EObject eObject : resourcesContentsList) {
@@ -157,11 +183,37 @@ public class JavaDerivedStateComputer {
 		ClassFileCache cache = ClassFileCache.findInEmfObject(rs);
 		if (cache == null) {
 			cache = new ClassFileCache();
+			cache.setMaximumRetainedBytes(maximumRetainedBytecode);
 			cache.attachToEmfObject(rs);
 		}
 		return cache;
 	}
 
+	/**
+	 * Discards the bytecode of the compiled types of the given resource that is retained for subsequent compilations.
+	 * Useful for long living resource sets if the types of the resource are already materialized. Other compilation
+	 * units that depend on the types will be compiled against the source of the resource instead.
+	 * 
+	 * @since 2.25
+	 */
+	public void discardBytecode(Resource resource) {
+		ClassFileCache classFileCache = ClassFileCache.findInEmfObject(resource.getResourceSet());
+		if (classFileCache == null) {
+			return;
+		}
+		List<QualifiedName> names = new ArrayList<>();
+		for (EObject content : resource.getContents()) {
+			if (content instanceof JvmDeclaredType) {
+				JvmDeclaredType type = (JvmDeclaredType) content;
+				names.add(QualifiedName.create(type.getIdentifier().split("\\.")));
+				for (JvmDeclaredType nested : type.getAllNestedTypes()) {
+					names.add(QualifiedName.create(nested.getIdentifier().split("\\.")));
+				}
+			}
+		}
+		classFileCache.discardCompiledClasses(names);
+	}
+
 	public void installFull(Resource resource) {
 		if (isInfoFile(resource)) {
 			return;
@@ -177,32 +229,27 @@ public class JavaDerivedStateComputer {
 				Map<String, byte[]> classMap) -> {
 			InMemoryClassLoader inMemClassLoader = new InMemoryClassLoader(classMap, classLoader);
 			for (String topLevel : topLevelTypes) {
-				try {
-					BinaryClass binaryClass = new BinaryClass(topLevel, inMemClassLoader);
-					ClassFileBytesAccess classFileBytesAccess = new ClassFileBytesAccess();
-					JvmDeclaredTypeBuilder builder = new JvmDeclaredTypeBuilder(binaryClass, classFileBytesAccess,
-							inMemClassLoader);
-					JvmDeclaredType type = builder.buildType();
-					resource.getContents().add(type);
-				} catch (Throwable t) {
-					throw new IllegalStateException("Could not load type '" + topLevel + "'", t);
-				}
+				resource.getContents().add(buildType(topLevel, inMemClassLoader));
 			}
 		};
-		boolean wasCached = classFileCache.popCompileResult(compilationUnit.fileName, initializer);
+		boolean wasCached = classFileCache.popBuiltTypes(compilationUnit.fileName,
+				(List<JvmDeclaredType> types) -> resource.getContents().addAll(types))
+				|| classFileCache.popCompileResult(compilationUnit.fileName, initializer);
 		if (!wasCached) {
 			Set<CompilationUnit> unitsToCompile = classFileCache.drainResourcesToCompile().stream()
 					.map((r) -> getCompilationUnit(r)).collect(Collectors.toSet());
 			unitsToCompile.add(compilationUnit);
 			IndexAwareNameEnvironment nameEnv = new IndexAwareNameEnvironment(resource, classLoader, data,
-					stubGenerator, classFileCache);
+					stubGenerator, classFileCache, getSharedBinaryTypeCache());
+			boolean parallel = isParallelTypeBuilding();
+			List<char[]> otherFileNames = new ArrayList<>();
 			ICompilerRequestor compilerRequestor = new ICompilerRequestor() {
 
 				@Override
 				public void acceptResult(CompilationResult result) {
 					for (ClassFile cls : result.getClassFiles()) {
 						QualifiedName key = QualifiedName.create(CharOperation.toStrings(cls.getCompoundName()));
-						classFileCache.computeIfAbsent(key, (QualifiedName name) -> {
+						classFileCache.computeIfAbsent(key, cls.getBytes().length, (QualifiedName name) -> {
 							try {
 								return new ClassFileReader(cls.getBytes(), cls.fileName());
 							} catch (Throwable e) {
@@ -223,6 +270,9 @@ public class JavaDerivedStateComputer {
 						initializer.apply(topLevelTypes, map);
 					} else {
 						classFileCache.addCompileResult(result.fileName, topLevelTypes, map);
+						if (parallel) {
+							otherFileNames.add(result.fileName);
+						}
 					}
 				}
 
@@ -232,9 +282,119 @@ public class JavaDerivedStateComputer {
 					nameEnv, DefaultErrorHandlingPolicies.proceedWithAllProblems(), getCompilerOptions(resource),
 					compilerRequestor, problemFactory);
 			compiler.compile(unitsToCompile.toArray(new ICompilationUnit[0]));
+			if (parallel) {
+				buildTypesConcurrently(otherFileNames, classFileCache, classLoader);
+			}
 		}
 	}
 
+	/**
+	 * Builds the types of the other compiled units concurrently ahead of time. The compiler has already finished at this
+	 * point and the types are built from the bytecode of the compile results only, so neither the name environment nor
+	 * any resource of the resource set is accessed concurrently. If a unit cannot be built, its compile result is kept
+	 * so the problem is reported when the resource of that unit is installed.
+	 * 
+	 * @since 2.25
+	 */
+	protected void buildTypesConcurrently(List<char[]> fileNames, ClassFileCache classFileCache,
+			ClassLoader classLoader) {
+		fileNames.parallelStream().forEach((char[] fileName) -> {
+			classFileCache.popCompileResult(fileName, (List<String> topLevelTypes, Map<String, byte[]> classMap) -> {
+				try {
+					classFileCache.addBuiltTypes(fileName, buildTypes(topLevelTypes, classMap, classLoader),
+							getSize(classMap));
+				} catch (IllegalStateException e) {
+					classFileCache.addCompileResult(fileName, topLevelTypes, classMap);
+				}
+			});
+		});
+	}
+
+	private int getSize(Map<String, byte[]> classMap) {
+		int size = 0;
+		for (byte[] bytes : classMap.values()) {
+			size += bytes.length;
+		}
+		return size;
+	}
+
+	/**
+	 * Creates the types for the given compiled top level classes. This method may be called concurrently for different
+	 * compilation units.
+	 * 
+	 * @since 2.25
+	 */
+	protected List<JvmDeclaredType> buildTypes(List<String> topLevelTypes, Map<String, byte[]> classMap,
+			ClassLoader classLoader) {
+		InMemoryClassLoader inMemClassLoader = new InMemoryClassLoader(classMap, classLoader);
+		List<JvmDeclaredType> result = new ArrayList<>(topLevelTypes.size());
+		for (String topLevel : topLevelTypes) {
+			result.add(buildType(topLevel, inMemClassLoader));
+		}
+		return result;
+	}
+
+	/**
+	 * Creates the type for the given compiled top level class.
+	 * 
+	 * @throws IllegalStateException
+	 *             if the type could not be loaded.
+	 * @since 2.25
+	 */
+	protected JvmDeclaredType buildType(String topLevel, InMemoryClassLoader inMemClassLoader) {
+		try {
+			BinaryClass binaryClass = new BinaryClass(topLevel, inMemClassLoader);
+			ClassFileBytesAccess classFileBytesAccess = new ClassFileBytesAccess();
+			JvmDeclaredTypeBuilder builder = new JvmDeclaredTypeBuilder(binaryClass, classFileBytesAccess,
+					inMemClassLoader);
+			return builder.buildType();
+		} catch (Throwable t) {
+			throw new IllegalStateException("Could not load type '" + topLevel + "'", t);
+		}
+	}
+
+	/**
+	 * Discards the pending compile result and the types that were built ahead of time for the given resource, e.g.
+	 * because it is about to be reloaded.
+	 * 
+	 * @since 2.25
+	 */
+	public void discardPendingResults(Resource resource) {
+		CompilationUnit compilationUnit = getCompilationUnit(resource);
+		ResourceSet resourceSet = resource.getResourceSet();
+		if (compilationUnit == null || resourceSet == null) {
+			return;
+		}
+		ClassFileCache classFileCache = ClassFileCache.findInEmfObject(resourceSet);
+		if (classFileCache != null) {
+			classFileCache.discardPendingResults(compilationUnit.fileName);
+		}
+	}
+
+	/**
+	 * Whether the types of the other compiled units should be built concurrently. All units are still compiled by a
+	 * single compiler on the calling thread, since its name environment reads the resource set, which is not
+	 * thread-safe. Disabled by default.
+	 * 
+	 * @since 2.25
+	 */
+	protected boolean isParallelTypeBuilding() {
+		return useParallelTypeBuilding;
+	}
+
+	/**
+	 * Returns the cache for binary types that is shared by all resource sets or <code>null</code> if the shared cache
+	 * is not enabled.
+	 * 
+	 * @since 2.25
+	 */
+	protected SharedBinaryTypeCache getSharedBinaryTypeCache() {
+		if (useSharedBinaryTypeCache) {
+			return SharedBinaryTypeCache.getDefault();
+		}
+		return null;
+	}
+
 	protected boolean isInfoFile(Resource resource) {
 		String name = resource.getURI().trimFileExtension().lastSegment();
 		return "package-info".equals(name) || "module-info".equals(name);
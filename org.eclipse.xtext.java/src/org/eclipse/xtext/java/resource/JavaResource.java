@@ -128,6 +128,9 @@ public class JavaResource extends ResourceImpl implements IJavaSchemeUriResolver
 		String encoding = getEncoding(getURI(), options);
 		InputStreamReader inputStreamReader = new InputStreamReader(inputStream, encoding);
 		contentsAsString = CharStreams.toString(inputStreamReader);
+		if (compilationUnit != null) {
+			derivedStateComputer.discardPendingResults(this);
+		}
 		compilationUnit = new CompilationUnit(contentsAsString.toCharArray(), getURI().lastSegment(), encoding, null);
 	}
 
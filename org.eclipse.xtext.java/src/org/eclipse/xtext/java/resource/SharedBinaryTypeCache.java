@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.java.resource;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.xtext.naming.QualifiedName;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * A cache for binary types that were read from a class loader. In contrast to the {@link ClassFileCache}, it is not
+ * bound to the lifecycle of a resource set but shared by all resource sets that use the same class loader. Class
+ * loaders are weakly referenced and the number of cached types per class loader is bounded.
+ *
+ * Negative lookups are cached, too. Therefore the cache should only be used for class loaders whose content does not
+ * change over time, e.g. the class path of a language server.
+ *
+ * The cache is disabled by default and may be enabled with a binding for the named boolean
+ * {@link #SHARED_BINARY_TYPE_CACHE_ENABLEMENT}.
+ *
+ * @since 2.25
+ */
+public class SharedBinaryTypeCache {
+
+	public static final String SHARED_BINARY_TYPE_CACHE_ENABLEMENT = "SharedBinaryTypeCache_Enablement";
+
+	public static final int DEFAULT_MAXIMUM_SIZE_PER_CLASS_LOADER = 20000;
+
+	private static final SharedBinaryTypeCache DEFAULT = new SharedBinaryTypeCache(DEFAULT_MAXIMUM_SIZE_PER_CLASS_LOADER);
+
+	/**
+	 * The cache instance that is shared by all {@link JavaDerivedStateComputer JavaDerivedStateComputers}.
+	 */
+	public static SharedBinaryTypeCache getDefault() {
+		return DEFAULT;
+	}
+
+	private final long maximumSizePerClassLoader;
+
+	private final Cache<ClassLoader, Cache<QualifiedName, Optional<IBinaryType>>> classLoaderCaches = CacheBuilder
+			.newBuilder().weakKeys().build();
+
+	public SharedBinaryTypeCache(long maximumSizePerClassLoader) {
+		this.maximumSizePerClassLoader = maximumSizePerClassLoader;
+	}
+
+	/**
+	 * Returns the cached binary type or computes it with the given function. The function may return <code>null</code>
+	 * to indicate that the type does not exist on the class path. The computed binary type must be fully initialized
+	 * since it may be used by multiple threads concurrently.
+	 */
+	public IBinaryType get(ClassLoader classLoader, QualifiedName className,
+			Function<? super QualifiedName, ? extends IBinaryType> fun) {
+		try {
+			return getCache(classLoader).get(className, () -> Optional.ofNullable(fun.apply(className))).orElse(null);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else {
+				throw new RuntimeException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the given class name was already looked up with the given class loader. This
+	 * includes lookups that did not find a class.
+	 */
+	public boolean isCached(ClassLoader classLoader, QualifiedName className) {
+		Cache<QualifiedName, Optional<IBinaryType>> cache = classLoaderCaches.getIfPresent(classLoader);
+		return cache != null && cache.asMap().containsKey(className);
+	}
+
+	protected Cache<QualifiedName, Optional<IBinaryType>> getCache(ClassLoader classLoader) {
+		try {
+			return classLoaderCaches.get(classLoader, this::createCache);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	protected Cache<QualifiedName, Optional<IBinaryType>> createCache() {
+		return CacheBuilder.newBuilder()
+			.maximumSize(maximumSizePerClassLoader)
+			.recordStats()
+			.build();
+	}
+
+	/**
+	 * The accumulated hit and miss counts of all class loaders that are currently cached.
+	 */
+	public CacheStats getStats() {
+		CacheStats result = new CacheStats(0, 0, 0, 0, 0, 0);
+		for (Cache<QualifiedName, Optional<IBinaryType>> cache : classLoaderCaches.asMap().values()) {
+			result = result.plus(cache.stats());
+		}
+		return result;
+	}
+
+	/**
+	 * The number of cached types, including negative lookups.
+	 */
+	public long size() {
+		long result = 0;
+		for (Cache<QualifiedName, Optional<IBinaryType>> cache : classLoaderCaches.asMap().values()) {
+			result += cache.size();
+		}
+		return result;
+	}
+
+	public long getClassLoaderCount() {
+		return classLoaderCaches.size();
+	}
+
+	public void clear() {
+		classLoaderCaches.invalidateAll();
+	}
+
+	public void clear(ClassLoader classLoader) {
+		classLoaderCaches.invalidate(classLoader);
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.smap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Installs SMAPs into all class files of an output folder or a jar. The class files of a folder are processed in
+ * parallel. Class files that already contain the very same SMAP are not written again.
+ *
+ * @since 2.25
+ */
+public class BatchSmapInstaller {
+
+	/**
+	 * The number of processed class files.
+	 */
+	public static class Statistics {
+		private final AtomicInteger installed = new AtomicInteger();
+		private final AtomicInteger unchanged = new AtomicInteger();
+		private final AtomicInteger skipped = new AtomicInteger();
+
+		/**
+		 * The number of class files that were rewritten.
+		 */
+		public int getInstalled() {
+			return installed.get();
+		}
+
+		/**
+		 * The number of class files that already contained the SMAP.
+		 */
+		public int getUnchanged() {
+			return unchanged.get();
+		}
+
+		/**
+		 * The number of class files without a SMAP.
+		 */
+		public int getSkipped() {
+			return skipped.get();
+		}
+
+		@Override
+		public String toString() {
+			return "installed: " + installed + ", unchanged: " + unchanged + ", skipped: " + skipped;
+		}
+	}
+
+	/**
+	 * Installs the SMAPs into the class files below the given folder.
+	 *
+	 * @param smapProvider
+	 *            computes the SMAP for the class file with the given path relative to the folder, e.g.
+	 *            <code>org/example/Foo$Bar.class</code>. May return <code>null</code> if there is no SMAP for the
+	 *            class file. Must be thread-safe.
+	 */
+	public Statistics installIntoFolder(Path folder, Function<String, String> smapProvider) throws IOException {
+		Statistics statistics = new Statistics();
+		List<Path> classFiles = collectClassFiles(folder);
+		try {
+			classFiles.parallelStream().forEach(classFile -> install(folder, classFile, smapProvider, statistics));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return statistics;
+	}
+
+	/**
+	 * Installs the SMAPs into the class files of the given jar. The jar is updated in place.
+	 *
+	 * @see #installIntoFolder(Path, Function)
+	 */
+	public Statistics installIntoJar(Path jar, Function<String, String> smapProvider) throws IOException {
+		Statistics statistics = new Statistics();
+		try (FileSystem fileSystem = FileSystems.newFileSystem(jar, (ClassLoader) null)) {
+			Path root = fileSystem.getPath("/");
+			try {
+				for (Path classFile : collectClassFiles(root)) {
+					install(root, classFile, smapProvider, statistics);
+				}
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		}
+		return statistics;
+	}
+
+	protected List<Path> collectClassFiles(Path root) throws IOException {
+		try (Stream<Path> files = Files.walk(root)) {
+			return files.filter(file -> file.toString().endsWith(".class") && Files.isRegularFile(file))
+					.collect(Collectors.toList());
+		}
+	}
+
+	protected void install(Path root, Path classFile, Function<String, String> smapProvider, Statistics statistics) {
+		String separator = classFile.getFileSystem().getSeparator();
+		String relativePath = root.relativize(classFile).toString().replace(separator, "/");
+		String smap = smapProvider.apply(relativePath);
+		if (smap == null) {
+			statistics.skipped.incrementAndGet();
+			return;
+		}
+		try {
+			byte[] sdeAttr = smap.getBytes(StandardCharsets.UTF_8);
+			SDEInstaller installer = new SDEInstaller(Files.readAllBytes(classFile), sdeAttr);
+			if (installer.isSDEUnchanged()) {
+				statistics.unchanged.incrementAndGet();
+			} else {
+				Files.write(classFile, installer.getUpdatedByteCode());
+				statistics.installed.incrementAndGet();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
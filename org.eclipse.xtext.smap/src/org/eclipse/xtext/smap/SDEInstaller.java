@@ -17,6 +17,8 @@ package org.eclipse.xtext.smap;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 //*********************************************************************
 // Installation logic (from Robert Field, JSR-045 spec lead)
@@ -24,6 +26,8 @@ public class SDEInstaller {
 
 	private static final String nameSDE = "SourceDebugExtension";
 
+	private static final byte[] nameSDEBytes = nameSDE.getBytes(StandardCharsets.UTF_8);
+
 	private byte[] orig;
 	private byte[] sdeAttr;
 	private byte[] gen;
@@ -32,6 +36,7 @@ public class SDEInstaller {
 	private int genPos = 0;
 
 	private int sdeIndex;
+	private byte[] oldSdeAttr;
 	private boolean verbose = false;
 
 	public SDEInstaller(byte[] original, byte[] sdeAttr) throws IOException {
@@ -48,6 +53,15 @@ public class SDEInstaller {
 		System.arraycopy(gen, 0, result, 0, genPos);
 		return result;
 	}
+
+	/**
+	 * Returns <code>true</code> if the original byte code already contained the very same source debug extension.
+	 * 
+	 * @since 2.25
+	 */
+	public boolean isSDEUnchanged() {
+		return Arrays.equals(oldSdeAttr, sdeAttr);
+	}
 	
 	protected void addSDE() throws UnsupportedEncodingException, IOException {
 		copy(4 + 2 + 2); // magic min/maj version
@@ -128,6 +142,7 @@ public class SDEInstaller {
 			// don't write old SDE
 			if (nameIndex == sdeIndex) {
 				sdeFound = true;
+				oldSdeAttr = readBytes(readU4());
 				if (verbose) {
 					System.out.println("SDE attr found");
 				}
@@ -147,9 +162,7 @@ public class SDEInstaller {
 	protected void writeAttrForSDE(int index) {
 		writeU2(index);
 		writeU4(sdeAttr.length);
-		for (int i = 0; i < sdeAttr.length; ++i) {
-			writeU1(sdeAttr[i]);
-		}
+		writeBytes(sdeAttr);
 	}
 
 	protected void randomAccessWriteU2(int pos, int val) {
@@ -188,23 +201,21 @@ public class SDEInstaller {
 	}
 
 	protected void copy(int count) {
-		for (int i = 0; i < count; ++i) {
-			gen[genPos++] = orig[origPos++];
-		}
+		System.arraycopy(orig, origPos, gen, genPos, count);
+		origPos += count;
+		genPos += count;
 	}
 
 	protected byte[] readBytes(int count) {
 		byte[] bytes = new byte[count];
-		for (int i = 0; i < count; ++i) {
-			bytes[i] = orig[origPos++];
-		}
+		System.arraycopy(orig, origPos, bytes, 0, count);
+		origPos += count;
 		return bytes;
 	}
 
 	protected void writeBytes(byte[] bytes) {
-		for (int i = 0; i < bytes.length; ++i) {
-			gen[genPos++] = bytes[i];
-		}
+		System.arraycopy(bytes, 0, gen, genPos, bytes.length);
+		genPos += bytes.length;
 	}
 
 	protected int copyConstantPool(int constantPoolCount) throws UnsupportedEncodingException, IOException {
@@ -251,15 +262,13 @@ public class SDEInstaller {
 				case 1: // Utf8
 					int len = readU2();
 					writeU2(len);
-					byte[] utf8 = readBytes(len);
-					String str = new String(utf8, "UTF-8");
 					if (verbose) {
-						System.out.println(i + " read class attr -- '" + str + "'");
+						System.out.println(i + " read class attr -- '" + new String(orig, origPos, len, "UTF-8") + "'");
 					}
-					if (str.equals(nameSDE)) {
+					if (isSDEName(len)) {
 						sdeIndex = i;
 					}
-					writeBytes(utf8);
+					copy(len);
 					break;
 				default:
 					throw new IOException("unexpected tag: " + tag);
@@ -268,6 +277,18 @@ public class SDEInstaller {
 		return sdeIndex;
 	}
 
+	private boolean isSDEName(int len) {
+		if (len != nameSDEBytes.length) {
+			return false;
+		}
+		for (int i = 0; i < len; ++i) {
+			if (orig[origPos + i] != nameSDEBytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	protected void writeUtf8ForSDE() {
 		int len = nameSDE.length();
 		writeU1(1); // Utf8 tag
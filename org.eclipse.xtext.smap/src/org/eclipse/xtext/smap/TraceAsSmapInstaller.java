@@ -11,6 +11,7 @@ package org.eclipse.xtext.smap;
 import static com.google.common.collect.Maps.newHashMap;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -68,7 +69,7 @@ public class TraceAsSmapInstaller implements ITraceToBytecodeInstaller {
 	public byte[] installTrace(byte[] javaClassBytecode) throws IOException {
 		if (smap == null)
 			return null;
-		byte[] updatedByteCode = new SDEInstaller(javaClassBytecode, smap.getBytes()).getUpdatedByteCode();
+		byte[] updatedByteCode = new SDEInstaller(javaClassBytecode, smap.getBytes(StandardCharsets.UTF_8)).getUpdatedByteCode();
 		return updatedByteCode;
 	}
 
@@ -77,6 +78,16 @@ public class TraceAsSmapInstaller implements ITraceToBytecodeInstaller {
 		smap = generateSmap(trace, javaFileName);
 	}
 
+	/**
+	 * The SMAP for the current trace, e.g. to be installed with the {@link BatchSmapInstaller}. May be
+	 * <code>null</code>.
+	 * 
+	 * @since 2.25
+	 */
+	public String getSmap() {
+		return smap;
+	}
+
 	protected String toSmap(String outputFileName, List<LineMapping> lineInfo) {
 		SmapGenerator generator = new SmapGenerator();
 		generator.setOutputFileName(outputFileName);
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.access.binary.BinaryClass;
+import org.eclipse.xtext.common.types.access.binary.BinaryClassFinder;
+import org.eclipse.xtext.common.types.access.binary.asm.ClassFileBytesAccess;
+import org.eclipse.xtext.common.types.access.impl.DeclaredTypeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the creation of the binary types of all top-level classes of the <code>java.base</code> module with a new
+ * {@link BinaryClassFinder} and {@link DeclaredTypeFactory}, like a type provider of a new resource set that touches
+ * many JDK types. Requires a Java 9 or newer runtime.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BinaryTypesBenchmark {
+
+	private List<String> classNames;
+
+	@Setup
+	public void setup() throws IOException {
+		FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+		Path javaBase = jrt.getPath("modules", "java.base");
+		try (Stream<Path> files = Files.walk(javaBase)) {
+			classNames = files
+					.map(file -> javaBase.relativize(file).toString())
+					.filter(name -> name.endsWith(".class") && name.indexOf('$') == -1 && !name.endsWith("-info.class"))
+					.map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.'))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	@Benchmark
+	public void createTypes(Blackhole blackhole) {
+		ClassLoader classLoader = BinaryTypesBenchmark.class.getClassLoader();
+		BinaryClassFinder classFinder = new BinaryClassFinder(classLoader);
+		DeclaredTypeFactory typeFactory = new DeclaredTypeFactory(new ClassFileBytesAccess(), classLoader);
+		for (String className : classNames) {
+			try {
+				BinaryClass binaryClass = classFinder.forName(className);
+				JvmDeclaredType type = typeFactory.createType(binaryClass);
+				blackhole.consume(type);
+			} catch (ClassNotFoundException | RuntimeException e) {
+				// not accessible from the class loader or not supported by the ASM version
+				blackhole.consume(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.common.types.access.reflect.CachingReflectionTypeFactory;
+import org.eclipse.xtext.common.types.access.reflect.CachingReflectionTypeProviderFactory;
+import org.eclipse.xtext.common.types.access.reflect.ReflectionTypeProvider;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+import org.eclipse.xtext.xbase.lib.Functions;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ObjectExtensions;
+import org.eclipse.xtext.xbase.lib.StringExtensions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+
+/**
+ * Measures a type provider of a new injector that loads common types of the JDK and the Xbase library, like the setups
+ * of applications that create many injectors over the same class loader. Without the global type cache of the
+ * {@link CachingReflectionTypeFactory} every injector starts cold, with it only the first one does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReflectionTypeProviderBenchmark {
+
+	private static final Class<?>[] TYPES = { Object.class, String.class, Integer.class, List.class, ArrayList.class,
+			Map.class, HashMap.class, Set.class, Collections.class, Stream.class, IterableExtensions.class,
+			StringExtensions.class, ObjectExtensions.class, Functions.class };
+
+	@Param({ "false", "true" })
+	public boolean globalTypeCache;
+
+	private Module module;
+
+	@Setup
+	public void setup() {
+		CachingReflectionTypeFactory.clearGlobalCache();
+		module = binder -> binder.bindConstant()
+				.annotatedWith(Names.named(CachingReflectionTypeProviderFactory.GLOBAL_TYPE_CACHE)).to(globalTypeCache);
+	}
+
+	@Benchmark
+	public void createProviderAndLoadTypes(Blackhole blackhole) {
+		Injector injector = new XbaseBenchmarkSetup(module).createInjectorAndDoEMFRegistration();
+		ResourceSet resourceSet = injector.getInstance(SynchronizedXtextResourceSet.class);
+		ReflectionTypeProvider typeProvider = injector.getInstance(CachingReflectionTypeProviderFactory.class)
+				.createTypeProvider(resourceSet);
+		for (Class<?> type : TYPES) {
+			blackhole.consume(typeProvider.findTypeByName(type.getName()));
+		}
+	}
+}
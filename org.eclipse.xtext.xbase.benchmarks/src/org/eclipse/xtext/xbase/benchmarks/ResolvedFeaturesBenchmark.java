@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.xtext.common.types.JvmFormalParameter;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.JvmVisibility;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.common.types.util.TypeReferences;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+import org.eclipse.xtext.xbase.typesystem.override.OverrideHelper;
+import org.eclipse.xtext.xbase.typesystem.override.ResolvedFeatures;
+import org.eclipse.xtext.xbase.typesystem.references.ITypeReferenceOwner;
+import org.eclipse.xtext.xbase.typesystem.references.StandardTypeReferenceOwner;
+import org.eclipse.xtext.xbase.typesystem.util.CommonTypeComputationServices;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.inject.Inject;
+import com.google.inject.Module;
+import com.google.inject.Provider;
+import com.google.inject.name.Names;
+
+/**
+ * Measures the {@link ResolvedFeatures} of a deep class hierarchy, with and without the shared
+ * {@link org.eclipse.xtext.xbase.typesystem.override.ResolvedFeaturesCache}. Each class overrides the operations of its
+ * super class and declares one more operation. An operation asks for the features of every class, like the validation
+ * of a file that declares all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResolvedFeaturesBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean resolvedFeaturesCache;
+
+	@Param({ "20" })
+	public int depth;
+
+	@Inject
+	private OverrideHelper overrideHelper;
+
+	@Inject
+	private CommonTypeComputationServices services;
+
+	@Inject
+	private TypeReferences typeReferences;
+
+	@Inject
+	private Provider<SynchronizedXtextResourceSet> resourceSetProvider;
+
+	private ResourceSet resourceSet;
+
+	private List<JvmGenericType> hierarchy;
+
+	@Setup
+	public void setup() {
+		Module cacheModule = binder -> binder.bindConstant()
+				.annotatedWith(Names.named(OverrideHelper.RESOLVED_FEATURES_CACHE)).to(resolvedFeaturesCache);
+		new XbaseBenchmarkSetup(cacheModule).createInjectorAndDoEMFRegistration().injectMembers(this);
+		resourceSet = resourceSetProvider.get();
+		Resource resource = new ResourceImpl(URI.createURI("benchmark/Hierarchy.types"));
+		resourceSet.getResources().add(resource);
+		hierarchy = new ArrayList<>(depth);
+		JvmType superType = typeReferences.findDeclaredType(Object.class, resourceSet);
+		for (int i = 0; i < depth; i++) {
+			JvmGenericType type = TypesFactory.eINSTANCE.createJvmGenericType();
+			type.setPackageName("benchmark");
+			type.setSimpleName("C" + i);
+			type.setVisibility(JvmVisibility.PUBLIC);
+			type.getSuperTypes().add(typeReferences.createTypeRef(superType));
+			for (int j = 0; j <= i; j++) {
+				type.getMembers().add(createOperation("operation" + j));
+			}
+			resource.getContents().add(type);
+			hierarchy.add(type);
+			superType = type;
+		}
+	}
+
+	private JvmOperation createOperation(String name) {
+		JvmOperation result = TypesFactory.eINSTANCE.createJvmOperation();
+		result.setSimpleName(name);
+		result.setVisibility(JvmVisibility.PUBLIC);
+		result.setReturnType(typeReferences.getTypeForName(Void.TYPE, resourceSet));
+		JvmFormalParameter parameter = TypesFactory.eINSTANCE.createJvmFormalParameter();
+		parameter.setName("p");
+		parameter.setParameterType(typeReferences.getTypeForName(String.class, resourceSet));
+		result.getParameters().add(parameter);
+		return result;
+	}
+
+	@Benchmark
+	public void getAllOperations(Blackhole blackhole) {
+		ITypeReferenceOwner owner = new StandardTypeReferenceOwner(services, resourceSet);
+		for (JvmGenericType type : hierarchy) {
+			ResolvedFeatures features = overrideHelper.getResolvedFeatures(owner.toLightweightTypeReference(type));
+			blackhole.consume(features.getAllOperations());
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.testing.util.ParseHelper;
+import org.eclipse.xtext.util.IResourceScopeCache;
+import org.eclipse.xtext.xbase.XExpression;
+import org.eclipse.xtext.xbase.imports.CachingNonOverridableTypesProvider;
+import org.eclipse.xtext.xbase.imports.ImportOrganizer;
+import org.eclipse.xtext.xbase.imports.ImportedTypesCollector;
+import org.eclipse.xtext.xbase.imports.TypeUsageCollector;
+import org.eclipse.xtext.xbase.imports.TypeUsagesCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+/**
+ * Measures the type usages that the import validation and the import organizer need after a resource changed. Without
+ * the {@link TypeUsagesCache}, both collect the usages on their own. The cached results, including the resolved types,
+ * are discarded for every resource first.
+ * 
+ * The organize imports benchmarks compare organizing resource by resource with the bulk run of the
+ * {@link ImportOrganizer} that shares a {@link CachingNonOverridableTypesProvider} between the resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TypeUsagesBenchmark {
+
+	@Inject
+	private ParseHelper<XExpression> parseHelper;
+
+	@Inject
+	private Provider<SynchronizedXtextResourceSet> resourceSetProvider;
+
+	@Inject
+	private IResourceScopeCache cache;
+
+	@Inject
+	private Provider<TypeUsageCollector> typeUsageCollectorProvider;
+
+	@Inject
+	private Provider<ImportedTypesCollector> importedTypesCollectorProvider;
+
+	@Inject
+	private TypeUsagesCache typeUsagesCache;
+
+	@Inject
+	private ImportOrganizer importOrganizer;
+
+	private List<XtextResource> resources;
+
+	@Setup
+	public void setup() throws Exception {
+		new XbaseBenchmarkSetup().createInjectorAndDoEMFRegistration().injectMembers(this);
+		ResourceSet resourceSet = resourceSetProvider.get();
+		resources = new ArrayList<>();
+		for (String expression : XbaseCorpus.getExpressions()) {
+			XExpression model = parseHelper.parse(expression, resourceSet);
+			if (model != null && model.eResource().getErrors().isEmpty()) {
+				resources.add((XtextResource) model.eResource());
+			}
+		}
+	}
+
+	@Benchmark
+	public void collectTwice(Blackhole blackhole) {
+		for (XtextResource resource : resources) {
+			cache.clear(resource);
+			blackhole.consume(importedTypesCollectorProvider.get().collectTypeUsages(resource));
+			blackhole.consume(typeUsageCollectorProvider.get().collectTypeUsages(resource));
+		}
+	}
+
+	@Benchmark
+	public void collectCached(Blackhole blackhole) {
+		for (XtextResource resource : resources) {
+			cache.clear(resource);
+			blackhole.consume(typeUsagesCache.getImportedTypeUsages(resource));
+			blackhole.consume(typeUsagesCache.getTypeUsages(resource));
+		}
+	}
+
+	@Benchmark
+	public void organizeImportsPerResource(Blackhole blackhole) {
+		for (XtextResource resource : resources) {
+			blackhole.consume(importOrganizer.getOrganizedImportChanges(resource));
+		}
+	}
+
+	@Benchmark
+	public void organizeImportsInBulk(Blackhole blackhole) {
+		blackhole.consume(importOrganizer.getOrganizedImportChanges(resources).collect(Collectors.toList()));
+	}
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.benchmarks;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.parser.IParser;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+import org.eclipse.xtext.testing.util.ParseHelper;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.IResourceScopeCache;
+import org.eclipse.xtext.validation.CheckMode;
+import org.eclipse.xtext.validation.IResourceValidator;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.xbase.XExpression;
+import org.eclipse.xtext.xbase.compiler.ImportManager;
+import org.eclipse.xtext.xbase.compiler.XbaseCompiler;
+import org.eclipse.xtext.xbase.compiler.output.FakeTreeAppendable;
+import org.eclipse.xtext.xbase.interpreter.IExpressionInterpreter;
+import org.eclipse.xtext.xbase.typesystem.IBatchTypeResolver;
+import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+/**
+ * Measures the stages that Xbase expressions pass through, based on the expressions of the evaluation tests. Each
+ * operation processes the complete {@link XbaseCorpus corpus}. All expressions share a resource set, so the JVM types
+ * are only loaded once per trial.
+ *
+ * Run with <code>./gradlew :org.eclipse.xtext.xbase.benchmarks:jmh</code>, which also reports the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class XbaseBenchmark {
+
+	@Inject
+	private IParser parser;
+
+	@Inject
+	private ParseHelper<XExpression> parseHelper;
+
+	@Inject
+	private Provider<SynchronizedXtextResourceSet> resourceSetProvider;
+
+	@Inject
+	private IBatchTypeResolver typeResolver;
+
+	@Inject
+	private IResourceValidator resourceValidator;
+
+	@Inject
+	private IResourceScopeCache cache;
+
+	@Inject
+	private XbaseCompiler compiler;
+
+	@Inject
+	private IExpressionInterpreter interpreter;
+
+	private ResourceSet resourceSet;
+
+	/**
+	 * The expressions without syntax errors.
+	 */
+	private List<String> expressions;
+
+	/**
+	 * The loaded expressions.
+	 */
+	private List<XExpression> loaded;
+
+	/**
+	 * The loaded expressions without validation errors. Only these are compiled and interpreted.
+	 */
+	private List<XExpression> valid;
+
+	@Setup
+	public void setup() throws Exception {
+		new XbaseBenchmarkSetup().createInjectorAndDoEMFRegistration().injectMembers(this);
+		resourceSet = resourceSetProvider.get();
+		expressions = new ArrayList<>();
+		loaded = new ArrayList<>();
+		valid = new ArrayList<>();
+		for (String expression : XbaseCorpus.getExpressions()) {
+			XExpression model = parseHelper.parse(expression, resourceSet);
+			if (model == null || !model.eResource().getErrors().isEmpty()) {
+				unload(model);
+				continue;
+			}
+			expressions.add(expression);
+			loaded.add(model);
+			if (isValid(model)) {
+				valid.add(model);
+			}
+		}
+	}
+
+	private boolean isValid(XExpression model) {
+		try {
+			for (Issue issue : resourceValidator.validate(model.eResource(), CheckMode.ALL, CancelIndicator.NullImpl)) {
+				if (issue.isSyntaxError() || issue.getSeverity() == Severity.ERROR) {
+					return false;
+				}
+			}
+			toJava(model);
+			interpreter.evaluate(model);
+			return true;
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	private void unload(XExpression model) {
+		if (model != null) {
+			Resource resource = model.eResource();
+			resource.unload();
+			resourceSet.getResources().remove(resource);
+		}
+	}
+
+	/**
+	 * Runs the parser without creating resources.
+	 */
+	@Benchmark
+	public void parse(Blackhole blackhole) {
+		for (String expression : expressions) {
+			blackhole.consume(parser.parse(new StringReader(expression)));
+		}
+	}
+
+	/**
+	 * Parses the expressions into resources and runs the lazy linker, which installs the proxies of all cross
+	 * references.
+	 */
+	@Benchmark
+	public void link(Blackhole blackhole) throws Exception {
+		for (String expression : expressions) {
+			XExpression model = parseHelper.parse(expression, resourceSet);
+			blackhole.consume(model);
+			unload(model);
+		}
+	}
+
+	/**
+	 * Resolves the types of the loaded expressions. The cached results are discarded first.
+	 */
+	@Benchmark
+	public void resolve(Blackhole blackhole) {
+		for (XExpression model : loaded) {
+			cache.clear(model.eResource());
+			blackhole.consume(typeResolver.resolveTypes(model));
+		}
+	}
+
+	/**
+	 * Validates the loaded expressions. The resolved types are reused.
+	 */
+	@Benchmark
+	public void validate(Blackhole blackhole) {
+		for (XExpression model : loaded) {
+			blackhole.consume(resourceValidator.validate(model.eResource(), CheckMode.ALL, CancelIndicator.NullImpl));
+		}
+	}
+
+	/**
+	 * Compiles the valid expressions to Java. The resolved types are reused.
+	 */
+	@Benchmark
+	public void compile(Blackhole blackhole) {
+		for (XExpression model : valid) {
+			blackhole.consume(toJava(model));
+		}
+	}
+
+	private CharSequence toJava(XExpression model) {
+		FakeTreeAppendable appendable = new FakeTreeAppendable(new ImportManager(false), "  ", "\n");
+		LightweightTypeReference returnType = typeResolver.resolveTypes(model).getReturnType(model);
+		compiler.compile(model, appendable, returnType);
+		return appendable.getContent();
+	}
+
+	/**
+	 * Interprets the valid expressions. The resolved types are reused.
+	 */
+	@Benchmark
+	public void interpret(Blackhole blackhole) {
+		for (XExpression model : valid) {
+			blackhole.consume(interpreter.evaluate(model));
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.benchmarks;
+
+import org.eclipse.xtext.common.types.access.CachingClasspathTypeProviderFactory;
+import org.eclipse.xtext.common.types.access.ClasspathTypeProviderFactory;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+import org.eclipse.xtext.xbase.XbaseRuntimeModule;
+import org.eclipse.xtext.xbase.XbaseStandaloneSetup;
+import org.eclipse.xtext.xbase.testing.SynchronizedXtextResourceSetProvider;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Provider;
+import com.google.inject.util.Modules;
+
+/**
+ * Creates the injector for the Xbase benchmarks. The configuration follows the one of the Xbase tests, so the
+ * benchmarks measure what the tests exercise. Additional modules override the runtime module, e.g. to enable
+ * optional caches.
+ */
+public class XbaseBenchmarkSetup extends XbaseStandaloneSetup {
+
+	private final Module[] overrides;
+
+	public XbaseBenchmarkSetup(Module... overrides) {
+		this.overrides = overrides;
+	}
+
+	@Override
+	public Injector createInjector() {
+		return Guice.createInjector(Modules.override(new XbaseBenchmarkRuntimeModule()).with(overrides));
+	}
+
+	public static class XbaseBenchmarkRuntimeModule extends XbaseRuntimeModule {
+		@Override
+		public ClassLoader bindClassLoaderToInstance() {
+			return XbaseBenchmarkRuntimeModule.class.getClassLoader();
+		}
+
+		public Class<? extends ClasspathTypeProviderFactory> bindClasspathTypeProviderFactory() {
+			return CachingClasspathTypeProviderFactory.class;
+		}
+
+		public Class<? extends Provider<SynchronizedXtextResourceSet>> provideSynchronizedResourceSet() {
+			return SynchronizedXtextResourceSetProvider.class;
+		}
+	}
+}
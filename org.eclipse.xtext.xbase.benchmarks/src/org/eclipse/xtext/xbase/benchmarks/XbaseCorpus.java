@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.xtext.xbase.testing.evaluation.AbstractXbaseEvaluationTest;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * The Xbase expressions of the {@link AbstractXbaseEvaluationTest}. The expressions are collected by running the tests
+ * against an evaluator that only records its input.
+ */
+public class XbaseCorpus {
+
+	private static List<String> expressions;
+
+	/**
+	 * The distinct expressions of the evaluation tests in a stable order.
+	 */
+	public static synchronized List<String> getExpressions() {
+		if (expressions == null) {
+			ExpressionCollector collector = new ExpressionCollector();
+			Method[] methods = AbstractXbaseEvaluationTest.class.getMethods();
+			Arrays.sort(methods, Comparator.comparing(Method::getName));
+			for (Method method : methods) {
+				if (method.isAnnotationPresent(Test.class) && !method.isAnnotationPresent(Ignore.class)
+						&& method.getParameterCount() == 0) {
+					try {
+						method.invoke(collector);
+					} catch (Exception e) {
+						// a test that fails with the recorded results may still have contributed its expressions
+					}
+				}
+			}
+			expressions = new ArrayList<>(collector.expressions);
+		}
+		return expressions;
+	}
+
+	private static class ExpressionCollector extends AbstractXbaseEvaluationTest {
+
+		private final Set<String> expressions = new LinkedHashSet<>();
+
+		@Override
+		protected void assertEvaluatesTo(Object object, String string) throws Exception {
+			expressions.add(string);
+		}
+
+		@Override
+		protected void assertEvaluatesToArray(Object[] object, String string) throws Exception {
+			expressions.add(string);
+		}
+
+		@Override
+		protected void assertEvaluatesWithException(Class<? extends Throwable> class1, String string)
+				throws Exception {
+			expressions.add(string);
+		}
+
+		@Override
+		protected Object invokeXbaseExpression(String expression) throws Exception {
+			expressions.add(expression);
+			return null;
+		}
+	}
+}
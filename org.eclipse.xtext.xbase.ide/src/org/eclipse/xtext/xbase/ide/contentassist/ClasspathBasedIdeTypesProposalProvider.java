@@ -9,15 +9,19 @@
 package org.eclipse.xtext.xbase.ide.contentassist;
 
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.common.types.descriptions.ClasspathScanner;
 import org.eclipse.xtext.common.types.descriptions.ITypeDescriptor;
+import org.eclipse.xtext.common.types.descriptions.TypeDescriptorIndex;
 import org.eclipse.xtext.ide.editor.contentassist.ContentAssistContext;
 import org.eclipse.xtext.ide.editor.contentassist.ContentAssistEntry;
+import org.eclipse.xtext.ide.editor.contentassist.FQNPrefixMatcher;
 import org.eclipse.xtext.ide.editor.contentassist.IIdeContentProposalAcceptor;
+import org.eclipse.xtext.ide.editor.contentassist.IPrefixMatcher;
 import org.eclipse.xtext.ide.editor.contentassist.IdeContentProposalCreator;
 import org.eclipse.xtext.ide.editor.contentassist.IdeContentProposalPriorities;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
@@ -59,16 +63,28 @@ public class ClasspathBasedIdeTypesProposalProvider implements IIdeTypesProposal
 	@Inject
 	private ImportSectionRegionUtil importSectionRegionUtil;
 
+	@Inject
+	private IPrefixMatcher prefixMatcher;
+
+	private Boolean getTypeDescriptorsOverridden;
+
 	@Override
 	public void createTypeProposals(EReference reference, ContentAssistContext context,
 			Predicate<? super ITypeDescriptor> filter, IIdeContentProposalAcceptor acceptor) {
 		ITextRegion importSectionRegion = null;
 		XImportSection importSection = null;
-		if (!isImportDeclaration(reference, context)) {
+		boolean importDecl = isImportDeclaration(reference, context);
+		if (!importDecl) {
 			importSection = importsConfiguration.getImportSection(context.getResource());
 			importSectionRegion = importSectionRegionUtil.computeRegion(context.getResource());
 		}
-		for (ITypeDescriptor typeDesc : getTypeDescriptors(context)) {
+		Iterable<ITypeDescriptor> typeDescriptors;
+		if (isGetTypeDescriptorsOverridden()) {
+			typeDescriptors = getTypeDescriptors(context);
+		} else {
+			typeDescriptors = getTypeDescriptors(context, context.getPrefix(), importDecl);
+		}
+		for (ITypeDescriptor typeDesc : typeDescriptors) {
 			if (!acceptor.canAcceptMoreProposals()) {
 				return;
 			}
@@ -90,6 +106,74 @@ public class ClasspathBasedIdeTypesProposalProvider implements IIdeTypesProposal
 		return Iterables.concat(bootClasspath, appClasspath);
 	}
 
+	/**
+	 * Returns the candidates for the given prefix in priority order. The candidates are looked up in prebuilt
+	 * {@link TypeDescriptorIndex indexes}, so the cost scales with the number of matches rather than with the size of
+	 * the class path. In an import declaration, the prefix is matched against the qualified names, too. If the
+	 * {@link #isIndexMatchingPrefix(String) index lookup} might miss candidates that the bound {@link IPrefixMatcher}
+	 * accepts, all descriptors of the indexes are returned and the proposals are filtered by the prefix matcher as
+	 * usual.
+	 * 
+	 * This method is not used if a subclass overrides {@link #getTypeDescriptors(ContentAssistContext)}.
+	 * 
+	 * @since 2.25
+	 */
+	protected Iterable<ITypeDescriptor> getTypeDescriptors(ContentAssistContext context, String prefix,
+			boolean importDeclaration) {
+		TypeDescriptorIndex bootClasspath = classpathScanner
+				.getBootClasspathDescriptorIndex(Lists.newArrayList("java"));
+		TypeDescriptorIndex appClasspath = classpathScanner.getDescriptorIndex(getClassLoader(context),
+				Collections.emptyList());
+		if (!isIndexMatchingPrefix(prefix)) {
+			return Iterables.concat(bootClasspath.getAll(), appClasspath.getAll());
+		}
+		return TypeDescriptorIndex.find(prefix, importDeclaration, Arrays.asList(bootClasspath, appClasspath));
+	}
+
+	/**
+	 * Whether the index lookup finds at least the candidates that the bound {@link IPrefixMatcher} accepts for the
+	 * given prefix. This holds for the case insensitive {@link IPrefixMatcher.IgnoreCase prefix matcher} and the
+	 * {@link FQNPrefixMatcher} with prefixes of ASCII characters without a delimiter. The {@link FQNPrefixMatcher}
+	 * matches qualified prefixes segment by segment, which is not covered by the index. Subclasses that bind another
+	 * matcher may return <code>true</code> if the index covers it, too.
+	 * 
+	 * @since 2.25
+	 */
+	protected boolean isIndexMatchingPrefix(String prefix) {
+		if (prefixMatcher.getClass() != IPrefixMatcher.IgnoreCase.class
+				&& prefixMatcher.getClass() != FQNPrefixMatcher.class) {
+			return false;
+		}
+		if (prefix == null) {
+			return true;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			char c = prefix.charAt(i);
+			if (c > 127 || c == '.') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isGetTypeDescriptorsOverridden() {
+		if (getTypeDescriptorsOverridden == null) {
+			boolean result = false;
+			for (Class<?> type = getClass(); type != ClasspathBasedIdeTypesProposalProvider.class; type = type
+					.getSuperclass()) {
+				try {
+					type.getDeclaredMethod("getTypeDescriptors", ContentAssistContext.class);
+					result = true;
+					break;
+				} catch (NoSuchMethodException e) {
+					// not overridden by this type
+				}
+			}
+			getTypeDescriptorsOverridden = result;
+		}
+		return getTypeDescriptorsOverridden;
+	}
+
 	protected ClassLoader getClassLoader(ContentAssistContext context) {
 		ResourceSet resourceSet = context.getResource().getResourceSet();
 		if (resourceSet instanceof XtextResourceSet) {
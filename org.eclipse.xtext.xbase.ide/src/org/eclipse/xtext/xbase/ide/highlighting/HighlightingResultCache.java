@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.ide.highlighting;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.IHighlightedPositionAcceptor;
+import org.eclipse.xtext.nodemodel.INode;
+
+/**
+ * Caches the highlighted positions of single elements of a resource by their node. All entries belong to one
+ * modification stamp of the resource, e.g. a token of its {@link org.eclipse.xtext.util.IResourceScopeCache}. A
+ * different stamp discards all entries, so neither the text nor the linking state of an element has to be inspected to
+ * validate an entry.
+ *
+ * @since 2.25
+ */
+public class HighlightingResultCache extends AdapterImpl {
+
+	public static HighlightingResultCache findOrCreate(Resource resource) {
+		synchronized (resource) {
+			for (Object adapter : resource.eAdapters()) {
+				if (adapter instanceof HighlightingResultCache) {
+					return (HighlightingResultCache) adapter;
+				}
+			}
+			HighlightingResultCache result = new HighlightingResultCache();
+			resource.eAdapters().add(result);
+			return result;
+		}
+	}
+
+	private static class Position {
+		private final int offset;
+		private final int length;
+		private final String[] ids;
+
+		private Position(int offset, int length, String[] ids) {
+			this.offset = offset;
+			this.length = length;
+			this.ids = ids;
+		}
+	}
+
+	private final Map<INode, List<Position>> entries = new HashMap<>();
+
+	private Object modificationStamp;
+
+	private final AtomicInteger hits = new AtomicInteger();
+
+	private final AtomicInteger misses = new AtomicInteger();
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == HighlightingResultCache.class;
+	}
+
+	/**
+	 * Reports the cached positions for the given node if they were computed for the same modification stamp. Otherwise
+	 * the positions are computed by the given function and cached.
+	 */
+	public void highlight(INode node, Object modificationStamp, IHighlightedPositionAcceptor acceptor,
+			Consumer<IHighlightedPositionAcceptor> computation) {
+		List<Position> cached;
+		synchronized (entries) {
+			if (this.modificationStamp != modificationStamp) {
+				entries.clear();
+				this.modificationStamp = modificationStamp;
+			}
+			cached = entries.get(node);
+		}
+		if (cached != null) {
+			hits.incrementAndGet();
+			for (Position position : cached) {
+				acceptor.addPosition(position.offset, position.length, position.ids);
+			}
+			return;
+		}
+		misses.incrementAndGet();
+		List<Position> positions = new ArrayList<>();
+		computation.accept((offset, length, ids) -> {
+			positions.add(new Position(offset, length, ids));
+			acceptor.addPosition(offset, length, ids);
+		});
+		synchronized (entries) {
+			if (this.modificationStamp == modificationStamp) {
+				entries.put(node, positions);
+			}
+		}
+	}
+
+	public int getHits() {
+		return hits.get();
+	}
+
+	public int getMisses() {
+		return misses.get();
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			modificationStamp = null;
+		}
+	}
+}
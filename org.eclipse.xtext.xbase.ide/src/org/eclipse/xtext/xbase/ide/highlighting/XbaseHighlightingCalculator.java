@@ -12,6 +12,7 @@ import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
@@ -40,6 +41,7 @@ import org.eclipse.xtext.ide.editor.syntaxcoloring.DefaultSemanticHighlightingCa
 import org.eclipse.xtext.ide.editor.syntaxcoloring.IHighlightedPositionAcceptor;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.XtextResource;
@@ -62,6 +64,7 @@ import org.eclipse.xtext.xtype.XImportDeclaration;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * <p>
@@ -78,6 +81,13 @@ import com.google.inject.Inject;
  */
 public class XbaseHighlightingCalculator extends DefaultSemanticHighlightingCalculator implements XbaseHighlightingStyles {
 
+	/**
+	 * Enables the caching of the highlighting of feature calls per node.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String INCREMENTAL_HIGHLIGHTING = "XbaseHighlightingCalculator_Incremental";
+
 	@Inject
 	private XbaseGrammarAccess grammarAccess;
 	
@@ -91,6 +101,10 @@ public class XbaseHighlightingCalculator extends DefaultSemanticHighlightingCalc
 	
 	private BitSet idLengthsToHighlight;
 
+	@Inject(optional = true)
+	@Named(INCREMENTAL_HIGHLIGHTING)
+	private boolean incremental = false;
+
 	@Override
 	public void provideHighlightingFor(XtextResource resource, IHighlightedPositionAcceptor acceptor,
 			CancelIndicator cancelIndicator) {
@@ -99,13 +113,7 @@ public class XbaseHighlightingCalculator extends DefaultSemanticHighlightingCalc
 		IParseResult parseResult = resource.getParseResult();
 		if (parseResult == null || parseResult.getRootASTElement() == null)
 			return;
-		if (highlightedIdentifiers == null) {
-			highlightedIdentifiers = initializeHighlightedIdentifiers();
-			idLengthsToHighlight = new BitSet();
-			for (String s : highlightedIdentifiers.keySet()) {
-				idLengthsToHighlight.set(s.length());
-			}
-		}
+		initializeHighlightedIdentifiersIfNecessary();
 		//TODO remove this check when the typesystem works without a java project
 		if (resource.isValidationDisabled()) {
 			highlightSpecialIdentifiers(acceptor, parseResult.getRootNode());
@@ -113,6 +121,94 @@ public class XbaseHighlightingCalculator extends DefaultSemanticHighlightingCalc
 		}
 		doProvideHighlightingFor(resource, acceptor, cancelIndicator);
 	}
+
+	/**
+	 * Computes the highlighting of the given region only, e.g. the region that was affected by an edit. Only the
+	 * positions that intersect the region are reported, the positions outside of the region are left to the caller.
+	 * The highlighting is computed by {@link #doProvideHighlightingFor(XtextResource, ITextRegion,
+	 * IHighlightedPositionAcceptor, CancelIndicator)}. If a subclass overrides
+	 * {@link #doProvideHighlightingFor(XtextResource, IHighlightedPositionAcceptor, CancelIndicator)} instead, the
+	 * whole resource is highlighted by that method and the positions are filtered.
+	 * 
+	 * @since 2.25
+	 */
+	public void provideHighlightingFor(XtextResource resource, ITextRegion region, IHighlightedPositionAcceptor acceptor,
+			CancelIndicator cancelIndicator) {
+		if (resource == null)
+			return;
+		IParseResult parseResult = resource.getParseResult();
+		if (parseResult == null || parseResult.getRootASTElement() == null)
+			return;
+		initializeHighlightedIdentifiersIfNecessary();
+		RegionAcceptor regionAcceptor = new RegionAcceptor(region, acceptor);
+		//TODO remove this check when the typesystem works without a java project
+		if (resource.isValidationDisabled()) {
+			highlightSpecialIdentifiers(regionAcceptor, parseResult.getRootNode(), region);
+			return;
+		}
+		if (isDoProvideHighlightingForOverridden()) {
+			doProvideHighlightingFor(resource, regionAcceptor, cancelIndicator);
+		} else {
+			doProvideHighlightingFor(resource, region, regionAcceptor, cancelIndicator);
+		}
+	}
+
+	/**
+	 * Reports only the positions that intersect the region to the delegate.
+	 */
+	private static class RegionAcceptor implements IHighlightedPositionAcceptor {
+		private final ITextRegion region;
+		private final IHighlightedPositionAcceptor delegate;
+
+		private RegionAcceptor(ITextRegion region, IHighlightedPositionAcceptor delegate) {
+			this.region = region;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void addPosition(int offset, int length, String... id) {
+			if (intersects(region, offset, length)) {
+				delegate.addPosition(offset, length, id);
+			}
+		}
+	}
+
+	private static boolean intersects(ITextRegion region, int offset, int length) {
+		return offset < region.getOffset() + region.getLength() && region.getOffset() < offset + length
+				|| length == 0 && region.contains(offset);
+	}
+
+	private Boolean doProvideHighlightingForOverridden;
+
+	private boolean isDoProvideHighlightingForOverridden() {
+		if (doProvideHighlightingForOverridden == null) {
+			boolean result = false;
+			for (Class<?> type = getClass(); type != XbaseHighlightingCalculator.class; type = type.getSuperclass()) {
+				try {
+					type.getDeclaredMethod("doProvideHighlightingFor", XtextResource.class,
+							IHighlightedPositionAcceptor.class, CancelIndicator.class);
+					result = true;
+					break;
+				} catch (NoSuchMethodException e) {
+					// not overridden by this type
+				}
+			}
+			doProvideHighlightingForOverridden = result;
+		}
+		return doProvideHighlightingForOverridden;
+	}
+
+	private void initializeHighlightedIdentifiersIfNecessary() {
+		if (highlightedIdentifiers == null) {
+			Map<String, String> identifiers = initializeHighlightedIdentifiers();
+			BitSet lengths = new BitSet();
+			for (String s : identifiers.keySet()) {
+				lengths.set(s.length());
+			}
+			idLengthsToHighlight = lengths;
+			highlightedIdentifiers = identifiers;
+		}
+	}
 	
 	@Override
 	protected void doProvideHighlightingFor(XtextResource resource, IHighlightedPositionAcceptor acceptor,
@@ -125,6 +221,35 @@ public class XbaseHighlightingCalculator extends DefaultSemanticHighlightingCalc
 		super.doProvideHighlightingFor(resource, acceptor, cancelIndicator);
 	}
 
+	/**
+	 * Highlights the elements whose nodes intersect the given region. Elements outside of the region are pruned
+	 * together with their children.
+	 * 
+	 * @since 2.25
+	 */
+	protected void doProvideHighlightingFor(XtextResource resource, ITextRegion region,
+			IHighlightedPositionAcceptor acceptor, CancelIndicator cancelIndicator) {
+		IParseResult parseResult = resource.getParseResult();
+		if (parseResult == null)
+			throw new IllegalStateException("resource#parseResult may not be null");
+		highlightSpecialIdentifiers(acceptor, parseResult.getRootNode(), region);
+		TreeIterator<EObject> iterator = EcoreUtil.getAllProperContents(resource, true);
+		while (iterator.hasNext()) {
+			EObject object = iterator.next();
+			if (!isInRegion(object, region) || highlightElement(object, acceptor, cancelIndicator)) {
+				iterator.prune();
+			}
+		}
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	protected boolean isInRegion(EObject object, ITextRegion region) {
+		INode node = NodeModelUtils.getNode(object);
+		return node == null || intersects(region, node.getOffset(), node.getLength());
+	}
+
 	@Override
 	protected boolean highlightElement(EObject object, IHighlightedPositionAcceptor acceptor, CancelIndicator cancelIndicator) {
 		if (object instanceof XAbstractFeatureCall) {
@@ -135,7 +260,11 @@ public class XbaseHighlightingCalculator extends DefaultSemanticHighlightingCalc
 				return false;
 			}
 			operationCanceledManager.checkCanceled(cancelIndicator);
-			computeFeatureCallHighlighting((XAbstractFeatureCall) object, acceptor);
+			if (incremental) {
+				computeCachedFeatureCallHighlighting((XAbstractFeatureCall) object, acceptor);
+			} else {
+				computeFeatureCallHighlighting((XAbstractFeatureCall) object, acceptor);
+			}
 		} else if (object instanceof JvmTypeParameter) {
 			highlightTypeParameter((JvmTypeParameter) object, acceptor);
 		} else if (object instanceof JvmFormalParameter) {
@@ -314,6 +443,34 @@ public class XbaseHighlightingCalculator extends DefaultSemanticHighlightingCalc
 		}
 	}
 	
+	/**
+	 * Reuses the highlighting of the feature call from a previous run if the resource was not modified in the meantime.
+	 * 
+	 * @since 2.25
+	 */
+	protected void computeCachedFeatureCallHighlighting(XAbstractFeatureCall featureCall,
+			IHighlightedPositionAcceptor acceptor) {
+		INode node = NodeModelUtils.getNode(featureCall);
+		if (node == null || !(featureCall.eResource() instanceof XtextResource)) {
+			computeFeatureCallHighlighting(featureCall, acceptor);
+			return;
+		}
+		XtextResource resource = (XtextResource) featureCall.eResource();
+		HighlightingResultCache cache = HighlightingResultCache.findOrCreate(resource);
+		cache.highlight(node, getModificationStamp(resource), acceptor,
+				it -> computeFeatureCallHighlighting(featureCall, it));
+	}
+
+	/**
+	 * A token that stays the same until the resource is modified. It is kept in the {@link XtextResource#getCache()
+	 * resource scope cache}, which is cleared by a reparse and by any other semantic change of the resource.
+	 * 
+	 * @since 2.25
+	 */
+	protected Object getModificationStamp(XtextResource resource) {
+		return resource.getCache().get(HighlightingResultCache.class, resource, () -> new Object());
+	}
+
 	protected boolean isExtensionWithImplicitFirstArgument(XAbstractFeatureCall featureCall) {
 		XExpression implicitReceiver = featureCall.getImplicitReceiver();
 		return implicitReceiver instanceof XAbstractFeatureCall
@@ -416,6 +573,24 @@ public class XbaseHighlightingCalculator extends DefaultSemanticHighlightingCalc
 		}
 	}
 
+	/**
+	 * @since 2.25
+	 */
+	protected void highlightSpecialIdentifiers(IHighlightedPositionAcceptor acceptor, ICompositeNode root,
+			ITextRegion region) {
+		TerminalRule idRule = getIDRule();
+		int end = region.getOffset() + region.getLength();
+		for (ILeafNode leaf : root.getLeafNodes()) {
+			int offset = leaf.getOffset();
+			if (offset > end) {
+				return;
+			}
+			if (!leaf.isHidden() && offset + leaf.getLength() >= region.getOffset()) {
+				highlightSpecialIdentifiers(leaf, acceptor, idRule);
+			}
+		}
+	}
+
 	protected TerminalRule getIDRule() {
 		return grammarAccess.getIDRule();
 	}
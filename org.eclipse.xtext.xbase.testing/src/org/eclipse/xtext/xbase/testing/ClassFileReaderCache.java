@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.xbase.testing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches the parsed class files of a class loader for the {@link InMemoryJavaCompiler}, so compilers that use the same
+ * class loader don't read the same class files again. The cached readers are fully initialized and may be used by
+ * multiple compilations concurrently. Class loaders are weakly referenced.
+ *
+ * Lookups that don't find a class file are cached, too. Therefore the cache must only be used for class loaders whose
+ * content doesn't change.
+ *
+ * @since 2.25
+ */
+public class ClassFileReaderCache {
+
+	private static final ClassFileReaderCache SHARED = new ClassFileReaderCache();
+
+	/**
+	 * The cache that is shared by all compilers of this JVM.
+	 */
+	public static ClassFileReaderCache getShared() {
+		return SHARED;
+	}
+
+	private final Cache<ClassLoader, Cache<String, Optional<ClassFileReader>>> classLoaderCaches = CacheBuilder
+			.newBuilder().weakKeys().build();
+
+	/**
+	 * Returns the reader of the class file with the given name, e.g. <code>java/lang/String.class</code>, or
+	 * <code>null</code> if the class loader doesn't know the class file.
+	 */
+	public ClassFileReader get(ClassLoader classLoader, String fileName) {
+		try {
+			return getCache(classLoader).get(fileName, () -> Optional.ofNullable(read(classLoader, fileName)))
+					.orElse(null);
+		} catch (ExecutionException e) {
+			throw Exceptions.sneakyThrow(e.getCause());
+		}
+	}
+
+	protected ClassFileReader read(ClassLoader classLoader, String fileName) {
+		URL url = classLoader.getResource(fileName);
+		if (url == null) {
+			return null;
+		}
+		try (InputStream in = url.openStream()) {
+			return ClassFileReader.read(in, fileName, true);
+		} catch (ClassFormatException | IOException e) {
+			throw Exceptions.sneakyThrow(e);
+		}
+	}
+
+	protected Cache<String, Optional<ClassFileReader>> getCache(ClassLoader classLoader) {
+		try {
+			return classLoaderCaches.get(classLoader, () -> CacheBuilder.newBuilder().build());
+		} catch (ExecutionException e) {
+			throw Exceptions.sneakyThrow(e.getCause());
+		}
+	}
+
+	/**
+	 * The number of cached class files of all class loaders, including the ones that were not found.
+	 */
+	public long size() {
+		long result = 0;
+		for (Cache<String, Optional<ClassFileReader>> cache : classLoaderCaches.asMap().values()) {
+			result += cache.size();
+		}
+		return result;
+	}
+
+	public void clear() {
+		classLoaderCaches.invalidateAll();
+	}
+
+	public void clear(ClassLoader classLoader) {
+		classLoaderCaches.invalidate(classLoader);
+	}
+}
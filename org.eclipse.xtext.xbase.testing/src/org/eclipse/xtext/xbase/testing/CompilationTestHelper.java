@@ -150,7 +150,8 @@ public class CompilationTestHelper {
 	 * @since 2.9
 	 */
 	public void setJavaCompilerClassPath(ClassLoader classLoader) {
-		this.javaCompiler = new OnTheFlyJavaCompiler2(classLoader, generatorConfigProvider.get(null).getJavaSourceVersion());
+		this.javaCompiler = new OnTheFlyJavaCompiler2(classLoader, generatorConfigProvider.get(null).getJavaSourceVersion(),
+				javaCompiler != null && javaCompiler.isUseSharedClassFileCache());
 		this.classpathUriContext = classLoader;
 	}
 
@@ -207,15 +208,95 @@ public class CompilationTestHelper {
 	 * 
 	 * @since 2.8
 	 */
-	@SuppressWarnings("unchecked")
 	public void compile(Iterable<? extends CharSequence> sources, IAcceptor<Result> acceptor) throws IOException {
+		compile(resourceSet(toPairs(sources)), acceptor);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Pair<String, ? extends CharSequence>[] toPairs(Iterable<? extends CharSequence> sources) {
 		int index = 0;
 		List<Pair<String, ? extends CharSequence>> pairs = newArrayList();
 		for (CharSequence source : sources) {
 			String fileName = "MyFile" + (++index) + "." + extensionProvider.getPrimaryFileExtension();
 			pairs.add(new Pair<String, CharSequence>(fileName, source));
 		}
-		compile(resourceSet(((Pair<String, ? extends CharSequence>[])Conversions.unwrapArray(pairs, Pair.class))), acceptor);
+		return (Pair<String, ? extends CharSequence>[])Conversions.unwrapArray(pairs, Pair.class);
+	}
+
+	/**
+	 * Creates a session that compiles many sources one after another with the same resource set. The sources of
+	 * the previous compilation are unloaded before the next one, while the loaded Java types stay in the resource
+	 * set. This saves loading the types of the class path again for every compilation. A session must only be used
+	 * by one thread at a time, but each thread may use its own session.
+	 * 
+	 * @since 2.25
+	 */
+	public CompilationSession newCompilationSession() {
+		return new CompilationSession(createFreshTempDir());
+	}
+
+	/**
+	 * A sequence of compilations that share their resource set.
+	 * 
+	 * @see CompilationTestHelper#newCompilationSession()
+	 * @since 2.25
+	 * @noextend This class is not intended to be subclassed by clients.
+	 * @noinstantiate This class is not intended to be instantiated by clients.
+	 */
+	public class CompilationSession {
+
+		private final File root;
+
+		private final XtextResourceSet resourceSet;
+
+		private List<Resource> sources = newArrayList();
+
+		protected CompilationSession(File root) {
+			this.root = root;
+			this.resourceSet = newProjectResourceSet(root);
+		}
+
+		/**
+		 * Parses, validates and compiles the given source in this session.
+		 * 
+		 * @see CompilationTestHelper#compile(CharSequence, IAcceptor)
+		 */
+		@SuppressWarnings("unchecked")
+		public void compile(CharSequence source, IAcceptor<Result> acceptor) throws IOException {
+			String fileName = "MyFile."+extensionProvider.getPrimaryFileExtension();
+			compile(new Pair[] { new Pair<String, CharSequence>(fileName, source) }, acceptor);
+		}
+
+		/**
+		 * Parses, validates and compiles the given sources in this session.
+		 * 
+		 * @see CompilationTestHelper#compile(Iterable, IAcceptor)
+		 */
+		public void compile(Iterable<? extends CharSequence> sources, IAcceptor<Result> acceptor) throws IOException {
+			compile(toPairs(sources), acceptor);
+		}
+
+		private void compile(Pair<String, ? extends CharSequence>[] resources, IAcceptor<Result> acceptor) throws IOException {
+			reset();
+			sources = loadResources(resourceSet, root, resources);
+			CompilationTestHelper.this.compile(resourceSet, newArrayList(sources), acceptor);
+		}
+
+		/**
+		 * Unloads the sources of the previous compilation and discards their index.
+		 */
+		protected void reset() {
+			ResourceDescriptionsData.ResourceSetAdapter.removeResourceDescriptionsData(resourceSet);
+			for (Resource resource : sources) {
+				resource.unload();
+				resourceSet.getResources().remove(resource);
+			}
+			sources.clear();
+		}
+
+		public ResourceSet getResourceSet() {
+			return resourceSet;
+		}
 	}
 
 	/**
@@ -226,8 +307,11 @@ public class CompilationTestHelper {
 	 * @param acceptor gets called once for each file generated in {@link IGenerator}
 	 */
 	public void compile(final ResourceSet resourceSet, IAcceptor<Result> acceptor) {
+		compile(resourceSet, newArrayList(resourceSet.getResources()), acceptor);
+	}
+
+	private void compile(ResourceSet resourceSet, List<Resource> resourcesToCheck, IAcceptor<Result> acceptor) {
 		try {
-			List<Resource> resourcesToCheck = newArrayList(resourceSet.getResources());
 			if (generatorConfigProvider instanceof GeneratorConfigProvider) {
 				GeneratorConfigProvider configProvider = (GeneratorConfigProvider) generatorConfigProvider;
 				GeneratorConfig config = generatorConfigProvider.get(null);
@@ -270,16 +354,28 @@ public class CompilationTestHelper {
 	 * @throws IOException if the resource loading fails 
 	 */
 	public ResourceSet resourceSet(@SuppressWarnings("unchecked") Pair<String,? extends CharSequence> ...resources ) throws IOException {
+		XtextResourceSet result = newProjectResourceSet(workspaceRoot);
+		loadResources(result, workspaceRoot, resources);
+		return result;
+	}
+
+	private XtextResourceSet newProjectResourceSet(File root) {
 		XtextResourceSet result = newResourceSetWithUTF8Encoding();
-		FileProjectConfig projectConfig = new FileProjectConfig(new File(workspaceRoot,PROJECT_NAME), PROJECT_NAME);
+		FileProjectConfig projectConfig = new FileProjectConfig(new File(root,PROJECT_NAME), PROJECT_NAME);
 		projectConfig.addSourceFolder("src");
 		ProjectConfigAdapter.install(result, projectConfig);
+		return result;
+	}
+
+	private List<Resource> loadResources(ResourceSet resourceSet, File root, Pair<String,? extends CharSequence>[] resources) throws IOException {
+		List<Resource> result = newArrayList();
 		for (Pair<String, ? extends CharSequence> entry : resources) {
-			URI uri = copyToWorkspace(getSourceFolderPath()+"/"+entry.getKey(), entry.getValue());
-			Resource resource = result.createResource(uri);
+			URI uri = copyToWorkspace(root, getSourceFolderPath()+"/"+entry.getKey(), entry.getValue());
+			Resource resource = resourceSet.createResource(uri);
 			if (resource == null)
 				throw new IllegalStateException("Couldn't create resource for URI "+uri+". Resource.Factory not registered?");
-			resource.load(result.getLoadOptions());
+			resource.load(resourceSet.getLoadOptions());
+			result.add(resource);
 		}
 		return result;
 	}
@@ -291,7 +387,11 @@ public class CompilationTestHelper {
 	 * @param contents the file contents
 	 */
 	public URI copyToWorkspace(String workspacefilePath, CharSequence contents) {
-		File fullPath = new File(workspaceRoot.getAbsolutePath()+"/"+workspacefilePath);
+		return copyToWorkspace(workspaceRoot, workspacefilePath, contents);
+	}
+
+	private URI copyToWorkspace(File root, String workspacefilePath, CharSequence contents) {
+		File fullPath = new File(root.getAbsolutePath()+"/"+workspacefilePath);
 		if (fullPath.exists()) {
 			fullPath.delete();
 		} else {
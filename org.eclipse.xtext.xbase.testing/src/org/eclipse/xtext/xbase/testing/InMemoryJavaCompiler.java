@@ -20,7 +20,9 @@ import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -48,10 +50,13 @@ public class InMemoryJavaCompiler {
 	private static class ClassLoaderBasedNameEnvironment implements INameEnvironment {
 		private final ClassLoader classLoader;
 
-		private Map<String, NameEnvironmentAnswer> cache = new HashMap<>();
+		private final ClassFileReaderCache classFileReaderCache;
 
-		public ClassLoaderBasedNameEnvironment(ClassLoader classLoader) {
+		private final Map<String, Optional<NameEnvironmentAnswer>> cache = new ConcurrentHashMap<>();
+
+		public ClassLoaderBasedNameEnvironment(ClassLoader classLoader, ClassFileReaderCache classFileReaderCache) {
 			this.classLoader = classLoader;
+			this.classFileReaderCache = classFileReaderCache;
 		}
 
 		@Override
@@ -61,54 +66,37 @@ public class InMemoryJavaCompiler {
 
 		@Override
 		public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
-			try {
-				String fileName = new String(CharOperation.concatWith(compoundTypeName, '/')) + ".class";
-				if (cache.containsKey(fileName)) {
-					return cache.get(fileName);
-				}
-				URL url = classLoader.getResource(fileName);
-				if (url == null) {
-					cache.put(fileName, null);
-					return null;
-				}
-				ClassFileReader reader = null;
-				try (InputStream in = url.openStream()) {
-					reader = ClassFileReader.read(in, fileName);
-				}
-				if (reader == null) {
-					return null;
-				}
-				NameEnvironmentAnswer result = new NameEnvironmentAnswer(reader, null);
-				cache.put(fileName, result);
-				return result;
-			} catch (ClassFormatException | IOException e) {
-				throw Exceptions.sneakyThrow(e);
-			}
+			return findType(new String(CharOperation.concatWith(compoundTypeName, '/')) + ".class");
 		}
 
 		@Override
 		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
-			try {
-				String fileName = new String(CharOperation.concatWith(packageName, '/')) + "/"
-						+ String.valueOf(typeName) + ".class";
-				if (cache.containsKey(fileName)) {
-					return cache.get(fileName);
+			return findType(new String(CharOperation.concatWith(packageName, '/')) + "/" + String.valueOf(typeName)
+					+ ".class");
+		}
+
+		private NameEnvironmentAnswer findType(String fileName) {
+			return cache.computeIfAbsent(fileName, (String it) -> {
+				ClassFileReader reader = readClassFile(it);
+				if (reader == null) {
+					return Optional.empty();
 				}
+				return Optional.of(new NameEnvironmentAnswer(reader, null));
+			}).orElse(null);
+		}
+
+		private ClassFileReader readClassFile(String fileName) {
+			if (classFileReaderCache != null) {
+				return classFileReaderCache.get(classLoader, fileName);
+			}
+			try {
 				URL url = classLoader.getResource(fileName);
 				if (url == null) {
-					cache.put(fileName, null);
 					return null;
 				}
-				ClassFileReader reader = null;
 				try (InputStream in = url.openStream()) {
-					reader = ClassFileReader.read(in, fileName);
-				}
-				if (reader == null) {
-					return null;
+					return ClassFileReader.read(in, fileName, true);
 				}
-				NameEnvironmentAnswer result = new NameEnvironmentAnswer(reader, null);
-				cache.put(fileName, result);
-				return result;
 			} catch (ClassFormatException | IOException e) {
 				throw Exceptions.sneakyThrow(e);
 			}
@@ -196,7 +184,18 @@ public class InMemoryJavaCompiler {
 	private final CompilerOptions compilerOptions;
 
 	public InMemoryJavaCompiler(ClassLoader parent, JavaVersion javaVersion) {
-		this.nameEnv = new ClassLoaderBasedNameEnvironment(parent);
+		this(parent, javaVersion, null);
+	}
+
+	/**
+	 * Creates a compiler that reads the class files of the given class loader through the given cache, e.g. the
+	 * {@link ClassFileReaderCache#getShared() shared cache}. Many compilers can then compile against the same parsed
+	 * class files.
+	 * 
+	 * @since 2.25
+	 */
+	public InMemoryJavaCompiler(ClassLoader parent, JavaVersion javaVersion, ClassFileReaderCache classFileReaderCache) {
+		this.nameEnv = new ClassLoaderBasedNameEnvironment(parent, classFileReaderCache);
 		this.parentClassLoader = parent;
 		this.compilerOptions = new CompilerOptions();
 		this.setJavaVersion(javaVersion);
@@ -205,7 +204,7 @@ public class InMemoryJavaCompiler {
 	}
 
 	public InMemoryJavaCompiler(ClassLoader parent, CompilerOptions compilerOptions) {
-		this.nameEnv = new ClassLoaderBasedNameEnvironment(parent);
+		this.nameEnv = new ClassLoaderBasedNameEnvironment(parent, null);
 		this.parentClassLoader = parent;
 		this.compilerOptions = new CompilerOptions(compilerOptions.getMap());
 	}
@@ -260,6 +259,10 @@ public class InMemoryJavaCompiler {
 		}
 	}
 
+	/**
+	 * Compiles the given sources. Multiple threads may compile concurrently as long as the Java version is not changed
+	 * at the same time.
+	 */
 	public Result compile(JavaSource... sources) {
 		Result result = new Result(parentClassLoader);
 		ICompilerRequestor requestor = (CompilationResult it) -> {
@@ -23,6 +23,7 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -33,10 +34,22 @@ import com.google.inject.Singleton;
  */
 @Singleton
 public class OnTheFlyJavaCompiler2 {
+	/**
+	 * The name of the optional boolean binding that lets the compiler read the class files through the
+	 * {@link ClassFileReaderCache#getShared() shared class file cache}.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String SHARED_CLASS_FILE_CACHE = "OnTheFlyJavaCompiler2.sharedClassFileCache";
+
 	private InMemoryJavaCompiler inMemoryCompiler;
 
 	private JavaVersion javaVersion;
 
+	private final ClassLoader scope;
+
+	private boolean useSharedClassFileCache;
+
 	/**
 	 * Creates a new OnTheFlyCompiler that accepts Java6 compliant code.
 	 */
@@ -46,8 +59,42 @@ public class OnTheFlyJavaCompiler2 {
 	}
 
 	public OnTheFlyJavaCompiler2(ClassLoader scope, JavaVersion version) {
-		this.inMemoryCompiler = new InMemoryJavaCompiler(scope, version);
+		this(scope, version, false);
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public OnTheFlyJavaCompiler2(ClassLoader scope, JavaVersion version, boolean useSharedClassFileCache) {
+		this.scope = scope;
 		this.javaVersion = version;
+		this.useSharedClassFileCache = useSharedClassFileCache;
+		this.inMemoryCompiler = createInMemoryCompiler();
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	@Inject(optional = true)
+	protected void setUseSharedClassFileCache(@Named(SHARED_CLASS_FILE_CACHE) boolean useSharedClassFileCache) {
+		if (this.useSharedClassFileCache != useSharedClassFileCache) {
+			this.useSharedClassFileCache = useSharedClassFileCache;
+			this.inMemoryCompiler = createInMemoryCompiler();
+		}
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public boolean isUseSharedClassFileCache() {
+		return useSharedClassFileCache;
+	}
+
+	private InMemoryJavaCompiler createInMemoryCompiler() {
+		if (useSharedClassFileCache) {
+			return new InMemoryJavaCompiler(scope, javaVersion, ClassFileReaderCache.getShared());
+		}
+		return new InMemoryJavaCompiler(scope, javaVersion);
 	}
 
 	/**
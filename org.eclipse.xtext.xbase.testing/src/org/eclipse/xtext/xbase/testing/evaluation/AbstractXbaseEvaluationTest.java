@@ -39,6 +39,9 @@ import com.google.common.collect.ImmutableMap;
 import com.google.inject.Inject;
 
 /**
+ * The cases of this test may run concurrently, e.g. with the {@link ParallelXtextRunner}, as long as the implementation
+ * of {@link #invokeXbaseExpression(String)} and the assertions use their own resource set per case.
+ * 
  * @author Sebastian Zarnekow - Initial contribution and API
  * @author Sven Efftinge
  */
@@ -47,6 +50,13 @@ public abstract class AbstractXbaseEvaluationTest extends Assert {
 	@Rule
 	@Inject public TemporaryFolder temporaryFolder = new TemporaryFolder();
 	
+	/**
+	 * Reports slow cases if the system property {@value EvaluationTimer#THRESHOLD} is set.
+	 * @since 2.25
+	 */
+	@Rule
+	public EvaluationTimer evaluationTimer = new EvaluationTimer();
+	
 	@Test public void testReservedWordEnum() throws Exception {
 		assertEvaluatesTo(Boolean.TRUE, "typeof(java.lang.annotation.RetentionPolicy).enum");
 	}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.testing.evaluation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * Reports the duration of each test case that takes at least as long as the threshold in milliseconds that is given by
+ * the system property {@value #THRESHOLD}. A threshold of <code>0</code> reports all cases. Nothing is measured if
+ * the property is not set.
+ *
+ * @since 2.25
+ */
+public class EvaluationTimer implements TestRule {
+
+	/**
+	 * The system property that enables the timing output.
+	 */
+	public static final String THRESHOLD = "org.eclipse.xtext.xbase.testing.evaluation.timing";
+
+	private static final Logger LOG = Logger.getLogger(EvaluationTimer.class);
+
+	private final Integer threshold;
+
+	public EvaluationTimer() {
+		this(Integer.getInteger(THRESHOLD));
+	}
+
+	/**
+	 * @param threshold
+	 *            the minimal duration in milliseconds of the reported cases or <code>null</code> to disable the output.
+	 */
+	public EvaluationTimer(Integer threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public Statement apply(Statement base, Description description) {
+		if (threshold == null) {
+			return base;
+		}
+		return new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				long start = System.nanoTime();
+				try {
+					base.evaluate();
+				} finally {
+					report(description, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				}
+			}
+		};
+	}
+
+	protected void report(Description description, long millis) {
+		if (millis >= threshold) {
+			LOG.info(description.getDisplayName() + " took " + millis + " ms");
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.testing.evaluation;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.xtext.testing.IInjectorProvider;
+import org.eclipse.xtext.testing.IRegistryConfigurator;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+import org.junit.runners.model.Statement;
+
+/**
+ * A runner that executes the test methods of a class concurrently, e.g. the cases of an
+ * {@link AbstractXbaseEvaluationTest}. Each test method still gets its own test instance, and thereby its own resource
+ * sets, while the injector is shared. Bind a caching {@link org.eclipse.xtext.common.types.access.IJvmTypeProvider.Factory
+ * type provider factory} like the {@link org.eclipse.xtext.common.types.access.CachingClasspathTypeProviderFactory} to
+ * share the loaded types between the resource sets.
+ *
+ * The global EMF registries are set up once for the whole class instead of once per test method. The number of threads
+ * is taken from the system property {@value #THREADS} and defaults to the number of available processors.
+ *
+ * Tests that are run with this runner must not modify shared state, for example static fields.
+ *
+ * @since 2.25
+ */
+public class ParallelXtextRunner extends XtextRunner {
+
+	/**
+	 * The system property that configures the number of threads.
+	 */
+	public static final String THREADS = "org.eclipse.xtext.xbase.testing.evaluation.threads";
+
+	public ParallelXtextRunner(Class<?> testClass) throws InitializationError {
+		super(testClass);
+		setScheduler(new ExecutorScheduler(getThreadCount()));
+	}
+
+	protected int getThreadCount() {
+		return Integer.getInteger(THREADS, Runtime.getRuntime().availableProcessors());
+	}
+
+	@Override
+	protected Statement classBlock(RunNotifier notifier) {
+		Statement statement = super.classBlock(notifier);
+		IInjectorProvider injectorProvider = super.getOrCreateInjectorProvider();
+		if (!(injectorProvider instanceof IRegistryConfigurator)) {
+			return statement;
+		}
+		IRegistryConfigurator registryConfigurator = (IRegistryConfigurator) injectorProvider;
+		return new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				registryConfigurator.setupRegistry();
+				try {
+					statement.evaluate();
+				} finally {
+					registryConfigurator.restoreRegistry();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Hides the {@link IRegistryConfigurator} from the test methods, since the registries are configured once per class.
+	 */
+	@Override
+	protected IInjectorProvider getOrCreateInjectorProvider() {
+		IInjectorProvider injectorProvider = super.getOrCreateInjectorProvider();
+		if (injectorProvider == null) {
+			return null;
+		}
+		return injectorProvider::getInjector;
+	}
+
+	private static class ExecutorScheduler implements RunnerScheduler {
+
+		private final ExecutorService executor;
+
+		ExecutorScheduler(int threads) {
+			executor = Executors.newFixedThreadPool(Math.max(1, threads));
+		}
+
+		@Override
+		public void schedule(Runnable childStatement) {
+			executor.execute(childStatement);
+		}
+
+		@Override
+		public void finished() {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				executor.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
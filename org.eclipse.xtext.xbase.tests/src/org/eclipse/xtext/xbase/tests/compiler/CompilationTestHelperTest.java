@@ -8,12 +8,14 @@
  */
 package org.eclipse.xtext.xbase.tests.compiler;
 
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.resource.FileExtensionProvider;
 import org.eclipse.xtext.util.JavaVersion;
 import org.eclipse.xtext.util.Strings;
 import org.eclipse.xtext.xbase.compiler.GeneratorConfig;
 import org.eclipse.xtext.xbase.compiler.GeneratorConfigProvider;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.Pair;
 import org.eclipse.xtext.xbase.testing.CompilationTestHelper;
 import org.eclipse.xtext.xbase.testing.CompilationTestHelper.Result;
@@ -208,4 +210,21 @@ public class CompilationTestHelperTest extends AbstractJvmModelTest {
 			Assert.assertEquals(expectation, Strings.toUnixLineSeparator(it.getSingleGeneratedCode()));
 		});
 	}
+
+	@Test
+	public void testCompileTwiceInSession() throws Exception {
+		compilationTestHelper.setJavaVersion(JavaVersion.JAVA8);
+		CompilationTestHelper.CompilationSession session = compilationTestHelper.newCompilationSession();
+		session.compile("{ newArrayList('a').head }", (Result it) -> {
+			Assert.assertTrue(it.getSingleGeneratedCode(), it.getSingleGeneratedCode().contains("CollectionLiterals"));
+			Assert.assertNotNull(it.getCompiledClass());
+		});
+		Assert.assertTrue(IterableExtensions.exists(session.getResourceSet().getResources(),
+				(Resource it) -> "java".equals(it.getURI().scheme())));
+		session.compile("{ 'a'.toUpperCase }", (Result it) -> {
+			Assert.assertTrue(it.getSingleGeneratedCode(), it.getSingleGeneratedCode().contains("toUpperCase()"));
+			Assert.assertFalse(it.getSingleGeneratedCode(), it.getSingleGeneratedCode().contains("CollectionLiterals"));
+			Assert.assertNotNull(it.getCompiledClass());
+		});
+	}
 }
@@ -11,10 +11,12 @@ package org.eclipse.xtext.xbase.tests.compiler;
 import org.eclipse.xtext.testing.InjectWith;
 import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.util.JavaVersion;
+import org.eclipse.xtext.xbase.testing.ClassFileReaderCache;
 import org.eclipse.xtext.xbase.testing.OnTheFlyJavaCompiler2;
 import org.eclipse.xtext.xbase.testing.TemporaryFolder;
 import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider;
 import org.eclipse.xtext.xbase.tests.jvmmodel.AbstractJvmModelTest;
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -46,6 +48,20 @@ public class OnTheFlyJavaCompiler2Test extends AbstractJvmModelTest {
 		assertJavaCompilation("Runnable r = () -> {};", JavaVersion.JAVA8);
 	}
 
+	@Test
+	public void testSharedClassFileCache() {
+		ClassLoader classLoader = getClass().getClassLoader();
+		ClassFileReaderCache cache = ClassFileReaderCache.getShared();
+		cache.clear(classLoader);
+		OnTheFlyJavaCompiler2 first = new OnTheFlyJavaCompiler2(classLoader, JavaVersion.JAVA8, true);
+		Assert.assertNotNull(first.compileToClass("tests.Main", "package tests; public class Main extends java.util.ArrayList<String> {}"));
+		long size = cache.size();
+		Assert.assertTrue(size > 0);
+		OnTheFlyJavaCompiler2 second = new OnTheFlyJavaCompiler2(classLoader, JavaVersion.JAVA8, true);
+		Assert.assertNotNull(second.compileToClass("tests.Main", "package tests; public class Main extends java.util.ArrayList<String> {}"));
+		Assert.assertEquals(size, cache.size());
+	}
+
 	private Class<?> assertJavaCompilation(CharSequence input, JavaVersion javaVersion) {
 			if (javaVersion != null) {
 				this.javaCompiler.setJavaVersion(javaVersion);
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.highlighting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.eclipse.xtext.ide.editor.syntaxcoloring.IHighlightedPositionAcceptor;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.TextRegion;
+import org.eclipse.xtext.xbase.ide.highlighting.HighlightingResultCache;
+import org.eclipse.xtext.xbase.ide.highlighting.XbaseHighlightingCalculator;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.junit.Test;
+
+import com.google.inject.name.Names;
+
+public class XbaseHighlightingCalculatorTest extends AbstractXbaseTestCase {
+
+	private static final String MODEL = "{ val list = newArrayList('a') list.add('b') list.size }";
+
+	@Test
+	public void testCacheIsReused() throws Exception {
+		XtextResource resource = (XtextResource) expression(MODEL, true).eResource();
+		XbaseHighlightingCalculator calculator = createCalculator(true);
+		List<String> first = highlight(calculator, resource);
+		int misses = HighlightingResultCache.findOrCreate(resource).getMisses();
+		assertEquals(first, highlight(calculator, resource));
+		assertEquals(misses, HighlightingResultCache.findOrCreate(resource).getMisses());
+		assertTrue(HighlightingResultCache.findOrCreate(resource).getHits() > 0);
+		assertEquals(highlight(createCalculator(false), resource), first);
+	}
+
+	@Test
+	public void testEditInsideCachedElement() throws Exception {
+		XtextResource resource = (XtextResource) expression(MODEL, true).eResource();
+		XbaseHighlightingCalculator calculator = createCalculator(true);
+		highlight(calculator, resource);
+		resource.update(MODEL.indexOf("'b'"), 3, "'bbbbbb'");
+		assertEquals(highlight(createCalculator(false), resource), highlight(calculator, resource));
+		resource.update(MODEL.indexOf("list.add"), 0, "list.add('c') ");
+		assertEquals(highlight(createCalculator(false), resource), highlight(calculator, resource));
+	}
+
+	@Test
+	public void testEditDiscardsCache() throws Exception {
+		XtextResource resource = (XtextResource) expression(MODEL, true).eResource();
+		XbaseHighlightingCalculator calculator = createCalculator(true);
+		highlight(calculator, resource);
+		int misses = HighlightingResultCache.findOrCreate(resource).getMisses();
+		resource.update(MODEL.indexOf("list.size"), 0, " ");
+		highlight(calculator, resource);
+		assertEquals(2 * misses, HighlightingResultCache.findOrCreate(resource).getMisses());
+	}
+
+	@Test
+	public void testRegion() throws Exception {
+		XtextResource resource = (XtextResource) expression(MODEL, true).eResource();
+		TextRegion region = new TextRegion(MODEL.indexOf("list.add"), "list.add('b')".length());
+		List<String> full = highlight(createCalculator(false), resource);
+		List<String> inRegion = new TreeSet<>(collect(acceptor -> createCalculator(false)
+				.provideHighlightingFor(resource, region, acceptor, CancelIndicator.NullImpl))).stream()
+						.collect(Collectors.toList());
+		List<String> expected = full.stream().filter(position -> {
+			String[] segments = position.split(":");
+			int offset = Integer.parseInt(segments[0]);
+			int length = Integer.parseInt(segments[1]);
+			return offset < region.getOffset() + region.getLength() && region.getOffset() < offset + length;
+		}).collect(Collectors.toList());
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, inRegion);
+	}
+
+	@Test
+	public void testRegionUsesOverriddenHook() throws Exception {
+		XtextResource resource = (XtextResource) expression(MODEL, true).eResource();
+		XbaseHighlightingCalculator calculator = new XbaseHighlightingCalculator() {
+			@Override
+			protected void doProvideHighlightingFor(XtextResource resource, IHighlightedPositionAcceptor acceptor,
+					CancelIndicator cancelIndicator) {
+				acceptor.addPosition(MODEL.indexOf("list.size"), 4, "custom");
+				acceptor.addPosition(0, 1, "custom");
+				super.doProvideHighlightingFor(resource, acceptor, cancelIndicator);
+			}
+		};
+		getInjector().injectMembers(calculator);
+		List<String> inRegion = collect(acceptor -> calculator.provideHighlightingFor(resource,
+				new TextRegion(MODEL.indexOf("list.size"), 4), acceptor, CancelIndicator.NullImpl));
+		assertTrue(inRegion.toString(), inRegion.contains(MODEL.indexOf("list.size") + ":4:[custom]"));
+		assertFalse(inRegion.toString(), inRegion.contains("0:1:[custom]"));
+	}
+
+	private XbaseHighlightingCalculator createCalculator(boolean incremental) {
+		return getInjector().createChildInjector(binder -> {
+			binder.bindConstant().annotatedWith(Names.named(XbaseHighlightingCalculator.INCREMENTAL_HIGHLIGHTING))
+					.to(incremental);
+			// bound explicitly so the child injector creates it with the constant above
+			binder.bind(XbaseHighlightingCalculator.class);
+		}).getInstance(XbaseHighlightingCalculator.class);
+	}
+
+	private List<String> highlight(XbaseHighlightingCalculator calculator, XtextResource resource) {
+		return new TreeSet<>(collect(
+				acceptor -> calculator.provideHighlightingFor(resource, acceptor, CancelIndicator.NullImpl))).stream()
+						.collect(Collectors.toList());
+	}
+
+	private List<String> collect(Consumer<IHighlightedPositionAcceptor> highlighting) {
+		List<String> result = new ArrayList<>();
+		highlighting.accept((offset, length, ids) -> result.add(offset + ":" + length + ":" + Arrays.toString(ids)));
+		return result;
+	}
+}
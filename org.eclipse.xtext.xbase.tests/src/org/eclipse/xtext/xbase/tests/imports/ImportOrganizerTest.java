@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.imports;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmIdentifiableElement;
+import org.eclipse.xtext.common.types.JvmMember;
+import org.eclipse.xtext.common.types.JvmVisibility;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.testing.util.ParseHelper;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.ReplaceRegion;
+import org.eclipse.xtext.xbase.imports.CachingNonOverridableTypesProvider;
+import org.eclipse.xtext.xbase.imports.ImportOrganizer;
+import org.eclipse.xtext.xbase.testlanguages.tests.XImportSectionTestLangInjectorProvider;
+import org.eclipse.xtext.xbase.testlanguages.xImportSectionTestLang.ImportSectionTestLanguageRoot;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+
+@RunWith(XtextRunner.class)
+@InjectWith(XImportSectionTestLangInjectorProvider.class)
+public class ImportOrganizerTest {
+
+	public static class CountingNonOverridableTypesProvider extends CachingNonOverridableTypesProvider {
+		private int created;
+
+		@Override
+		protected Map<String, JvmIdentifiableElement> create(JvmMember context) {
+			created++;
+			return super.create(context);
+		}
+	}
+
+	@Inject
+	private ParseHelper<ImportSectionTestLanguageRoot> parseHelper;
+
+	@Inject
+	private Provider<XtextResourceSet> resourceSetProvider;
+
+	@Inject
+	private ImportOrganizer importOrganizer;
+
+	@Inject
+	private Injector injector;
+
+	@Test
+	public void testBulkChangesEqualSingleChanges() throws Exception {
+		ResourceSet first = resourceSetProvider.get();
+		ResourceSet second = resourceSetProvider.get();
+		List<XtextResource> resources = Arrays.asList(
+				parse("some token\nimport java.util.List\n", first),
+				parse("some token\nimport java.util.Set\nimport java.util.Map\n", second),
+				parse("some token\n", first));
+		List<Pair<XtextResource, List<ReplaceRegion>>> bulk = importOrganizer.getOrganizedImportChanges(resources)
+				.collect(Collectors.toList());
+		Assert.assertEquals(resources.size(), bulk.size());
+		Assert.assertEquals(Arrays.asList(resources.get(0), resources.get(2), resources.get(1)),
+				bulk.stream().map(Pair::getFirst).collect(Collectors.toList()));
+		for (Pair<XtextResource, List<ReplaceRegion>> changes : bulk) {
+			Assert.assertEquals(toString(importOrganizer.getOrganizedImportChanges(changes.getFirst())),
+					toString(changes.getSecond()));
+		}
+	}
+
+	@Test
+	public void testVisibleTypesAreCachedPerContext() {
+		JvmGenericType outer = TypesFactory.eINSTANCE.createJvmGenericType();
+		outer.setSimpleName("Outer");
+		outer.setPackageName("test");
+		outer.setVisibility(JvmVisibility.PUBLIC);
+		JvmGenericType inner = TypesFactory.eINSTANCE.createJvmGenericType();
+		inner.setSimpleName("Inner");
+		inner.setVisibility(JvmVisibility.PUBLIC);
+		outer.getMembers().add(inner);
+		CountingNonOverridableTypesProvider typesProvider = injector
+				.getInstance(CountingNonOverridableTypesProvider.class);
+		Assert.assertSame(inner, typesProvider.getVisibleType(outer, "Inner"));
+		Assert.assertSame(outer, typesProvider.getVisibleType(outer, "Outer"));
+		Assert.assertNull(typesProvider.getVisibleType(outer, "Other"));
+		Assert.assertNull(typesProvider.getVisibleType(null, "Inner"));
+		Assert.assertEquals(1, typesProvider.created);
+	}
+
+	private List<String> toString(List<ReplaceRegion> changes) {
+		return changes.stream().map(it -> it.getOffset() + ":" + it.getLength() + ":" + it.getText())
+				.collect(Collectors.toList());
+	}
+
+	private XtextResource parse(String model, ResourceSet resourceSet) throws Exception {
+		return (XtextResource) parseHelper.parse(model, resourceSet).eResource();
+	}
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.imports;
+
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.testing.util.ParseHelper;
+import org.eclipse.xtext.xbase.imports.ImportedTypesCollector;
+import org.eclipse.xtext.xbase.imports.TypeUsages;
+import org.eclipse.xtext.xbase.imports.TypeUsagesCache;
+import org.eclipse.xtext.xbase.testlanguages.XImportSectionTestLangRuntimeModule;
+import org.eclipse.xtext.xbase.testlanguages.tests.XImportSectionTestLangInjectorProvider;
+import org.eclipse.xtext.xbase.testlanguages.xImportSectionTestLang.ImportSectionTestLanguageRoot;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.util.Modules;
+
+@RunWith(XtextRunner.class)
+@InjectWith(XImportSectionTestLangInjectorProvider.class)
+public class TypeUsagesCacheTest {
+
+	public static class CustomImportedTypesCollector extends ImportedTypesCollector {
+		private static final TypeUsages RESULT = new TypeUsages();
+
+		@Override
+		public TypeUsages collectTypeUsages(XtextResource resource) {
+			return RESULT;
+		}
+	}
+
+	@Inject
+	private ParseHelper<ImportSectionTestLanguageRoot> parseHelper;
+
+	@Inject
+	private TypeUsagesCache typeUsagesCache;
+
+	private static final String MODEL = "some token\nimport java.util.Set\nimport java.util.List\n";
+
+	@Test
+	public void testCacheIsReused() throws Exception {
+		XtextResource resource = (XtextResource) parseHelper.parse(MODEL).eResource();
+		TypeUsages typeUsages = typeUsagesCache.getTypeUsages(resource);
+		TypeUsages importedTypeUsages = typeUsagesCache.getImportedTypeUsages(resource);
+		Assert.assertSame(typeUsages, typeUsagesCache.getTypeUsages(resource));
+		Assert.assertSame(importedTypeUsages, typeUsagesCache.getImportedTypeUsages(resource));
+	}
+
+	@Test
+	public void testCacheIsInvalidatedByEdit() throws Exception {
+		XtextResource resource = (XtextResource) parseHelper.parse(MODEL).eResource();
+		TypeUsages typeUsages = typeUsagesCache.getTypeUsages(resource);
+		TypeUsages importedTypeUsages = typeUsagesCache.getImportedTypeUsages(resource);
+		resource.update(MODEL.indexOf("List"), "List".length(), "Map");
+		Assert.assertNotSame(typeUsages, typeUsagesCache.getTypeUsages(resource));
+		Assert.assertNotSame(importedTypeUsages, typeUsagesCache.getImportedTypeUsages(resource));
+	}
+
+	@Test
+	public void testCustomImportedTypesCollector() throws Exception {
+		TypeUsagesCache customCache = Guice
+				.createInjector(Modules.override(new XImportSectionTestLangRuntimeModule()).with(binder -> binder
+						.bind(ImportedTypesCollector.class).to(CustomImportedTypesCollector.class)))
+				.getInstance(TypeUsagesCache.class);
+		XtextResource resource = (XtextResource) parseHelper.parse(MODEL).eResource();
+		Assert.assertSame(CustomImportedTypesCollector.RESULT, customCache.getImportedTypeUsages(resource));
+		XtextResource otherResource = (XtextResource) parseHelper.parse(MODEL).eResource();
+		Assert.assertNotSame(CustomImportedTypesCollector.RESULT, typeUsagesCache.getImportedTypeUsages(otherResource));
+	}
+}
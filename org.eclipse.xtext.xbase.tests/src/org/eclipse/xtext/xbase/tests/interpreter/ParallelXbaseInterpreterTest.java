@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.interpreter;
+
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.xbase.testing.evaluation.ParallelXtextRunner;
+import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider;
+import org.junit.runner.RunWith;
+
+/**
+ * Runs the cases of the {@link XbaseInterpreterTest} concurrently. Each case parses its expression into its own
+ * resource set, while the loaded types are shared by the caching type provider factory of the test module.
+ */
+@RunWith(ParallelXtextRunner.class)
+@InjectWith(XbaseInjectorProvider.class)
+public class ParallelXbaseInterpreterTest extends XbaseInterpreterTest {
+}
@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.xbase.tests.jvmmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.common.types.TypesPackage;
+import org.eclipse.xtext.common.types.descriptions.JvmDeclaredTypeSignatureHashProvider;
+import org.eclipse.xtext.common.types.descriptions.JvmMemberChangeAnalyzer;
+import org.eclipse.xtext.common.types.descriptions.JvmTypesResourceDescriptionStrategy;
+import org.eclipse.xtext.common.types.util.TypeReferences;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+import org.eclipse.xtext.resource.impl.DefaultReferenceDescription;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.xbase.XbasePackage;
+import org.eclipse.xtext.xbase.jvmmodel.JvmTypesBuilder;
+import org.eclipse.xtext.xbase.resource.SignatureHashAwareResourceDescriptionManager;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider.XbaseTestRuntimeModule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
+
+public class JvmMemberChangeAnalyzerTest extends AbstractXbaseTestCase {
+	private static class TestResourceDescription extends AbstractResourceDescription {
+		private final URI uri;
+
+		private final List<IEObjectDescription> exportedObjects;
+
+		private final List<IReferenceDescription> referenceDescriptions;
+
+		private final List<QualifiedName> importedNames;
+
+		TestResourceDescription(URI uri, List<IEObjectDescription> exportedObjects,
+				List<IReferenceDescription> referenceDescriptions, List<QualifiedName> importedNames) {
+			this.uri = uri;
+			this.exportedObjects = exportedObjects;
+			this.referenceDescriptions = referenceDescriptions;
+			this.importedNames = importedNames;
+		}
+
+		@Override
+		protected List<IEObjectDescription> computeExportedObjects() {
+			return exportedObjects;
+		}
+
+		@Override
+		public Iterable<QualifiedName> getImportedNames() {
+			return importedNames;
+		}
+
+		@Override
+		public Iterable<IReferenceDescription> getReferenceDescriptions() {
+			return referenceDescriptions;
+		}
+
+		@Override
+		public URI getURI() {
+			return uri;
+		}
+	}
+
+	private static final URI FOO_URI = URI.createURI("synthetic:/Foo.java");
+
+	private static final URI CANDIDATE_URI = URI.createURI("synthetic:/Bar.xtend");
+
+	@Inject
+	private JvmDeclaredTypeSignatureHashProvider hashProvider;
+
+	@Inject
+	private JvmMemberChangeAnalyzer analyzer;
+
+	@Inject
+	private JvmTypesBuilder jvmTypesBuilder;
+
+	@Inject
+	private TypeReferences typeReferences;
+
+	private EObject source = EcoreFactory.eINSTANCE.createEObject();
+
+	@Test
+	public void testEncodeDecode() {
+		Map<String, String> hashes = ImmutableMap.of("", "1234567890", "bar", "abc", "$Inner", "-42");
+		Assert.assertEquals("=12345678;bar=abc;$Inner=-42", JvmMemberChangeAnalyzer.encode(hashes));
+		Assert.assertEquals(ImmutableMap.of("", "12345678", "bar", "abc", "$Inner", "-42"),
+				JvmMemberChangeAnalyzer.decode(JvmMemberChangeAnalyzer.encode(hashes)));
+	}
+
+	@Test
+	public void testUnchanged() {
+		JvmGenericType foo = createFoo();
+		Assert.assertEquals(Collections.emptySet(), analyzer.getChangedMembers(describe(foo), describe(foo)));
+	}
+
+	@Test
+	public void testChangedMember() {
+		JvmGenericType foo = createFoo();
+		IEObjectDescription oldFoo = describe(foo);
+		JvmOperation bar = (JvmOperation) foo.getMembers().get(0);
+		bar.getParameters().add(jvmTypesBuilder.toParameter(source, "p", typeReferences.createTypeRef(foo)));
+		Assert.assertEquals(Collections.singleton("bar"), analyzer.getChangedMembers(oldFoo, describe(foo)));
+	}
+
+	@Test
+	public void testRemovedMember() {
+		JvmGenericType foo = createFoo();
+		IEObjectDescription oldFoo = describe(foo);
+		foo.getMembers().remove(1);
+		Assert.assertEquals(Collections.singleton("baz"), analyzer.getChangedMembers(oldFoo, describe(foo)));
+	}
+
+	@Test
+	public void testAddedMember() {
+		JvmGenericType foo = createFoo();
+		IEObjectDescription oldFoo = describe(foo);
+		foo.getMembers().add(jvmTypesBuilder.toMethod(source, "qux", null, (JvmOperation it) -> {
+		}));
+		Assert.assertNull(analyzer.getChangedMembers(oldFoo, describe(foo)));
+	}
+
+	@Test
+	public void testChangedNestedType() {
+		JvmGenericType foo = createFoo();
+		JvmGenericType inner = jvmTypesBuilder.toClass(source, "Inner");
+		foo.getMembers().add(inner);
+		IEObjectDescription oldFoo = describe(foo);
+		inner.getMembers().add(jvmTypesBuilder.toMethod(source, "qux", null, (JvmOperation it) -> {
+		}));
+		Assert.assertEquals(Collections.emptySet(), analyzer.getChangedMembers(oldFoo, describe(foo)));
+	}
+
+	@Test
+	public void testChangedTypeSignature() {
+		JvmGenericType foo = createFoo();
+		IEObjectDescription oldFoo = describe(foo);
+		foo.setAbstract(true);
+		Assert.assertNull(analyzer.getChangedMembers(oldFoo, describe(foo)));
+	}
+
+	@Test
+	public void testIsAffectedByUsedMember() {
+		Map<URI, Set<String>> changedMembers = Collections.singletonMap(FOO_URI.appendFragment("Foo"),
+				Collections.singleton("bar"));
+		Assert.assertTrue(analyzer.isAffected(changedMembers, candidate(memberReference("Foo.bar()"))));
+		Assert.assertFalse(analyzer.isAffected(changedMembers, candidate(memberReference("Foo.baz()"))));
+		Assert.assertFalse(analyzer.isAffected(Collections.emptyMap(), candidate(memberReference("Foo.bar()"))));
+	}
+
+	@Test
+	public void testIsAffectedBySubtype() {
+		Map<URI, Set<String>> changedMembers = Collections.singletonMap(FOO_URI.appendFragment("Foo"),
+				Collections.singleton("baz"));
+		Assert.assertTrue(analyzer.isAffected(changedMembers, candidate(typeReference("/1/@superTypes.0"))));
+		Assert.assertFalse(analyzer.isAffected(changedMembers, candidate(typeReference("/1/@members.0/@returnType"))));
+	}
+
+	@Test
+	public void testManagerNarrowsDownChangedMembers() {
+		JvmGenericType foo = createFoo();
+		IResourceDescription oldFoo = describe(FOO_URI, foo);
+		JvmOperation baz = (JvmOperation) foo.getMembers().get(1);
+		baz.getParameters().add(jvmTypesBuilder.toParameter(source, "p", typeReferences.createTypeRef(foo)));
+		List<IResourceDescription.Delta> deltas = Collections
+				.singletonList(new DefaultResourceDescriptionDelta(oldFoo, describe(FOO_URI, foo)));
+		SignatureHashAwareResourceDescriptionManager manager = getInjector()
+				.getInstance(SignatureHashAwareResourceDescriptionManager.class);
+		ResourceDescriptionsData context = new ResourceDescriptionsData(Collections.emptyList());
+		Assert.assertFalse(manager.isAffected(deltas, candidate(memberReference("Foo.bar()")), context));
+		Assert.assertTrue(manager.isAffected(deltas, candidate(memberReference("Foo.baz()")), context));
+	}
+
+	@Test
+	public void testManagerFallsBackForAddedMember() {
+		JvmGenericType foo = createFoo();
+		IResourceDescription oldFoo = describe(FOO_URI, foo);
+		foo.getMembers().add(jvmTypesBuilder.toMethod(source, "qux", null, (JvmOperation it) -> {
+		}));
+		List<IResourceDescription.Delta> deltas = Collections
+				.singletonList(new DefaultResourceDescriptionDelta(oldFoo, describe(FOO_URI, foo)));
+		SignatureHashAwareResourceDescriptionManager manager = getInjector()
+				.getInstance(SignatureHashAwareResourceDescriptionManager.class);
+		IResourceDescription candidate = new TestResourceDescription(CANDIDATE_URI, Collections.emptyList(),
+				Arrays.asList(memberReference("Foo.bar()")), Arrays.asList(QualifiedName.create("foo")));
+		Assert.assertTrue(manager.isAffected(deltas, candidate, new ResourceDescriptionsData(Collections.emptyList())));
+	}
+
+	@Test
+	public void testMemberHashesAreOptIn() {
+		JvmGenericType foo = createFoo();
+		Assert.assertNull(getUserData(getInjector().getInstance(JvmTypesResourceDescriptionStrategy.class), foo));
+		JvmTypesResourceDescriptionStrategy enabled = Guice
+				.createInjector(Modules.override(new XbaseTestRuntimeModule()).with(binder -> binder.bindConstant()
+						.annotatedWith(Names.named(JvmTypesResourceDescriptionStrategy.MEMBER_SIGNATURE_HASHES)).to(true)))
+				.getInstance(JvmTypesResourceDescriptionStrategy.class);
+		Assert.assertEquals(JvmMemberChangeAnalyzer.encode(hashProvider.getMemberHashes(foo)), getUserData(enabled, foo));
+	}
+
+	private String getUserData(JvmTypesResourceDescriptionStrategy strategy, JvmGenericType type) {
+		List<IEObjectDescription> descriptions = new ArrayList<>();
+		strategy.createEObjectDescriptions(type, descriptions::add);
+		Assert.assertEquals(1, descriptions.size());
+		return descriptions.get(0).getUserData(JvmTypesResourceDescriptionStrategy.MEMBER_SIGNATURE_HASHES_KEY);
+	}
+
+	private IResourceDescription candidate(IReferenceDescription reference) {
+		return new TestResourceDescription(CANDIDATE_URI, Collections.emptyList(), Arrays.asList(reference),
+				Collections.emptyList());
+	}
+
+	private IReferenceDescription memberReference(String fragment) {
+		return new DefaultReferenceDescription(CANDIDATE_URI.appendFragment("/0/@expression"),
+				FOO_URI.appendFragment(fragment), XbasePackage.Literals.XABSTRACT_FEATURE_CALL__FEATURE, -1, null);
+	}
+
+	private IReferenceDescription typeReference(String sourceFragment) {
+		return new DefaultReferenceDescription(CANDIDATE_URI.appendFragment(sourceFragment),
+				FOO_URI.appendFragment("Foo"), TypesPackage.Literals.JVM_PARAMETERIZED_TYPE_REFERENCE__TYPE, -1, null);
+	}
+
+	private IResourceDescription describe(URI uri, JvmGenericType type) {
+		JvmGenericType proxy = TypesFactory.eINSTANCE.createJvmGenericType();
+		((InternalEObject) proxy).eSetProxyURI(uri.appendFragment(type.getSimpleName()));
+		IEObjectDescription description = EObjectDescription.create(QualifiedName.create(type.getSimpleName()), proxy,
+				ImmutableMap.of(JvmTypesResourceDescriptionStrategy.SIGNATURE_HASH_KEY, hashProvider.getHash(type),
+						JvmTypesResourceDescriptionStrategy.MEMBER_SIGNATURE_HASHES_KEY,
+						JvmMemberChangeAnalyzer.encode(hashProvider.getMemberHashes(type))));
+		return new TestResourceDescription(uri, Arrays.asList(description), Collections.emptyList(),
+				Collections.emptyList());
+	}
+
+	private JvmGenericType createFoo() {
+		return jvmTypesBuilder.toClass(source, "Foo", (JvmGenericType it) -> {
+			it.getMembers().add(jvmTypesBuilder.toMethod(source, "bar", null, (JvmOperation op) -> {
+			}));
+			it.getMembers().add(jvmTypesBuilder.toMethod(source, "baz", null, (JvmOperation op) -> {
+			}));
+		});
+	}
+
+	private IEObjectDescription describe(JvmGenericType type) {
+		return EObjectDescription.create(QualifiedName.create(type.getSimpleName()), type,
+				ImmutableMap.of(JvmTypesResourceDescriptionStrategy.MEMBER_SIGNATURE_HASHES_KEY,
+						JvmMemberChangeAnalyzer.encode(hashProvider.getMemberHashes(type))));
+	}
+}
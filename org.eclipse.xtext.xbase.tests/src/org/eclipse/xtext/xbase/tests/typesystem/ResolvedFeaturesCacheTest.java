@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.xbase.tests.typesystem;
+
+import java.util.AbstractList;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.util.JavaVersion;
+import org.eclipse.xtext.xbase.XTypeLiteral;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider.XbaseTestRuntimeModule;
+import org.eclipse.xtext.xbase.typesystem.override.OverrideHelper;
+import org.eclipse.xtext.xbase.typesystem.override.ResolvedFeatures;
+import org.eclipse.xtext.xbase.typesystem.override.ResolvedFeaturesCache;
+import org.eclipse.xtext.xbase.typesystem.references.ITypeReferenceOwner;
+import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
+import org.eclipse.xtext.xbase.typesystem.references.StandardTypeReferenceOwner;
+import org.eclipse.xtext.xbase.typesystem.util.CommonTypeComputationServices;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
+
+public class ResolvedFeaturesCacheTest extends AbstractXbaseTestCase {
+	@Inject
+	private CommonTypeComputationServices services;
+
+	@Test
+	public void testSharedPerTypeAndVersion() throws Exception {
+		XTypeLiteral typeLiteral = (XTypeLiteral) expression("typeof(java.util.ArrayList)");
+		JvmDeclaredType type = (JvmDeclaredType) typeLiteral.getType();
+		ResourceSet resourceSet = typeLiteral.eResource().getResourceSet();
+		ITypeReferenceOwner owner = new StandardTypeReferenceOwner(services, resourceSet);
+		ResolvedFeaturesCache cache = ResolvedFeaturesCache.findOrCreate(resourceSet);
+		Assert.assertSame(cache, ResolvedFeaturesCache.findOrCreate(resourceSet));
+
+		ResolvedFeatures first = cache.get(owner.toLightweightTypeReference(type), JavaVersion.JAVA8,
+				() -> new ResolvedFeatures(owner.toLightweightTypeReference(type)));
+		ResolvedFeatures second = cache.get(owner.toLightweightTypeReference(type), JavaVersion.JAVA8, () -> {
+			throw new AssertionError();
+		});
+		Assert.assertSame(first, second);
+		ResolvedFeatures otherVersion = cache.get(owner.toLightweightTypeReference(type), JavaVersion.JAVA7,
+				() -> new ResolvedFeatures(owner.toLightweightTypeReference(type)));
+		Assert.assertNotSame(first, otherVersion);
+		Assert.assertEquals(2, cache.size());
+
+		cache.clear();
+		Assert.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testSharedPerOwner() throws Exception {
+		XTypeLiteral typeLiteral = (XTypeLiteral) expression("typeof(java.util.ArrayList)");
+		JvmDeclaredType type = (JvmDeclaredType) typeLiteral.getType();
+		ResourceSet resourceSet = typeLiteral.eResource().getResourceSet();
+		ITypeReferenceOwner owner = new StandardTypeReferenceOwner(services, resourceSet);
+		ITypeReferenceOwner otherOwner = new StandardTypeReferenceOwner(services, resourceSet);
+		ResolvedFeaturesCache cache = ResolvedFeaturesCache.findOrCreate(resourceSet);
+
+		ResolvedFeatures first = cache.get(owner.toLightweightTypeReference(type), JavaVersion.JAVA8,
+				() -> new ResolvedFeatures(owner.toLightweightTypeReference(type)));
+		ResolvedFeatures other = cache.get(otherOwner.toLightweightTypeReference(type), JavaVersion.JAVA8,
+				() -> new ResolvedFeatures(otherOwner.toLightweightTypeReference(type)));
+		Assert.assertNotSame(first, other);
+		Assert.assertSame(owner, first.getType().getOwner());
+		Assert.assertSame(otherOwner, other.getType().getOwner());
+		Assert.assertTrue(other.getAllOperations().stream()
+				.allMatch(operation -> operation.getResolvedReturnType().isOwnedBy(otherOwner)));
+	}
+
+	@Test
+	public void testSuperTypeChangeInvalidates() throws Exception {
+		XTypeLiteral typeLiteral = (XTypeLiteral) expression("typeof(java.util.ArrayList)");
+		JvmDeclaredType type = (JvmDeclaredType) typeLiteral.getType();
+		ResourceSet resourceSet = typeLiteral.eResource().getResourceSet();
+		ITypeReferenceOwner owner = new StandardTypeReferenceOwner(services, resourceSet);
+		ResolvedFeaturesCache cache = ResolvedFeaturesCache.findOrCreate(resourceSet);
+		LightweightTypeReference typeReference = owner.toLightweightTypeReference(type);
+		ResolvedFeatures first = cache.get(typeReference, JavaVersion.JAVA8, () -> new ResolvedFeatures(typeReference));
+		Assert.assertEquals(1, cache.size());
+
+		JvmDeclaredType superType = (JvmDeclaredType) typeReference.getSuperType(AbstractList.class).getType();
+		JvmOperation operation = TypesFactory.eINSTANCE.createJvmOperation();
+		operation.setSimpleName("addedOperation");
+		superType.getMembers().add(operation);
+		Assert.assertEquals(0, cache.size());
+		ResolvedFeatures second = cache.get(typeReference, JavaVersion.JAVA8, () -> new ResolvedFeatures(typeReference));
+		Assert.assertNotSame(first, second);
+	}
+
+	@Test
+	public void testOverrideHelperUsesCache() throws Exception {
+		OverrideHelper overrideHelper = Guice.createInjector(Modules.override(new XbaseTestRuntimeModule())
+				.with(binder -> binder.bindConstant().annotatedWith(Names.named(OverrideHelper.RESOLVED_FEATURES_CACHE))
+						.to(true)))
+				.getInstance(OverrideHelper.class);
+		XTypeLiteral typeLiteral = (XTypeLiteral) expression("typeof(java.util.ArrayList)");
+		JvmDeclaredType type = (JvmDeclaredType) typeLiteral.getType();
+		ResourceSet resourceSet = typeLiteral.eResource().getResourceSet();
+		ITypeReferenceOwner owner = new StandardTypeReferenceOwner(services, resourceSet);
+		ResolvedFeatures first = overrideHelper.getResolvedFeatures(owner.toLightweightTypeReference(type));
+		Assert.assertSame(first, overrideHelper.getResolvedFeatures(owner.toLightweightTypeReference(type)));
+		Assert.assertEquals(1, ResolvedFeaturesCache.findOrCreate(resourceSet).size());
+		ResolvedFeatures java8 = overrideHelper.getResolvedFeatures(owner.toLightweightTypeReference(type),
+				JavaVersion.JAVA8);
+		Assert.assertNotSame(first, java8);
+		Assert.assertSame(java8, overrideHelper.getResolvedFeatures(owner.toLightweightTypeReference(type),
+				JavaVersion.JAVA8));
+	}
+
+	@Test
+	public void testOverrideHelperWithoutCache() throws Exception {
+		OverrideHelper overrideHelper = get(OverrideHelper.class);
+		XTypeLiteral typeLiteral = (XTypeLiteral) expression("typeof(java.util.ArrayList)");
+		JvmDeclaredType type = (JvmDeclaredType) typeLiteral.getType();
+		ResourceSet resourceSet = typeLiteral.eResource().getResourceSet();
+		ITypeReferenceOwner owner = new StandardTypeReferenceOwner(services, resourceSet);
+		Assert.assertNotSame(overrideHelper.getResolvedFeatures(owner.toLightweightTypeReference(type)),
+				overrideHelper.getResolvedFeatures(owner.toLightweightTypeReference(type)));
+	}
+}
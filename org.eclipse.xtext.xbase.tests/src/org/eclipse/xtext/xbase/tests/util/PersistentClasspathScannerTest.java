@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.xbase.tests.util;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.eclipse.xtext.common.types.descriptions.ITypeDescriptor;
+import org.eclipse.xtext.common.types.descriptions.PersistentClasspathScanner;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Lists;
+
+public class PersistentClasspathScannerTest {
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private class TestScanner extends PersistentClasspathScanner {
+		private int scans = 0;
+
+		@Override
+		protected Path getCacheDirectory() {
+			return temporaryFolder.getRoot().toPath();
+		}
+
+		@Override
+		protected List<ITypeDescriptor> getDescriptors(String key, Supplier<List<ITypeDescriptor>> scanner) {
+			return super.getDescriptors(key, () -> {
+				scans++;
+				return scanner.get();
+			});
+		}
+	}
+
+	@Test
+	public void testClasspathScanning() throws Exception {
+		File sampleJar = new File("./somelib/sample.jar");
+		URLClassLoader classloader = new URLClassLoader(new URL[] { sampleJar.toURI().toURL() });
+		Iterable<ITypeDescriptor> samplePackage = new TestScanner().getDescriptors(classloader,
+				Lists.newArrayList("sample"));
+		Assert.assertTrue(IterableExtensions.exists(samplePackage, it -> "sample.Sample".equals(it.getName())));
+		Assert.assertTrue(IterableExtensions.forall(samplePackage, it -> it.getName().startsWith("sample.")));
+	}
+
+	@Test
+	public void testReadFromDisk() throws Exception {
+		File sampleJar = new File("./somelib/sample.jar");
+		URLClassLoader classloader = new URLClassLoader(new URL[] { sampleJar.toURI().toURL() }, null);
+		TestScanner first = new TestScanner();
+		Iterable<ITypeDescriptor> fromScan = first.getDescriptors(classloader, Lists.newArrayList());
+		Assert.assertTrue(first.scans > 0);
+		TestScanner second = new TestScanner();
+		Iterable<ITypeDescriptor> fromDisk = second.getDescriptors(classloader, Lists.newArrayList());
+		Assert.assertEquals(0, second.scans);
+		Assert.assertEquals(IterableExtensions.join(fromScan, ", "), IterableExtensions.join(fromDisk, ", "));
+		Assert.assertEquals(
+				IterableExtensions.join(IterableExtensions.map(fromScan, ITypeDescriptor::getModifiers), ", "),
+				IterableExtensions.join(IterableExtensions.map(fromDisk, ITypeDescriptor::getModifiers), ", "));
+	}
+}
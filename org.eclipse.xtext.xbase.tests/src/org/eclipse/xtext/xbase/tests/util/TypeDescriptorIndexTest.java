@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.xtext.xbase.tests.util;
+
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.eclipse.xtext.common.types.descriptions.ClasspathTypeDescriptor;
+import org.eclipse.xtext.common.types.descriptions.ITypeDescriptor;
+import org.eclipse.xtext.common.types.descriptions.TypeDescriptorIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class TypeDescriptorIndexTest {
+	private TypeDescriptorIndex index = new TypeDescriptorIndex(Lists.newArrayList(
+			descriptor("java.util.ArrayList"),
+			descriptor("java.util.AbstractList"),
+			descriptor("java.util.List"),
+			descriptor("java.util.LinkedList"),
+			descriptor("java.util.Map$Entry"),
+			descriptor("java.awt.List"),
+			descriptor("java.lang.String")));
+
+	@Test
+	public void testPrefix() {
+		Assert.assertEquals("[java.util.List, java.awt.List, java.util.LinkedList]", find("li"));
+		Assert.assertEquals("[java.util.ArrayList]", find("Arr"));
+		Assert.assertEquals("[]", find("Foo"));
+	}
+
+	@Test
+	public void testCamelCase() {
+		Assert.assertEquals("[java.util.AbstractList, java.util.ArrayList]", find("AL"));
+		Assert.assertEquals("[java.util.ArrayList]", find("ArrLi"));
+		Assert.assertEquals("[java.util.LinkedList]", find("LL"));
+	}
+
+	@Test
+	public void testQualified() {
+		Assert.assertEquals("[java.util.LinkedList, java.util.List]", find("java.util.Li"));
+		Assert.assertEquals("[java.util.Map$Entry]", find("java.util.Map.E"));
+	}
+
+	@Test
+	public void testImportPrefix() {
+		Assert.assertEquals("[]", find("java"));
+		Assert.assertEquals(
+				"[java.awt.List, java.lang.String, java.util.AbstractList, java.util.ArrayList, java.util.LinkedList, java.util.List, java.util.Map$Entry]",
+				find("java", true));
+		Assert.assertEquals("[java.util.List, java.awt.List, java.util.LinkedList]", find("li", true));
+		Assert.assertEquals("[java.util.LinkedList, java.util.List]", find("java.util.Li", true));
+	}
+
+	@Test
+	public void testLocaleIndependentLowerCase() {
+		Locale defaultLocale = Locale.getDefault();
+		try {
+			Locale.setDefault(new Locale("tr"));
+			TypeDescriptorIndex index = new TypeDescriptorIndex(Lists.newArrayList(descriptor("java.lang.Integer")));
+			Assert.assertEquals(1, index.find("INTEG").size());
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	@Test
+	public void testEmptyQuery() {
+		Assert.assertEquals(7, index.find("").size());
+	}
+
+	private String find(String query) {
+		return find(query, false);
+	}
+
+	private String find(String query, boolean qualified) {
+		List<String> names = TypeDescriptorIndex.find(query, qualified, Collections.singletonList(index)).stream().map(ITypeDescriptor::getName).collect(Collectors.toList());
+		return names.toString();
+	}
+
+	private ITypeDescriptor descriptor(String name) {
+		return new ClasspathTypeDescriptor(name, Modifier.PUBLIC);
+	}
+}
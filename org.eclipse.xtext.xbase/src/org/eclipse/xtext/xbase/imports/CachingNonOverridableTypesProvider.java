@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.imports;
+
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.common.types.JvmIdentifiableElement;
+import org.eclipse.xtext.common.types.JvmMember;
+import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess.UnknownNestedTypeException;
+import org.eclipse.xtext.naming.QualifiedName;
+
+import com.google.common.collect.Maps;
+
+/**
+ * A {@link NonOverridableTypesProvider} that remembers the visible types per context and the indexed types per
+ * resource set. Only suitable as long as neither the contexts nor the index change, e.g. for a single organize imports
+ * run over many resources of a resource set. The indexed types are shared between the resources of such a run: all
+ * resources of a package look up the same names of that package. Not thread-safe.
+ * 
+ * @since 2.25
+ */
+public class CachingNonOverridableTypesProvider extends NonOverridableTypesProvider {
+
+	private final Map<JvmMember, Map<String, JvmIdentifiableElement>> visibleElements = Maps.newHashMap();
+
+	private final Map<ResourceSet, Map<QualifiedName, EObject>> indexedTypes = Maps.newHashMap();
+
+	@Override
+	public JvmIdentifiableElement getVisibleType(JvmMember context, String name) {
+		if (context == null)
+			return null;
+		return visibleElements.computeIfAbsent(context, this::create).get(name);
+	}
+
+	/**
+	 * Unknown nested types are remembered as <code>null</code>.
+	 */
+	@Override
+	public EObject getIndexedType(QualifiedName qualifiedName, ResourceSet resourceSet) {
+		Map<QualifiedName, EObject> types = indexedTypes.computeIfAbsent(resourceSet, it -> Maps.newHashMap());
+		if (types.containsKey(qualifiedName))
+			return types.get(qualifiedName);
+		EObject result;
+		try {
+			result = super.getIndexedType(qualifiedName, resourceSet);
+		} catch (UnknownNestedTypeException e) {
+			result = null;
+		}
+		types.put(qualifiedName, result);
+		return result;
+	}
+}
@@ -19,7 +19,6 @@ import java.util.Map;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
-import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
 import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess.UnknownNestedTypeException;
 import org.eclipse.xtext.linking.LinkingScopeProviderBinding;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
@@ -45,9 +44,6 @@ public class ConflictResolver {
 	@Inject@LinkingScopeProviderBinding
 	private IScopeProvider scopeProvider;
 	
-	@Inject
-	private IndexedJvmTypeAccess indexedJvmTypeAccess;
-	
 	@Inject
 	private IQualifiedNameConverter qualifiedNameConverter;
 
@@ -115,7 +111,7 @@ public class ConflictResolver {
 				if(!isEmpty(contextPackage)) {
 					QualifiedName qualifiedName = qualifiedNameConverter.toQualifiedName(contextPackage + "." + simpleName);
 					try {
-						EObject indexedJvmType = indexedJvmTypeAccess.getIndexedJvmType(qualifiedName, null, usage.getContext().eResource().getResourceSet());
+						EObject indexedJvmType = nonOverridableTypesProvider.getIndexedType(qualifiedName, usage.getContext().eResource().getResourceSet());
 						if(indexedJvmType != null && indexedJvmType != type) 
 							return true;
 					} catch(UnknownNestedTypeException e) {
@@ -11,21 +11,27 @@ package org.eclipse.xtext.xbase.imports;
 import static com.google.common.collect.Lists.*;
 import static org.eclipse.xtext.util.Strings.*;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmMember;
 import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.Pair;
 import org.eclipse.xtext.util.ReplaceRegion;
+import org.eclipse.xtext.util.Tuples;
 import org.eclipse.xtext.xbase.conversion.XbaseQualifiedNameValueConverter;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
@@ -38,7 +44,7 @@ public class ImportOrganizer {
 	private RewritableImportSection.Factory importSectionFactory;
 
 	@Inject
-	private Provider<TypeUsageCollector> typeUsageCollectorProvider;
+	private TypeUsagesCache typeUsagesCache;
 
 	@Inject
 	private ConflictResolver conflictResolver;
@@ -52,13 +58,50 @@ public class ImportOrganizer {
 	@Inject
 	private XbaseQualifiedNameValueConverter nameValueConverter;
 
+	@Inject
+	private Provider<CachingNonOverridableTypesProvider> cachingNonOverridableTypesProvider;
+
 	public List<ReplaceRegion> getOrganizedImportChanges(XtextResource resource) {
-		TypeUsageCollector typeUsageCollector = typeUsageCollectorProvider.get();
-		TypeUsages typeUsages = typeUsageCollector.collectTypeUsages(resource);
-		if (unresolvedTypeResolver != null)
+		return getOrganizedImportChanges(resource, nonOverridableTypesProvider);
+	}
+
+	/**
+	 * Organizes the imports of many resources, e.g. of a whole project. The resources are processed one after another
+	 * on the calling thread since resources and resource sets are not thread-safe. The resources of the same resource
+	 * set share a {@link CachingNonOverridableTypesProvider}, so a type of a package that may conflict with an import is
+	 * only looked up once in the index, no matter how many resources of that package use its simple name.
+	 * 
+	 * The changes are computed lazily while the returned stream is consumed.
+	 * 
+	 * @since 2.25
+	 */
+	public Stream<Pair<XtextResource, List<ReplaceRegion>>> getOrganizedImportChanges(
+			Collection<? extends XtextResource> resources) {
+		Map<Object, List<XtextResource>> resourcesPerResourceSet = Maps.newLinkedHashMap();
+		for (XtextResource resource : resources) {
+			ResourceSet resourceSet = resource.getResourceSet();
+			resourcesPerResourceSet.computeIfAbsent(resourceSet != null ? resourceSet : resource, it -> newArrayList()).add(resource);
+		}
+		return resourcesPerResourceSet.values().stream().flatMap(resourcesOfSet -> {
+			NonOverridableTypesProvider sharedTypesProvider = cachingNonOverridableTypesProvider.get();
+			return resourcesOfSet.stream()
+					.map(resource -> Tuples.create(resource, getOrganizedImportChanges(resource, sharedTypesProvider)));
+		});
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	protected List<ReplaceRegion> getOrganizedImportChanges(XtextResource resource,
+			NonOverridableTypesProvider nonOverridableTypesProvider) {
+		TypeUsages typeUsages = typeUsagesCache.getTypeUsages(resource);
+		if (unresolvedTypeResolver != null && !typeUsages.getUnresolvedTypeUsages().isEmpty()) {
+			// the resolver adds the resolved types to the usages, so it must not modify the cached instance
+			typeUsages = typeUsagesCache.copy(typeUsages);
 			unresolvedTypeResolver.resolve(typeUsages, resource);
+		}
 		Map<String, JvmDeclaredType> name2type = conflictResolver.resolveConflicts(typeUsages, nonOverridableTypesProvider, resource);
-		List<ReplaceRegion> changes = getOrganizedImportChanges(resource, name2type, typeUsages);
+		List<ReplaceRegion> changes = getOrganizedImportChanges(resource, name2type, typeUsages, nonOverridableTypesProvider);
 		removeNullEdits(resource, changes);
 		return changes;
 	}
@@ -74,11 +117,12 @@ public class ImportOrganizer {
 		}
 	}
 
-	private List<ReplaceRegion> getOrganizedImportChanges(XtextResource resource, Map<String, JvmDeclaredType> resolvedConflicts, TypeUsages typeUsages) {
+	private List<ReplaceRegion> getOrganizedImportChanges(XtextResource resource, Map<String, JvmDeclaredType> resolvedConflicts, TypeUsages typeUsages,
+			NonOverridableTypesProvider nonOverridableTypesProvider) {
 		RewritableImportSection oldImportSection = importSectionFactory.parse(resource);
 
 		RewritableImportSection newImportSection = importSectionFactory.createNewEmpty(resource);
-		addImports(resolvedConflicts, typeUsages, newImportSection);
+		addImports(resolvedConflicts, typeUsages, newImportSection, nonOverridableTypesProvider);
 		List<ReplaceRegion> replaceRegions = getReplacedUsageSites(resolvedConflicts, typeUsages, newImportSection);
 		for (JvmMember extensionImport : typeUsages.getExtensionImports()) {
 			JvmDeclaredType declaringType = extensionImport.getDeclaringType();
@@ -193,7 +237,8 @@ public class ImportOrganizer {
 		return suffix;
 	}
 
-	private void addImports(Map<String, JvmDeclaredType> resolvedConflicts, TypeUsages typeUsages, RewritableImportSection target) {
+	private void addImports(Map<String, JvmDeclaredType> resolvedConflicts, TypeUsages typeUsages, RewritableImportSection target,
+			NonOverridableTypesProvider nonOverridableTypesProvider) {
 		for (Map.Entry<String, JvmDeclaredType> entry : resolvedConflicts.entrySet()) {
 			String text = entry.getKey();
 			JvmDeclaredType type = entry.getValue();
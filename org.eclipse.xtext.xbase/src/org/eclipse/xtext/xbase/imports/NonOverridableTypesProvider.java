@@ -13,13 +13,18 @@ import static com.google.common.collect.Maps.*;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmMember;
 import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.common.types.JvmTypeParameter;
 import org.eclipse.xtext.common.types.JvmTypeParameterDeclarator;
+import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
+import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess.UnknownNestedTypeException;
 import org.eclipse.xtext.common.types.util.RawSuperTypes;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.xbase.typesystem.util.ContextualVisibilityHelper;
 import org.eclipse.xtext.xbase.typesystem.util.IVisibilityHelper;
 
@@ -38,6 +43,9 @@ public class NonOverridableTypesProvider {
 	
 	@Inject
 	private RawSuperTypes rawSuperTypes;
+	
+	@Inject
+	private IndexedJvmTypeAccess indexedJvmTypeAccess;
 
 	private Map<JvmMember, Map<String, JvmIdentifiableElement>> visibleElements = newHashMap();
 
@@ -56,6 +64,16 @@ public class NonOverridableTypesProvider {
 		return map.get(name);
 	}
 
+	/**
+	 * Returns the indexed type with the given qualified name, e.g. a type of the context's package that is visible
+	 * without an import.
+	 * @return the indexed type or <code>null</code>
+	 * @since 2.25
+	 */
+	public EObject getIndexedType(QualifiedName qualifiedName, ResourceSet resourceSet) throws UnknownNestedTypeException {
+		return indexedJvmTypeAccess.getIndexedJvmType(qualifiedName, null, resourceSet);
+	}
+
 	protected Map<String, JvmIdentifiableElement> create(JvmMember context) {
 		Map<String, JvmIdentifiableElement> result = newHashMap();
 		process(context, result);
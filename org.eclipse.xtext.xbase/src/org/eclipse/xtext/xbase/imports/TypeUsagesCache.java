@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.imports;
+
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmMember;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.IResourceScopeCache;
+import org.eclipse.xtext.util.ITextRegion;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+
+/**
+ * Collects the {@link TypeUsages type usages} of a resource once per resource state and shares them between the
+ * {@link ImportOrganizer} and the validation of the import section. The cached usages are evicted by the
+ * {@link IResourceScopeCache} as soon as the resource changes.
+ * 
+ * The returned usages are shared and must not be modified.
+ * 
+ * @since 2.25
+ */
+@Singleton
+public class TypeUsagesCache {
+
+	@Inject
+	private IResourceScopeCache cache;
+
+	@Inject
+	private Provider<TypeUsageCollector> typeUsageCollectorProvider;
+
+	@Inject
+	private Provider<ImportedTypesCollector> importedTypesCollectorProvider;
+
+	@Inject
+	private Provider<TypeUsages> typeUsagesProvider;
+
+	private volatile Boolean canDeriveImportedTypeUsages;
+
+	/**
+	 * All type usages of the resource as collected by the {@link TypeUsageCollector}.
+	 */
+	public TypeUsages getTypeUsages(XtextResource resource) {
+		return cache.get(TypeUsageCollector.class, resource,
+				() -> typeUsageCollectorProvider.get().collectTypeUsages(resource));
+	}
+
+	/**
+	 * The type usages of the resource that may refer to an import as collected by the {@link ImportedTypesCollector},
+	 * i.e. without the usages that are written as a fully qualified name. If neither the {@link TypeUsageCollector} nor
+	 * the {@link ImportedTypesCollector} is customized, the result is derived from the
+	 * {@link #getTypeUsages(XtextResource) cached type usages} instead of collecting the usages a second time.
+	 */
+	public TypeUsages getImportedTypeUsages(XtextResource resource) {
+		return cache.get(ImportedTypesCollector.class, resource, () -> {
+			ImportedTypesCollector importedTypesCollector = importedTypesCollectorProvider.get();
+			if (canDeriveImportedTypeUsages(importedTypesCollector)) {
+				return filterImportedTypeUsages(getTypeUsages(resource), resource);
+			}
+			return importedTypesCollector.collectTypeUsages(resource);
+		});
+	}
+
+	/**
+	 * Whether the result of the given collector is known to be the same as the filtered
+	 * {@link #getTypeUsages(XtextResource) type usages}.
+	 */
+	protected boolean canDeriveImportedTypeUsages(ImportedTypesCollector importedTypesCollector) {
+		if (importedTypesCollector.getClass() != ImportedTypesCollector.class) {
+			return false;
+		}
+		Boolean result = canDeriveImportedTypeUsages;
+		if (result == null) {
+			result = typeUsageCollectorProvider.get().getClass() == TypeUsageCollector.class;
+			canDeriveImportedTypeUsages = result;
+		}
+		return result;
+	}
+
+	protected TypeUsages filterImportedTypeUsages(TypeUsages typeUsages, XtextResource resource) {
+		TypeUsages result = typeUsagesProvider.get();
+		IParseResult parseResult = resource.getParseResult();
+		String completeText = parseResult != null ? parseResult.getRootNode().getText() : null;
+		for (JvmDeclaredType type : typeUsages.getSimpleName2Types().values()) {
+			for (TypeUsage usage : typeUsages.getUsages(type)) {
+				if (!isFullyQualified(type, usage.getTextRegion(), completeText)) {
+					addTypeUsage(result, type, usage);
+				}
+			}
+		}
+		for (JvmMember staticImport : typeUsages.getStaticImports()) {
+			result.addStaticImport(staticImport);
+		}
+		for (JvmMember extensionImport : typeUsages.getExtensionImports()) {
+			result.addExtensionImport(extensionImport);
+		}
+		return result;
+	}
+
+	private void addTypeUsage(TypeUsages target, JvmDeclaredType type, TypeUsage usage) {
+		if (usage.getSuffix().isEmpty()) {
+			target.addTypeUsage(type, usage.getUsedType(), usage.getTextRegion(), usage.getContext());
+		} else {
+			target.addTypeUsage(type, usage.getSuffix(), usage.getTextRegion(), usage.getContext());
+		}
+	}
+
+	private boolean isFullyQualified(JvmDeclaredType type, ITextRegion region, String completeText) {
+		if (completeText == null) {
+			return false;
+		}
+		String qualifiedName = type.getQualifiedName();
+		return region.getLength() == qualifiedName.length()
+				&& completeText.startsWith(qualifiedName, region.getOffset());
+	}
+
+	/**
+	 * A modifiable copy of the given type usages.
+	 */
+	public TypeUsages copy(TypeUsages typeUsages) {
+		TypeUsages result = typeUsagesProvider.get();
+		for (JvmDeclaredType type : typeUsages.getSimpleName2Types().values()) {
+			for (TypeUsage usage : typeUsages.getUsages(type)) {
+				addTypeUsage(result, type, usage);
+			}
+		}
+		for (TypeUsage unresolved : typeUsages.getUnresolvedTypeUsages()) {
+			result.addUnresolved(unresolved.getUsedTypeName(), unresolved.getSuffix(), unresolved.getTextRegion(),
+					unresolved.getContext());
+		}
+		for (JvmMember staticImport : typeUsages.getStaticImports()) {
+			result.addStaticImport(staticImport);
+		}
+		for (JvmMember extensionImport : typeUsages.getExtensionImports()) {
+			result.addExtensionImport(extensionImport);
+		}
+		return result;
+	}
+}
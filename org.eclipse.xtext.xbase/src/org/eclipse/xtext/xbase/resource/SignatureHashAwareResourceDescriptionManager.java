@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.resource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.common.types.descriptions.JvmMemberChangeAnalyzer;
+import org.eclipse.xtext.common.types.descriptions.JvmTypesResourceDescriptionStrategy;
+import org.eclipse.xtext.resource.DerivedStateAwareResourceDescriptionManager;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * A resource description manager that doesn't consider a resource affected by a changed Java type if the resource
+ * doesn't use any of the members whose signature changed. Changes that only touch method bodies don't change the
+ * signature hash in the first place.
+ *
+ * Bind this class as the {@link IResourceDescription.Manager} of a language and enable
+ * {@link JvmTypesResourceDescriptionStrategy#MEMBER_SIGNATURE_HASHES} to use it. Without the member signature hashes,
+ * all deltas are checked by the default implementation.
+ *
+ * @see JvmMemberChangeAnalyzer
+ * @since 2.25
+ */
+@Singleton
+public class SignatureHashAwareResourceDescriptionManager extends DerivedStateAwareResourceDescriptionManager {
+
+	@Inject
+	private JvmMemberChangeAnalyzer memberChangeAnalyzer;
+
+	@Override
+	public boolean isAffected(Collection<IResourceDescription.Delta> deltas, IResourceDescription candidate,
+			IResourceDescriptions context) {
+		List<IResourceDescription.Delta> remainingDeltas = new ArrayList<>(deltas.size());
+		for (IResourceDescription.Delta delta : deltas) {
+			Map<URI, Set<String>> changedMembers = null;
+			if (!delta.getUri().equals(candidate.getURI())) {
+				changedMembers = memberChangeAnalyzer.getChangedMembers(delta);
+			}
+			if (changedMembers == null) {
+				remainingDeltas.add(delta);
+			} else if (memberChangeAnalyzer.isAffected(changedMembers, candidate)) {
+				return true;
+			}
+		}
+		return !remainingDeltas.isEmpty() && super.isAffected(remainingDeltas, candidate, context);
+	}
+}
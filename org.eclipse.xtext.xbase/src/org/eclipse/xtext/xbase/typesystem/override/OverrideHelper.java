@@ -11,6 +11,7 @@ package org.eclipse.xtext.xbase.typesystem.override;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmFeature;
 import org.eclipse.xtext.common.types.JvmFormalParameter;
@@ -33,6 +34,7 @@ import org.eclipse.xtext.xbase.typesystem.util.TypeParameterSubstitutor;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 /**
  * Utilities to deal with overridden or implemented operations.
@@ -42,6 +44,18 @@ import com.google.inject.Singleton;
 @Singleton
 public class OverrideHelper {
 
+	/**
+	 * Enables sharing of {@link ResolvedFeatures} per type and parameterization in a resource set.
+	 * 
+	 * @see ResolvedFeaturesCache
+	 * @since 2.25
+	 */
+	public static final String RESOLVED_FEATURES_CACHE = "OverrideHelper_ResolvedFeaturesCache";
+
+	@Inject(optional = true)
+	@Named(RESOLVED_FEATURES_CACHE)
+	private boolean useResolvedFeaturesCache = false;
+
 	@Inject
 	private IVisibilityHelper visibilityHelper;
 	
@@ -228,6 +242,10 @@ public class OverrideHelper {
 	 * @return the resolved features. 
 	 */
 	public ResolvedFeatures getResolvedFeatures(LightweightTypeReference contextType) {
+		ResolvedFeaturesCache cache = getResolvedFeaturesCache(contextType);
+		if (cache != null) {
+			return cache.get(contextType, JavaVersion.JAVA5, () -> new ResolvedFeatures(contextType, overrideTester));
+		}
 		return new ResolvedFeatures(contextType, overrideTester);
 	}
 	
@@ -235,7 +253,29 @@ public class OverrideHelper {
 	 * Returns the resolved features targeting a specific Java version in order to support new language features.
 	 */
 	public ResolvedFeatures getResolvedFeatures(LightweightTypeReference contextType, JavaVersion targetVersion) {
+		ResolvedFeaturesCache cache = getResolvedFeaturesCache(contextType);
+		if (cache != null) {
+			return cache.get(contextType, targetVersion, () -> new ResolvedFeatures(contextType, overrideTester, targetVersion));
+		}
 		return new ResolvedFeatures(contextType, overrideTester, targetVersion);
 	}
+
+	/**
+	 * Returns the cache of the resource set of the given type or <code>null</code> if resolved features should not be
+	 * shared.
+	 * 
+	 * @since 2.25
+	 */
+	/* @Nullable */
+	protected ResolvedFeaturesCache getResolvedFeaturesCache(LightweightTypeReference contextType) {
+		if (!useResolvedFeaturesCache) {
+			return null;
+		}
+		ResourceSet resourceSet = contextType.getOwner().getContextResourceSet();
+		if (resourceSet == null) {
+			return null;
+		}
+		return ResolvedFeaturesCache.findOrCreate(resourceSet);
+	}
 	
 }
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.typesystem.override;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.util.JavaVersion;
+import org.eclipse.xtext.xbase.typesystem.references.ITypeReferenceOwner;
+import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Caches {@link ResolvedFeatures} per type reference owner, type and parameterization in a resource set, so repeated
+ * requests of validation, content assist and code generation can share the operation hierarchy and the erasure index
+ * of a type. The resolved features and their operations belong to the {@link ITypeReferenceOwner owner} of the type
+ * they were created for, so they are only shared with requests of the same owner. At most {@value #MAX_ENTRIES}
+ * entries are retained, the least recently used ones and their owners are released first.
+ * 
+ * The changes of the observed types are reported by the {@link org.eclipse.xtext.common.types.access.JvmTypeChangeDispatcher
+ * JvmTypeChangeDispatcher} of the resource set, which notifies its listeners about a change of any observed type in
+ * the resource set. Therefore the whole cache is cleared as soon as any of the cached types, their super types or any
+ * other observed type of the resource set changes.
+ * 
+ * Like the {@link ResolvedFeatures} themselves, the cache expects the resource set to be accessed by one thread at a
+ * time.
+ * 
+ * @see RawResolvedFeatures
+ * @since 2.25
+ */
+public class ResolvedFeaturesCache extends AdapterImpl {
+
+	public static ResolvedFeaturesCache findOrCreate(ResourceSet resourceSet) {
+		ResolvedFeaturesCache result = (ResolvedFeaturesCache) EcoreUtil.getAdapter(resourceSet.eAdapters(),
+				ResolvedFeaturesCache.class);
+		if (result == null) {
+			result = new ResolvedFeaturesCache();
+			resourceSet.eAdapters().add(result);
+		}
+		return result;
+	}
+
+	private static final int MAX_ENTRIES = 512;
+
+	private final Map<List<Object>, ResolvedFeatures> cache = new LinkedHashMap<List<Object>, ResolvedFeatures>(16,
+			0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, ResolvedFeatures> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private final Set<JvmType> observedTypes = Sets.newHashSet();
+
+	private final Runnable clearOnChange = this::clear;
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == ResolvedFeaturesCache.class;
+	}
+
+	/**
+	 * Returns the cached resolved features for the owner of the given type, the type and the target version or creates
+	 * them. Type references that are not resolved are not cached.
+	 */
+	public synchronized ResolvedFeatures get(LightweightTypeReference type, JavaVersion targetVersion,
+			Supplier<ResolvedFeatures> factory) {
+		JvmType rawType = type.getType();
+		if (rawType == null || rawType.eIsProxy() || !type.isResolved()) {
+			return factory.get();
+		}
+		List<Object> key = Arrays.asList(type.getOwner(), rawType, type.getIdentifier(), targetVersion);
+		ResolvedFeatures result = cache.get(key);
+		if (result == null) {
+			result = factory.get();
+			cache.put(key, result);
+			observe(rawType);
+			for (LightweightTypeReference superType : type.getAllSuperTypes()) {
+				observe(superType.getType());
+			}
+		}
+		return result;
+	}
+
+	protected void observe(JvmType type) {
+		if (type != null && observedTypes.add(type)) {
+			RawResolvedFeatures.requestNotificationOnChange(type, clearOnChange);
+		}
+	}
+
+	public synchronized int size() {
+		return cache.size();
+	}
+
+	public synchronized void clear() {
+		cache.clear();
+		observedTypes.clear();
+	}
+}
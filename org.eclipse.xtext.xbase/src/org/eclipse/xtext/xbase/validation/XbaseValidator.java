@@ -96,9 +96,9 @@ import org.eclipse.xtext.xbase.XbasePackage.Literals;
 import org.eclipse.xtext.xbase.compiler.CompilationStrategyAdapter;
 import org.eclipse.xtext.xbase.compiler.CompilationTemplateAdapter;
 import org.eclipse.xtext.xbase.imports.IImportsConfiguration;
-import org.eclipse.xtext.xbase.imports.ImportedTypesCollector;
 import org.eclipse.xtext.xbase.imports.StaticallyImportedMemberProvider;
 import org.eclipse.xtext.xbase.imports.TypeUsages;
+import org.eclipse.xtext.xbase.imports.TypeUsagesCache;
 import org.eclipse.xtext.xbase.interpreter.ConstantExpressionEvaluationException;
 import org.eclipse.xtext.xbase.interpreter.SwitchConstantExpressionsInterpreter;
 import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations;
@@ -145,7 +145,6 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
-import com.google.inject.Provider;
 
 /**
  * Xbase Validator that does use the scope provider or the type argument context. 
@@ -192,7 +191,7 @@ public class XbaseValidator extends AbstractXbaseValidator {
 	private SwitchConstantExpressionsInterpreter switchConstantExpressionsInterpreter;
 	
 	@Inject
-	private Provider<ImportedTypesCollector> importedTypesCollectorProvider;
+	private TypeUsagesCache typeUsagesCache;
 	
 	@Inject
 	private StaticallyImportedMemberProvider staticallyImportedMemberProvider;
@@ -1147,8 +1146,7 @@ public class XbaseValidator extends AbstractXbaseValidator {
 		if (!isIgnored(IMPORT_UNUSED)) {
 			XtextResource xtextResource = (XtextResource) importSection.eResource();
 			
-			ImportedTypesCollector importedTypesCollector = importedTypesCollectorProvider.get();
-			TypeUsages typeUsages = importedTypesCollector.collectTypeUsages(xtextResource);
+			TypeUsages typeUsages = typeUsagesCache.getImportedTypeUsages(xtextResource);
 			for (JvmMember member : typeUsages.getStaticImports()) {
 				if (typeUsages.getExtensionImports().contains(member)) {
 					if (!removeStaticImport(extensionImports, member)) {